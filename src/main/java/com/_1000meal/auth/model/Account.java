@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(StudentSnapshotChangeListener.class)
 @Table(name = "accounts")
 @Getter @NoArgsConstructor
 public class Account {
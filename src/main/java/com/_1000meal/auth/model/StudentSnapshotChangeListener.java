@@ -0,0 +1,35 @@
+package com._1000meal.auth.model;
+
+import com._1000meal.qr.service.StudentSnapshotCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Account/UserProfile 변경 시 QR 학생 스냅샷 캐시 무효화
+ * (EntityManagerFactory 초기화 시점에 생성되므로 캐시는 지연 조회한다)
+ */
+@Component
+public class StudentSnapshotChangeListener {
+
+    private final ObjectProvider<StudentSnapshotCache> studentSnapshotCache;
+
+    public StudentSnapshotChangeListener(ObjectProvider<StudentSnapshotCache> studentSnapshotCache) {
+        this.studentSnapshotCache = studentSnapshotCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        StudentSnapshotCache cache = studentSnapshotCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        if (entity instanceof Account account) {
+            cache.invalidate(account.getId());
+        } else if (entity instanceof UserProfile profile && profile.getAccount() != null) {
+            cache.invalidate(profile.getAccount().getId());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(StudentSnapshotChangeListener.class)
 @Table(
         name = "user_profiles",
         uniqueConstraints = @UniqueConstraint(name = "uk_user_profiles_account", columnNames = "account_id")
@@ -2,10 +2,32 @@ package com._1000meal.auth.repository;
 
 
 import com._1000meal.auth.model.UserProfile;
+import com._1000meal.qr.dto.StudentSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
     Optional<UserProfile> findByAccountId(Long accountId);
-}
\ No newline at end of file
+
+    // QR 이용 스냅샷용: Account/UserProfile 엔티티 로딩 없이 필요한 컬럼만 조회
+    @Query("""
+            SELECT new com._1000meal.qr.dto.StudentSnapshot(a.id, a.userId, p.department, p.name)
+            FROM UserProfile p
+            JOIN p.account a
+            WHERE a.id = :accountId
+            """)
+    Optional<StudentSnapshot> findStudentSnapshotByAccountId(@Param("accountId") Long accountId);
+
+    @Query("""
+            SELECT new com._1000meal.qr.dto.StudentSnapshot(a.id, a.userId, p.department, p.name)
+            FROM UserProfile p
+            JOIN p.account a
+            WHERE a.id IN :accountIds
+            """)
+    List<StudentSnapshot> findStudentSnapshotsByAccountIds(@Param("accountIds") Collection<Long> accountIds);
+}
@@ -0,0 +1,7 @@
+package com._1000meal.favorite.dto;
+
+public record FavoriteStorePair(
+        Long accountId,
+        Long storeId
+) {
+}
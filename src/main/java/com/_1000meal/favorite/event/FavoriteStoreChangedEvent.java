@@ -0,0 +1,11 @@
+package com._1000meal.favorite.event;
+
+/**
+ * 즐겨찾기 추가/해제 이벤트 (구독자 뷰 갱신용)
+ */
+public record FavoriteStoreChangedEvent(
+        Long accountId,
+        Long storeId,
+        boolean favorite
+) {
+}
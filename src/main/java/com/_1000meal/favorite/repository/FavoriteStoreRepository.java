@@ -1,9 +1,9 @@
 package com._1000meal.favorite.repository;
 
 import com._1000meal.favorite.domain.FavoriteStore;
+import com._1000meal.favorite.dto.FavoriteStorePair;
 import com._1000meal.favorite.dto.FavoriteStoreResponse;
 import com._1000meal.fcm.dto.OpenNotificationTarget;
-import com._1000meal.fcm.dto.StockDeadlineCandidate;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -55,28 +55,6 @@ public interface FavoriteStoreRepository extends JpaRepository<FavoriteStore, Lo
     """)
     List<OpenNotificationTarget> findOpenNotificationTargets();
 
-    @Query("""
-        select new com._1000meal.fcm.dto.StockDeadlineCandidate(
-            fs.account.id,
-            s.id,
-            s.name,
-            s.imageUrl,
-            mg.id,
-            mg.name,
-            mg.sortOrder,
-            mgs.stock,
-            s.remain
-        )
-        from FavoriteStore fs
-        join fs.store s
-        join MenuGroup mg on mg.store.id = s.id
-        left join mg.stock mgs
-        join NotificationPreference np on np.accountId = fs.account.id
-        where np.enabled = true
-        order by fs.account.id asc, s.id asc, mg.sortOrder asc, mg.id asc
-    """)
-    List<StockDeadlineCandidate> findStockDeadlineCandidates();
-
     @Query("""
         select fs.account.id
         from FavoriteStore fs
@@ -85,4 +63,7 @@ public interface FavoriteStoreRepository extends JpaRepository<FavoriteStore, Lo
           and np.enabled = true
     """)
     List<Long> findFavoriteSubscriberAccountIdsByStoreId(@Param("storeId") Long storeId);
+
+    @Query("select new com._1000meal.favorite.dto.FavoriteStorePair(fs.account.id, fs.store.id) from FavoriteStore fs")
+    List<FavoriteStorePair> findAllPairs();
 }
@@ -4,10 +4,12 @@ import com._1000meal.auth.model.Account;
 import com._1000meal.auth.repository.AccountRepository;
 import com._1000meal.favorite.domain.FavoriteStore;
 import com._1000meal.favorite.dto.FavoriteStoreResponse;
+import com._1000meal.favorite.event.FavoriteStoreChangedEvent;
 import com._1000meal.favorite.repository.FavoriteStoreRepository;
 import com._1000meal.store.domain.Store;
 import com._1000meal.store.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +24,7 @@ public class FavoriteStoreService {
     private final FavoriteStoreRepository favoriteStoreRepository;
     private final AccountRepository accountRepository;
     private final StoreRepository storeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void addFavorite(Long accountId, Long storeId) {
@@ -42,12 +45,14 @@ public class FavoriteStoreService {
             // 동시 요청 등으로 유니크 제약 걸린 경우 -> 멱등 처리
             // (이미 즐겨찾기 상태로 간주)
         }
+        eventPublisher.publishEvent(new FavoriteStoreChangedEvent(accountId, storeId, true));
     }
 
     @Transactional
     public void removeFavorite(Long accountId, Long storeId) {
         // deleteBy...는 존재하면 1, 없으면 0 반환
         favoriteStoreRepository.deleteByAccountIdAndStoreId(accountId, storeId);
+        eventPublisher.publishEvent(new FavoriteStoreChangedEvent(accountId, storeId, false));
     }
 
     public List<FavoriteStoreResponse> getMyFavorites(Long accountId) {
@@ -0,0 +1,163 @@
+package com._1000meal.favorite.service;
+
+import com._1000meal.favorite.dto.FavoriteStorePair;
+import com._1000meal.favorite.event.FavoriteStoreChangedEvent;
+import com._1000meal.favorite.repository.FavoriteStoreRepository;
+import com._1000meal.fcm.event.NotificationPreferenceChangedEvent;
+import com._1000meal.fcm.repository.NotificationPreferenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 매장별 알림 구독자(즐겨찾기 + 알림 ON) 인메모리 뷰
+ * - 기동 시 즐겨찾기 전체와 알림 ON 계정을 한 번 읽어 만들고,
+ *   이후 즐겨찾기 추가/해제·알림 ON/OFF 이벤트(커밋 후)로 해당 계정만 갱신한다.
+ * - 이벤트 밖의 변경(계정 삭제 등)은 rebuild-ms 주기 전체 재적재로 맞춘다.
+ *   재적재가 DB 를 읽는 동안 커밋된 이벤트는 모아 두었다가 새 뷰로 바꾼 직후 순서대로 다시 적용한다.
+ * - 단일 인스턴스 운영 기준
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FavoriteSubscriberView {
+
+    private final FavoriteStoreRepository favoriteStoreRepository;
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+
+    // this 로 보호
+    private final Map<Long, Set<Long>> storesByAccount = new HashMap<>();
+    private final Map<Long, Set<Long>> subscribersByStore = new HashMap<>();
+    private final Set<Long> enabledAccounts = new HashSet<>();
+    private boolean loaded;
+    // 재적재 중에 받은 이벤트 (재적재 중이 아니면 null)
+    private List<Object> missedDuringRebuild;
+
+    // 재적재끼리 겹치지 않게 (기동 직후 이벤트와 주기 실행)
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${fcm.subscriber-view.rebuild-ms:600000}",
+            initialDelayString = "${fcm.subscriber-view.rebuild-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                missedDuringRebuild = new ArrayList<>();
+            }
+            List<FavoriteStorePair> pairs;
+            List<Long> enabled;
+            try {
+                pairs = favoriteStoreRepository.findAllPairs();
+                enabled = notificationPreferenceRepository.findEnabledAccountIds();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    missedDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                storesByAccount.clear();
+                subscribersByStore.clear();
+                enabledAccounts.clear();
+                enabledAccounts.addAll(enabled);
+                for (FavoriteStorePair pair : pairs) {
+                    storesByAccount.computeIfAbsent(pair.accountId(), id -> new HashSet<>()).add(pair.storeId());
+                    if (enabledAccounts.contains(pair.accountId())) {
+                        subscribersByStore.computeIfAbsent(pair.storeId(), id -> new HashSet<>()).add(pair.accountId());
+                    }
+                }
+                // 조회 이후 커밋된 변경이 조회 결과에 덮이지 않도록 받은 순서대로 다시 적용 (추가/삭제라 중복 적용해도 같다)
+                List<Object> missed = missedDuringRebuild;
+                missedDuringRebuild = null;
+                missed.forEach(this::apply);
+                loaded = true;
+                log.info("[FAVORITE][SUBSCRIBERS] rebuilt. favorites={}, enabledAccounts={}, replayed={}",
+                        pairs.size(), enabled.size(), missed.size());
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onFavoriteChanged(FavoriteStoreChangedEvent event) {
+        record(event);
+        applyFavorite(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPreferenceChanged(NotificationPreferenceChangedEvent event) {
+        record(event);
+        applyPreference(event);
+    }
+
+    /**
+     * 매장 알림 구독자 (적재 전이면 DB 에서 직접 조회)
+     */
+    public List<Long> subscribers(Long storeId) {
+        synchronized (this) {
+            if (loaded) {
+                return List.copyOf(subscribersByStore.getOrDefault(storeId, Set.of()));
+            }
+        }
+        return favoriteStoreRepository.findFavoriteSubscriberAccountIdsByStoreId(storeId);
+    }
+
+    private void record(Object event) {
+        if (missedDuringRebuild != null) {
+            missedDuringRebuild.add(event);
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof FavoriteStoreChangedEvent favorite) {
+            applyFavorite(favorite);
+        } else if (event instanceof NotificationPreferenceChangedEvent preference) {
+            applyPreference(preference);
+        }
+    }
+
+    private void applyFavorite(FavoriteStoreChangedEvent event) {
+        if (event.favorite()) {
+            storesByAccount.computeIfAbsent(event.accountId(), id -> new HashSet<>()).add(event.storeId());
+            if (enabledAccounts.contains(event.accountId())) {
+                subscribersByStore.computeIfAbsent(event.storeId(), id -> new HashSet<>()).add(event.accountId());
+            }
+            return;
+        }
+        Set<Long> stores = storesByAccount.get(event.accountId());
+        if (stores != null && stores.remove(event.storeId()) && stores.isEmpty()) {
+            storesByAccount.remove(event.accountId());
+        }
+        removeSubscriber(event.storeId(), event.accountId());
+    }
+
+    private void applyPreference(NotificationPreferenceChangedEvent event) {
+        Set<Long> stores = storesByAccount.getOrDefault(event.accountId(), Set.of());
+        if (event.enabled()) {
+            enabledAccounts.add(event.accountId());
+            stores.forEach(storeId ->
+                    subscribersByStore.computeIfAbsent(storeId, id -> new HashSet<>()).add(event.accountId()));
+        } else {
+            enabledAccounts.remove(event.accountId());
+            stores.forEach(storeId -> removeSubscriber(storeId, event.accountId()));
+        }
+    }
+
+    private void removeSubscriber(Long storeId, Long accountId) {
+        Set<Long> subscribers = subscribersByStore.get(storeId);
+        if (subscribers != null && subscribers.remove(accountId) && subscribers.isEmpty()) {
+            subscribersByStore.remove(storeId);
+        }
+    }
+}
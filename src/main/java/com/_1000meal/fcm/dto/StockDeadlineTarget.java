@@ -0,0 +1,10 @@
+package com._1000meal.fcm.dto;
+
+public record StockDeadlineTarget(
+        Long storeId,
+        String storeName,
+        String storeImageUrl,
+        Long menuGroupId,
+        String menuGroupName
+) {
+}
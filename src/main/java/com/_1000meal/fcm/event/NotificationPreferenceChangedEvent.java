@@ -0,0 +1,10 @@
+package com._1000meal.fcm.event;
+
+/**
+ * 알림 설정 ON/OFF 변경 이벤트 (구독자 뷰 갱신용)
+ */
+public record NotificationPreferenceChangedEvent(
+        Long accountId,
+        boolean enabled
+) {
+}
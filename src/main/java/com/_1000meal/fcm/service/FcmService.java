@@ -3,6 +3,7 @@ package com._1000meal.fcm.service;
 import com._1000meal.fcm.domain.FcmPlatform;
 import com._1000meal.fcm.domain.FcmToken;
 import com._1000meal.fcm.domain.NotificationPreference;
+import com._1000meal.fcm.event.NotificationPreferenceChangedEvent;
 import com._1000meal.fcm.repository.FcmTokenRepository;
 import com._1000meal.fcm.repository.NotificationPreferenceRepository;
 import com._1000meal.global.error.code.ErrorCode;
@@ -10,6 +11,7 @@ import com._1000meal.global.error.exception.CustomException;
 import com.google.firebase.messaging.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +25,7 @@ public class FcmService {
 
     private final FcmTokenRepository tokenRepository;
     private final NotificationPreferenceRepository preferenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 로그인 사용자만 호출 가능(보안은 SecurityConfig가 보장)
@@ -67,13 +70,16 @@ public class FcmService {
     public void setEnabled(Long accountId, boolean enabled) {
         NotificationPreference pref = ensurePreferenceExistsDefaultOn(accountId);
         pref.setEnabled(enabled);
+        eventPublisher.publishEvent(new NotificationPreferenceChangedEvent(accountId, enabled));
     }
 
     private NotificationPreference ensurePreferenceExistsDefaultOn(Long accountId) {
         return preferenceRepository.findByAccountId(accountId)
                 .orElseGet(() -> {
                     try {
-                        return preferenceRepository.save(NotificationPreference.createDefaultOn(accountId));
+                        NotificationPreference created = preferenceRepository.save(NotificationPreference.createDefaultOn(accountId));
+                        eventPublisher.publishEvent(new NotificationPreferenceChangedEvent(accountId, true));
+                        return created;
                     } catch (DataIntegrityViolationException e) {
                         // 동시성으로 unique(account_id) 충돌 → 다시 조회해서 반환
                         return preferenceRepository.findByAccountId(accountId)
@@ -85,7 +91,11 @@ public class FcmService {
     @Transactional
     public void ensureDefaultPreferenceOn(Long accountId) {
         preferenceRepository.findByAccountId(accountId)
-                .orElseGet(() -> preferenceRepository.save(NotificationPreference.createDefaultOn(accountId)));
+                .orElseGet(() -> {
+                    NotificationPreference created = preferenceRepository.save(NotificationPreference.createDefaultOn(accountId));
+                    eventPublisher.publishEvent(new NotificationPreferenceChangedEvent(accountId, true));
+                    return created;
+                });
     }
 
 
@@ -1,118 +1,104 @@
 package com._1000meal.fcm.service;
 
-import com._1000meal.favorite.repository.FavoriteStoreRepository;
+import com._1000meal.favorite.service.FavoriteSubscriberView;
 import com._1000meal.fcm.domain.NotificationType;
-import com._1000meal.fcm.dto.StockDeadlineCandidate;
+import com._1000meal.fcm.dto.StockDeadlineTarget;
+import com._1000meal.menu.repository.MenuGroupRepository;
 import com._1000meal.qr.repository.MealUsageRepository;
+import com._1000meal.qr.service.TodayRedemptionBitmap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
+/**
+ * 마감 임박 푸시
+ * 소진 예측(SellOutImminentEvent)으로 임박 판정된 그룹 하나에 대해서만 보낸다.
+ * - 수신자 : 매장 구독자 인메모리 뷰 (즐겨찾기 + 알림 ON)
+ * - 오늘 QR 이용자 제외 : 이용 비트맵이 오늘 기준으로 유효하면 메모리에서, 아니면 수신자 범위로만 meal_usage 조회
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockDeadlineNotificationService {
 
-    private final FavoriteStoreRepository favoriteStoreRepository;
+    private final FavoriteSubscriberView favoriteSubscriberView;
+    private final MenuGroupRepository menuGroupRepository;
     private final MealUsageRepository mealUsageRepository;
-    private final StockDeadlineNotificationPolicy policy;
+    private final TodayRedemptionBitmap todayRedemptionBitmap;
     private final NotificationHistoryService historyService;
     private final FcmPushService fcmPushService;
 
-    public void sendStockDeadlineNotifications(LocalDate date) {
-        List<StockDeadlineCandidate> candidates = favoriteStoreRepository.findStockDeadlineCandidates();
-        if (candidates.isEmpty()) {
-            log.info("[FCM][STOCK_DEADLINE] no favorite targets");
+    public void sendStockDeadlineNotifications(LocalDate date, Long storeId, Long menuGroupId, int remain) {
+        if (remain <= 0) {
+            log.info("[FCM][STOCK_DEADLINE] sold out skip. groupId={}", menuGroupId);
+            return;
+        }
+        List<Long> accountIds = favoriteSubscriberView.subscribers(storeId);
+        if (accountIds.isEmpty()) {
+            log.info("[FCM][STOCK_DEADLINE] no favorite targets. storeId={}, groupId={}", storeId, menuGroupId);
+            return;
+        }
+        StockDeadlineTarget target = menuGroupRepository.findStockDeadlineTarget(menuGroupId).orElse(null);
+        if (target == null) {
+            log.info("[FCM][STOCK_DEADLINE] group not found skip. groupId={}", menuGroupId);
             return;
         }
 
-        Set<Long> accountIdsUsedQrToday = new HashSet<>(mealUsageRepository.findDistinctAccountIdsByUsedDate(date));
+        Set<Long> accountIdsUsedQrToday = usedQrToday(date, accountIds);
 
         int sentCount = 0;
         int dedupSkipCount = 0;
-        int policySkipCount = 0;
         int qrUsedTodaySkipCount = 0;
 
-        Map<String, List<StockDeadlineCandidate>> grouped = new HashMap<>();
-        for (StockDeadlineCandidate c : candidates) {
-            String key = c.accountId() + ":" + c.storeId();
-            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(c);
-        }
-
-        for (List<StockDeadlineCandidate> group : grouped.values()) {
-            List<StockDeadlineCandidate> targets = selectTargets(group);
-            for (StockDeadlineCandidate target : targets) {
-                if (accountIdsUsedQrToday.contains(target.accountId())) {
-                    qrUsedTodaySkipCount++;
-                    continue;
-                }
-                int remain = target.groupStock() != null ? target.groupStock() : safeRemain(target.storeRemain());
-                if (!policy.canSend(remain)) {
-                    policySkipCount++;
-                    continue;
-                }
-
-                boolean recorded = historyService.tryMarkSent(
-                        NotificationType.STOCK_DEADLINE,
-                        target.accountId(),
-                        target.storeId(),
-                        target.menuGroupId(),
-                        date,
-                        null
-                );
-                if (!recorded) {
-                    dedupSkipCount++;
-                    continue;
-                }
-
-                fcmPushService.sendStockDeadlineNotification(
-                        target.accountId(),
-                        target.storeId(),
-                        target.storeName(),
-                        target.storeImageUrl(),
-                        target.menuGroupId(),
-                        target.menuGroupName(),
-                        remain
-                );
-                sentCount++;
+        for (Long accountId : accountIds) {
+            if (accountIdsUsedQrToday.contains(accountId)) {
+                qrUsedTodaySkipCount++;
+                continue;
             }
-        }
-        log.info("[FCM][STOCK_DEADLINE] run summary. date={}, candidates={}, groups={}, sent={}, dedupSkip={}, policySkip={}, qrUsedTodaySkip={}",
-                date, candidates.size(), grouped.size(), sentCount, dedupSkipCount, policySkipCount, qrUsedTodaySkipCount);
-    }
 
-    private List<StockDeadlineCandidate> selectTargets(List<StockDeadlineCandidate> candidates) {
-        boolean hasGroupStock = candidates.stream().anyMatch(c -> c.groupStock() != null);
-        if (hasGroupStock) {
-            List<StockDeadlineCandidate> withStock = new ArrayList<>();
-            for (StockDeadlineCandidate c : candidates) {
-                if (c.groupStock() != null) {
-                    withStock.add(c);
-                }
+            boolean recorded = historyService.tryMarkSent(
+                    NotificationType.STOCK_DEADLINE,
+                    accountId,
+                    target.storeId(),
+                    target.menuGroupId(),
+                    date,
+                    null
+            );
+            if (!recorded) {
+                dedupSkipCount++;
+                continue;
             }
-            return withStock;
+
+            fcmPushService.sendStockDeadlineNotification(
+                    accountId,
+                    target.storeId(),
+                    target.storeName(),
+                    target.storeImageUrl(),
+                    target.menuGroupId(),
+                    target.menuGroupName(),
+                    remain
+            );
+            sentCount++;
         }
+        log.info("[FCM][STOCK_DEADLINE] run summary. date={}, groupId={}, remain={}, subscribers={}, sent={}, dedupSkip={}, qrUsedTodaySkip={}",
+                date, menuGroupId, remain, accountIds.size(), sentCount, dedupSkipCount, qrUsedTodaySkipCount);
+    }
 
-        StockDeadlineCandidate chosen = candidates.get(0);
-        for (StockDeadlineCandidate c : candidates) {
-            if (c.menuGroupSortOrder() != null && chosen.menuGroupSortOrder() != null) {
-                if (c.menuGroupSortOrder() < chosen.menuGroupSortOrder()) {
-                    chosen = c;
+    private Set<Long> usedQrToday(LocalDate date, List<Long> accountIds) {
+        if (todayRedemptionBitmap.isAuthoritative(date)) {
+            Set<Long> used = new HashSet<>();
+            for (Long accountId : accountIds) {
+                if (todayRedemptionBitmap.contains(accountId, date)) {
+                    used.add(accountId);
                 }
             }
+            return used;
         }
-        return List.of(chosen);
-    }
-
-    private int safeRemain(Integer remain) {
-        return remain != null ? remain : 0;
+        return new HashSet<>(mealUsageRepository.findDistinctAccountIdsByUsedDateAndAccountIdIn(date, accountIds));
     }
 }
@@ -1,6 +1,9 @@
 package com._1000meal.global.config;
 
+import com._1000meal.store.service.StoresListCacheLoader;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCache;
@@ -8,25 +11,42 @@ import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
 import java.util.List;
 
+/**
+ * 조회 API 캐시
+ * - 캐시마다 application.yml 의 Caffeine spec 을 따로 쓴다. (cache.specs.*)
+ * - 무효화는 매장/메뉴 변경 이벤트로 한다. (StoreCacheEvictListener) TTL 은 이벤트 누락 대비 안전망
+ * - stores:list 는 로더를 붙인 LoadingCache 라 동시 미스는 한 번만 로드하고, spec 의 refreshAfterWrite 로 만료 전에 미리 다시 읽는다.
+ * - recordStats 를 항상 켜서 actuator 가 cache_gets/cache_evictions 등을 Prometheus 로 내보낸다.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String STORES_LIST = "stores:list";
+    public static final String STORES_DETAIL = "stores:detail";
+
     @Bean
-    public CacheManager cacheManager() {
-        var shortTtl = Caffeine.newBuilder()
-                .maximumSize(2_000)
-                .expireAfterWrite(Duration.ofSeconds(3)) // 조회 API 캐시 60초
-                .build();
+    public CacheManager cacheManager(
+            @Value("${cache.specs.stores-list:maximumSize=10,expireAfterWrite=10m,refreshAfterWrite=3s,recordStats}") String storesListSpec,
+            @Value("${cache.specs.stores-detail:maximumSize=2000,expireAfterWrite=10m,recordStats}") String storesDetailSpec,
+            StoresListCacheLoader storesListLoader
+    ) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                caffeineCache(STORES_LIST, storesListSpec, storesListLoader),
+                caffeineCache(STORES_DETAIL, storesDetailSpec, null)
+        ));
+        return cacheManager;
+    }
 
-        return new SimpleCacheManager() {{
-            setCaches(List.of(
-                    new CaffeineCache("stores:list", shortTtl),
-                    new CaffeineCache("stores:detail", shortTtl)
-            ));
-        }};
+    // 캐시마다 별도 Caffeine 인스턴스 (통계/용량이 섞이지 않도록), 로더가 있으면 LoadingCache
+    private static CaffeineCache caffeineCache(String name, String spec, CacheLoader<Object, Object> loader) {
+        String withStats = spec.contains("recordStats") ? spec : spec + ",recordStats";
+        Caffeine<Object, Object> builder = Caffeine.from(withStats);
+        return loader != null
+                ? new CaffeineCache(name, builder.build(loader))
+                : new CaffeineCache(name, builder.build());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com._1000meal.global.config;
+
+import com._1000meal.store.service.StoreContentVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    // 웹 슬라이스 테스트처럼 버전 서비스가 없는 컨텍스트에서는 등록하지 않는다
+    private final ObjectProvider<StoreContentVersionService> versionService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        versionService.ifAvailable(service -> registry.addInterceptor(new StoreEtagInterceptor(service))
+                .addPathPatterns(
+                        "/api/v1/stores",
+                        "/api/v1/stores/{storeId}",
+                        "/api/v1/menus/daily/{storeId}/groups",
+                        "/api/v1/menus/daily/weekly/{storeId}/groups"
+                ));
+    }
+}
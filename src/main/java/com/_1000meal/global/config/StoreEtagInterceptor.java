@@ -0,0 +1,65 @@
+package com._1000meal.global.config;
+
+import com._1000meal.store.service.StoreContentVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * 매장/메뉴 조회 조건부 GET (ETag / If-None-Match)
+ * - ETag 는 매장 화면 데이터 버전(StoreContentVersionService) + 시간 구간 + 오늘 날짜로 만든다. (오늘 메뉴/영업 상태가 날짜에 따라 바뀜)
+ * - 시간 구간은 다른 인스턴스에서 일어난 변경에 대한 안전망이다. (304 가 나가는 기간이 최대 store.etag.max-stale-seconds)
+ * - If-None-Match 가 같으면 컨트롤러에 가기 전에 304 로 끝낸다. (서비스/DB 작업 없음)
+ * - 버전은 컨트롤러 실행 전에 읽는다. 그 사이 바뀐 데이터가 나가도 다음 요청은 버전이 달라 200 을 받는다.
+ */
+@RequiredArgsConstructor
+public class StoreEtagInterceptor implements HandlerInterceptor {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final StoreContentVersionService versionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String etag = etag(request);
+        if (etag == null) {
+            return true;
+        }
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String etag(HttpServletRequest request) {
+        LocalDate today = LocalDate.now(KST);
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String storeId = pathVariables != null ? pathVariables.get("storeId") : null;
+
+        if (storeId == null) {
+            // 전체 목록 캐시(view=cached)는 버전보다 늦게 갱신될 수 있어 제외
+            if ("cached".equalsIgnoreCase(request.getParameter("view"))) {
+                return null;
+            }
+            return "\"stores-%d-%d-%d-%s\"".formatted(
+                    versionService.epoch(), versionService.listVersion(), versionService.staleWindow(), today);
+        }
+        if (storeId.isEmpty() || !storeId.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        long version = versionService.storeVersion(Long.valueOf(storeId));
+        return "\"store%s-%d-%d-%d-%s\"".formatted(
+                storeId, versionService.epoch(), version, versionService.staleWindow(), today);
+    }
+}
@@ -4,8 +4,10 @@ package com._1000meal.global.error;
 import com._1000meal.global.error.exception.CustomException;
 import com._1000meal.global.error.exception.ErrorCodeIfs;
 import com._1000meal.global.response.Result;
+import com._1000meal.qr.exception.QrAdmissionRejectedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -31,6 +33,15 @@ public class CustomExceptionHandler {
         return ResponseEntity.status(code.getHttpStatusCode()).body(result);
     }
 
+    // QR 입장 제어 거절: 429 + Retry-After
+    @ExceptionHandler(QrAdmissionRejectedException.class)
+    public ResponseEntity<Object> handleQrAdmissionRejected(QrAdmissionRejectedException ex) {
+        ErrorCodeIfs code = ex.getErrorCodeIfs();
+        return ResponseEntity.status(code.getHttpStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Result.error(code, ex.getDisplayMessage()));
+    }
+
     // (선택) 그 밖의 예외 공통 처리
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Object> handleIAE(IllegalArgumentException ex) {
@@ -3,10 +3,16 @@ package com._1000meal.global.scheduler.store;
 import com._1000meal.menu.domain.DailyMenu;
 import com._1000meal.menu.repository.DailyMenuRepository;
 import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupStockSlotRepository;
+import com._1000meal.menu.service.HotStockLedger;
+import com._1000meal.menu.service.StockTimeSeriesService;
+import com._1000meal.store.event.StoreViewChangedEvent;
 import com._1000meal.store.repository.StoreRepository;
 import com._1000meal.qr.roster.RosterExportJob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,13 +32,18 @@ public class StoreCloseScheduler {
     private final StoreRepository storeRepository;
     private final DailyMenuRepository dailyMenuRepository;
     private final MenuGroupStockRepository menuGroupStockRepository;
+    private final MenuGroupStockSlotRepository menuGroupStockSlotRepository;
+    private final HotStockLedger hotStockLedger;
     private final RosterExportJob rosterExportJob;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockTimeSeriesService stockTimeSeriesService;
 
     /**
      * 매장 영업 종료 스케줄러
      * - 모든 Store.isOpen 을 false 로 설정
      * - 오늘 날짜 DailyMenu.isOpen 을 false 로 설정
-     * - 매장 기준 MenuGroupStock.stock 을 0 으로 설정
+     * - 매장 기준 MenuGroupStock.stock 을 0 으로 설정 (분산 슬롯 포함)
+     * - 오늘 그룹별 재고 시계열을 저장
      */
     @Scheduled(cron = "0 0 10 * * MON-FRI", zone = "Asia/Seoul")
     @Transactional   
@@ -42,9 +53,13 @@ public class StoreCloseScheduler {
 
         log.info("[스케줄러][STORE_CLOSE] start. date={}, dayOfWeek={}", today, dow);
 
+        // 인메모리 재고 장부가 남아 있으면 마지막 체크포인트 후 해제 (재고 0 처리 이후 덮어쓰지 않도록)
+        hotStockLedger.deactivate();
+
         // 매장 Close
         int updatedStores = storeRepository.bulkUpdateStoreStatus(false);
         log.info("[스케줄러][STORE_CLOSE] bulkUpdateStoreStatus(false) updated={}", updatedStores);
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofAll());
 
         // DailyMenu Close
         List<Long> storeIds = storeRepository.findAllStoreIds();
@@ -61,9 +76,17 @@ public class StoreCloseScheduler {
         }
 
         int updatedStocks = menuGroupStockRepository.setStockZeroByStoreIds(storeIds);
+        int updatedSlots = menuGroupStockSlotRepository.setStockZeroByStoreIds(storeIds);
+        eventPublisher.publishEvent(StockChangedEvent.ofStores(storeIds));
+
+        log.info("[스케줄러][STORE_CLOSE] date={}, dailyMenusUpdated={}, menuGroupStocksUpdated={}, stockSlotsUpdated={}",
+                today, dailyMenus.size(), updatedStocks, updatedSlots);
 
-        log.info("[스케줄러][STORE_CLOSE] date={}, dailyMenusUpdated={}, menuGroupStocksUpdated={}",
-                today, dailyMenus.size(), updatedStocks);
+        try {
+            stockTimeSeriesService.closeAndFlush(storeIds, today);
+        } catch (Exception e) {
+            log.error("[스케줄러][STORE_CLOSE] stock series flush failed. date={}, error={}", today, e.getMessage(), e);
+        }
 
         try {
             rosterExportJob.runOnce(today);
@@ -2,7 +2,9 @@ package com._1000meal.menu.controller;
 
 import com._1000meal.global.response.ApiResponse;
 import com._1000meal.menu.dto.MenuGroupAdminResponse;
+import com._1000meal.menu.dto.StockSeriesResponse;
 import com._1000meal.menu.service.MenuGroupService;
+import com._1000meal.menu.service.StockTimeSeriesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,8 +12,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 
 @Tag(name = "Admin Menu Group", description = "관리자 전용 메뉴 그룹 조회 API")
@@ -20,7 +25,10 @@ import java.util.List;
 @RequestMapping("/api/v1/admin")
 public class AdminMenuGroupController {
 
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
     private final MenuGroupService menuGroupService;
+    private final StockTimeSeriesService stockTimeSeriesService;
 
     @Operation(
             summary = "매장별 메뉴 그룹 조회 (관리자)",
@@ -37,4 +45,26 @@ public class AdminMenuGroupController {
     ) {
         return ApiResponse.ok(menuGroupService.getMenuGroupsForAdmin(storeId));
     }
+
+    @Operation(
+            summary = "매장별 그룹 재고 소진 곡선 (관리자)",
+            description = """
+                    특정 매장 그룹들의 하루 재고 시계열(시각, 재고)을 조회합니다.
+
+                    - 관리자 권한(ROLE_ADMIN)만 접근 가능합니다.
+                    - 오늘은 메모리 버퍼, 지난 날짜는 영업 종료 시 저장된 값을 돌려줍니다.
+                    - date 를 생략하면 오늘입니다.
+                    """
+    )
+    @GetMapping("/stores/{storeId}/menu-groups/stock-series")
+    public ApiResponse<List<StockSeriesResponse>> getStockSeries(
+            @Parameter(description = "매장 ID", example = "1")
+            @PathVariable Long storeId,
+
+            @Parameter(description = "날짜 (YYYY-MM-DD)", example = "2026-01-23")
+            @RequestParam(required = false) LocalDate date
+    ) {
+        LocalDate target = date != null ? date : LocalDate.now(KST);
+        return ApiResponse.ok(stockTimeSeriesService.getSeries(storeId, target));
+    }
 }
@@ -0,0 +1,68 @@
+package com._1000meal.menu.controller;
+
+import com._1000meal.global.response.ApiResponse;
+import com._1000meal.menu.dto.StockVersionResponse;
+import com._1000meal.menu.service.StockStreamService;
+import com._1000meal.menu.service.StockVersionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Menu Group", description = "메뉴 그룹 및 그룹별 재고 관리 API")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/menus/stock")
+public class StockStreamController {
+
+    private final StockStreamService stockStreamService;
+    private final StockVersionService stockVersionService;
+
+    @Operation(
+            summary = "그룹 재고 실시간 스트림 (SSE)",
+            description = """
+                    그룹 재고 변경을 Server-Sent Events 로 받습니다. (매장 목록/그룹 조회 폴링 대체)
+
+                    - 연결 직후 `snapshot` 이벤트로 현재 재고 목록을 보냅니다.
+                    - 이후 `stock` 이벤트로 바뀐 그룹의 [{storeId, groupId, stock}] 목록을 보냅니다.
+                    - 그룹당 500ms 에 최대 1번으로 병합됩니다.
+                    - 연결이 끊기면 다시 연결해 스냅샷부터 받으면 됩니다.
+                    """
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStock(
+            @Parameter(description = "매장 ID (없으면 전체 매장)", example = "1")
+            @RequestParam(required = false) Long storeId
+    ) {
+        return stockStreamService.subscribe(storeId);
+    }
+
+    @Operation(
+            summary = "그룹 재고 변경 대기 (롱폴링)",
+            description = """
+                    SSE 연결을 유지할 수 없는 클라이언트용입니다.
+
+                    - since 없이 호출하면 현재 버전과 재고를 바로 반환합니다.
+                    - since 가 현재 버전과 같으면 재고가 바뀌거나 대기 시간(기본 25초)이 끝날 때까지 응답을 미룹니다.
+                    - 응답의 version 을 다음 요청의 since 로 보내면 됩니다.
+                    - changed=false 는 대기 시간 안에 변경이 없었다는 뜻입니다.
+                    """
+    )
+    @GetMapping("/version")
+    public DeferredResult<ApiResponse<StockVersionResponse>> awaitStockVersion(
+            @Parameter(description = "매장 ID", example = "1")
+            @RequestParam Long storeId,
+
+            @Parameter(description = "마지막으로 받은 버전", example = "1760000000000")
+            @RequestParam(required = false) Long since
+    ) {
+        return stockVersionService.await(storeId, since, ApiResponse::ok);
+    }
+}
@@ -6,7 +6,10 @@ import com._1000meal.global.error.exception.CustomException;
 import com._1000meal.global.response.ApiResponse;
 import com._1000meal.menu.dto.GroupDailyMenuResponse;
 import com._1000meal.menu.dto.MenuGroupStockResponse;
+import com._1000meal.menu.dto.MenuGroupStockSlotResponse;
 import com._1000meal.menu.dto.MenuUpdateRequest;
+import com._1000meal.menu.dto.StockDeductBatchRequest;
+import com._1000meal.menu.dto.StockSlotUpdateRequest;
 import com._1000meal.menu.dto.StockUpdateRequest;
 import com._1000meal.menu.enums.DeductionUnit;
 import com._1000meal.menu.service.MenuGroupService;
@@ -19,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Tag(name = "Menu Group", description = "매장별 메뉴 그룹 관리 API")
 @SecurityRequirement(name = "bearerAuth")
@@ -91,6 +95,31 @@ public class StoreMenuGroupController {
         return ApiResponse.ok(menuGroupService.deductStockForStore(storeId, groupId, deductionUnit));
     }
 
+    @Operation(
+            summary = "매장 기준 여러 그룹 재고 일괄 차감",
+            description = """
+                    여러 그룹의 재고를 그룹별 차감 단위로 한 번에 차감합니다.
+
+                    - 하나라도 재고가 부족하면 전체가 취소됩니다.
+                    - 같은 그룹이 여러 번 포함되면 수량을 합쳐 차감합니다.
+                    - storeId는 로그인 계정의 storeId와 반드시 일치해야 합니다.
+                    """
+    )
+    @PostMapping("/{storeId}/menus/daily/groups/deduct")
+    public ApiResponse<List<MenuGroupStockResponse>> deductGroupStocksForStore(
+            @Parameter(description = "매장 ID", example = "1")
+            @PathVariable Long storeId,
+
+            @Valid @RequestBody StockDeductBatchRequest request
+    ) {
+        Long accountStoreId = currentAccountProvider.getCurrentStoreId();
+        if (!storeId.equals(accountStoreId)) {
+            throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED);
+        }
+
+        return ApiResponse.ok(menuGroupService.deductStocksForStore(storeId, request.getDeductions()));
+    }
+
     @Operation(
             summary = "매장 기준 그룹 재고 직접 수정",
             description = """
@@ -98,6 +127,9 @@ public class StoreMenuGroupController {
 
                     - storeId는 로그인 계정의 storeId와 반드시 일치해야 합니다.
                     - 그룹의 storeId도 path storeId와 일치해야 합니다.
+                    - expectedStock(선택): 화면에서 본 재고. 그 사이 차감분을 유지한 채 (stock - expectedStock) 만큼만 반영합니다.
+                    - expectedVersion(선택): 응답의 version. 그 사이 재고가 바뀌었으면 409 를 반환합니다.
+                    - 둘 다 없으면 stock 으로 덮어씁니다. 행 잠금 없이 처리하며 차감과 경합하면 자동으로 재시도합니다.
                     """
     )
     @PostMapping("/{storeId}/menus/daily/groups/{groupId}/stock")
@@ -115,6 +147,34 @@ public class StoreMenuGroupController {
             throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED);
         }
 
-        return ApiResponse.ok(menuGroupService.updateStockForStore(storeId, groupId, request.getStock()));
+        return ApiResponse.ok(menuGroupService.updateStockForStore(storeId, groupId, request));
+    }
+
+    @Operation(
+            summary = "매장 기준 그룹 재고 분산 슬롯 수 변경",
+            description = """
+                    오픈 직후 QR 이용이 몰리는 그룹의 재고를 여러 행(슬롯)으로 나눠 차감 경합을 줄입니다.
+
+                    - slotCount=1 이면 단일 행으로 되돌립니다.
+                    - 현재 재고 총량은 유지된 채 슬롯에 균등 분배됩니다.
+                    - storeId는 로그인 계정의 storeId와 반드시 일치해야 합니다.
+                    """
+    )
+    @PostMapping("/{storeId}/menus/daily/groups/{groupId}/stock/slots")
+    public ApiResponse<MenuGroupStockSlotResponse> updateGroupStockSlotsForStore(
+            @Parameter(description = "매장 ID", example = "1")
+            @PathVariable Long storeId,
+
+            @Parameter(description = "그룹 ID", example = "1")
+            @PathVariable Long groupId,
+
+            @Valid @RequestBody StockSlotUpdateRequest request
+    ) {
+        Long accountStoreId = currentAccountProvider.getCurrentStoreId();
+        if (!storeId.equals(accountStoreId)) {
+            throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED);
+        }
+
+        return ApiResponse.ok(menuGroupService.updateStockSlotsForStore(storeId, groupId, request.getSlotCount()));
     }
 }
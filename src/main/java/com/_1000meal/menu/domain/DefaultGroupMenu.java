@@ -98,6 +98,14 @@ public class DefaultGroupMenu {
         this.active = false;
     }
 
+    // findApplicableByMenuGroupIdsAndDate 조건과 같음 (종료일 당일 포함)
+    public boolean isApplicableOn(LocalDate date) {
+        if (date == null || !active) {
+            return false;
+        }
+        return !date.isBefore(startDate) && (endDate == null || !endDate.isBefore(date));
+    }
+
     public boolean isPinnedOn(LocalDate date) {
         if (date == null) {
             return false;
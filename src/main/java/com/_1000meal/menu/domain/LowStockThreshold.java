@@ -0,0 +1,63 @@
+package com._1000meal.menu.domain;
+
+/**
+ * 재고 임계치(30, 10) 하향 돌파 판정
+ * DB 재고(MenuGroupStock.deduct)와 인메모리 재고 장부가 같은 규칙을 쓴다.
+ */
+public final class LowStockThreshold {
+
+    public static final int LOW_STOCK_10 = 10;
+    public static final int LOW_STOCK_30 = 30;
+
+    private LowStockThreshold() {
+    }
+
+    /**
+     * @param previousStock         차감 전 재고
+     * @param newStock              차감 후 재고
+     * @param lastNotifiedThreshold 오늘 마지막으로 알린 임계치 (오늘 알림이 없으면 null)
+     */
+    public static StockDeductResult evaluate(int previousStock, int newStock, Integer lastNotifiedThreshold) {
+        boolean notifiedTodayFor30 = lastNotifiedThreshold != null
+                && lastNotifiedThreshold <= LOW_STOCK_30;
+
+        boolean crossedThreshold30 = newStock <= LOW_STOCK_30
+                && !notifiedTodayFor30;
+
+        // 11 초과에서 10 이하로 떨어지는 순간 + 10 임계치 알림 미발송
+        boolean crossedThreshold10 = previousStock > LOW_STOCK_10
+                && newStock <= LOW_STOCK_10
+                && (lastNotifiedThreshold == null || lastNotifiedThreshold > LOW_STOCK_10);
+
+        return new StockDeductResult(crossedThreshold30, crossedThreshold10);
+    }
+
+    /**
+     * 판정 결과를 반영한 마지막 알림 임계치 (더 낮은 임계치가 우선)
+     */
+    public static Integer next(StockDeductResult result, Integer lastNotifiedThreshold) {
+        if (result.notifyLowStock10()) {
+            return LOW_STOCK_10;
+        }
+        if (result.notifyLowStock30()) {
+            return LOW_STOCK_30;
+        }
+        return lastNotifiedThreshold;
+    }
+
+    /**
+     * 재고 직접 수정 시 알림 상태 복구 규칙
+     * - 30 초과로 복구 → 전체 리셋
+     * - 10 초과 ~ 30 이하 → 10 알림만 리셋 (30 알림 상태는 유지)
+     * - 10 이하 → 변경 없음
+     */
+    public static Integer afterUpdate(int stock, Integer lastNotifiedThreshold) {
+        if (stock > LOW_STOCK_30) {
+            return null;
+        }
+        if (stock > LOW_STOCK_10 && lastNotifiedThreshold != null && lastNotifiedThreshold < LOW_STOCK_30) {
+            return LOW_STOCK_30;
+        }
+        return lastNotifiedThreshold;
+    }
+}
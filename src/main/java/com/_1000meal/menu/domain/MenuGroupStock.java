@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
 
 import java.time.LocalDate;
 
@@ -15,9 +17,6 @@ import java.time.LocalDate;
 @Table(name = "menu_group_stock")
 public class MenuGroupStock {
 
-    private static final int LOW_STOCK_THRESHOLD = 10;
-    private static final int LOW_STOCK_30_THRESHOLD = 30;
-
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,12 +31,40 @@ public class MenuGroupStock {
     @Column(nullable = false)
     private Integer capacity;
 
+    /**
+     * 재고 분산 슬롯 수 (1 이하 = 단일 행)
+     * 분산 모드에서는 이 행의 stock 이 슬롯 0 이고 나머지는 menu_group_stock_slot 에 있다.
+     */
+    @Column(name = "slot_count", nullable = false)
+    private int slotCount;
+
+    // 슬롯 1 ~ (slotCount-1) 재고 합계 (조회 시점 값)
+    @Formula("(CASE WHEN slot_count > 1 THEN (SELECT COALESCE(SUM(ss.stock), 0) FROM menu_group_stock_slot ss WHERE ss.menu_group_id = menu_group_id) ELSE 0 END)")
+    private Integer slotStock;
+
     @Column(name = "last_notified_threshold")
     private Integer lastNotifiedThreshold;
 
     @Column(name = "last_notified_date")
     private LocalDate lastNotifiedDate;
 
+    // 인메모리 재고 장부 복구 기준: ledgerDate 에 이 행의 stock 에 이미 반영된 그날 이용 건수
+    @Column(name = "ledger_date")
+    private LocalDate ledgerDate;
+
+    @ColumnDefault("0")
+    @Column(name = "ledger_usage_count", nullable = false)
+    private int ledgerUsageCount;
+
+    /**
+     * 낙관적 동시성 버전 (관리자 재고 수정 CAS 기준)
+     * 재고를 바꾸는 벌크 UPDATE 문장도 모두 1씩 올린다.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public static MenuGroupStock of(MenuGroup menuGroup, int capacity) {
         MenuGroupStock s = new MenuGroupStock();
         s.menuGroup = menuGroup;
@@ -48,6 +75,41 @@ public class MenuGroupStock {
         return s;
     }
 
+    /**
+     * 그룹 재고 (분산 모드면 모든 슬롯 합계)
+     */
+    public Integer getStock() {
+        if (isStriped() && this.slotStock != null) {
+            return this.stock + this.slotStock;
+        }
+        return this.stock;
+    }
+
+    public boolean isStriped() {
+        return this.slotCount > 1;
+    }
+
+    /**
+     * 잠근 슬롯들의 재고를 이 행으로 모은다 (관리자 수정/리셋 전)
+     * 이후 deduct/updateStock/resetTo 는 그룹 전체 재고 기준으로 동작한다.
+     */
+    public void gatherSlots(int slotTotal) {
+        this.stock += slotTotal;
+        this.slotStock = 0;
+    }
+
+    /**
+     * 슬롯으로 나눠준 뒤 이 행(슬롯 0)에 남길 몫
+     */
+    public void keepShare(int share, int distributedToSlots) {
+        this.stock = share;
+        this.slotStock = distributedToSlots;
+    }
+
+    public void changeSlotCount(int slotCount) {
+        this.slotCount = slotCount;
+    }
+
     /**
      * 재고 차감
      * @param value 차감할 수량
@@ -67,29 +129,13 @@ public class MenuGroupStock {
         int previousStock = this.stock;
         this.stock -= value;
 
-        boolean notifiedTodayFor30 = this.lastNotifiedDate != null
-                && this.lastNotifiedDate.equals(today)
-                && this.lastNotifiedThreshold != null
-                && this.lastNotifiedThreshold <= LOW_STOCK_30_THRESHOLD;
-
-        boolean crossedThreshold30 = this.stock <= LOW_STOCK_30_THRESHOLD
-                && !notifiedTodayFor30;
-
-        // 11 초과에서 10 이하로 떨어지는 순간 + 10 임계치 알림 미발송
-        boolean crossedThreshold10 = previousStock > LOW_STOCK_THRESHOLD
-                && this.stock <= LOW_STOCK_THRESHOLD
-                && (this.lastNotifiedThreshold == null || this.lastNotifiedThreshold > LOW_STOCK_THRESHOLD);
-
-        // 더 낮은 임계치가 우선 (10이 30보다 우선)
-        if (crossedThreshold10) {
-            this.lastNotifiedThreshold = LOW_STOCK_THRESHOLD;
-            this.lastNotifiedDate = today;
-        } else if (crossedThreshold30) {
-            this.lastNotifiedThreshold = LOW_STOCK_30_THRESHOLD;
+        StockDeductResult result = LowStockThreshold.evaluate(previousStock, this.stock, this.lastNotifiedThreshold);
+        if (result.shouldNotify()) {
+            this.lastNotifiedThreshold = LowStockThreshold.next(result, this.lastNotifiedThreshold);
             this.lastNotifiedDate = today;
         }
 
-        return new StockDeductResult(crossedThreshold30, crossedThreshold10);
+        return result;
     }
 
     /**
@@ -98,16 +144,7 @@ public class MenuGroupStock {
      */
     public void updateStock(int stock) {
         this.stock = stock;
-        if (stock > LOW_STOCK_30_THRESHOLD) {
-            // 30 초과로 복구 → 전체 리셋
-            this.lastNotifiedThreshold = null;
-        } else if (stock > LOW_STOCK_THRESHOLD) {
-            // 10 초과 ~ 30 이하 → 10 알림만 리셋 (30 알림 상태는 유지)
-            if (this.lastNotifiedThreshold != null && this.lastNotifiedThreshold < LOW_STOCK_30_THRESHOLD) {
-                this.lastNotifiedThreshold = LOW_STOCK_30_THRESHOLD;
-            }
-        }
-        // stock <= 10 → 변경 없음
+        this.lastNotifiedThreshold = LowStockThreshold.afterUpdate(stock, this.lastNotifiedThreshold);
     }
 
     /**
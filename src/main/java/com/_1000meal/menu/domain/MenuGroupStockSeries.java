@@ -0,0 +1,61 @@
+package com._1000meal.menu.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 그룹별 하루 재고 시계열
+ * samples 는 (자정 기준 초, 재고) int 쌍을 이어 붙인 바이트열이다. (StockTimeSeriesService 가 인코딩)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "menu_group_stock_series",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_menu_group_stock_series",
+                columnNames = {"menu_group_id", "series_date"}
+        )
+)
+public class MenuGroupStockSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "menu_group_id", nullable = false)
+    private Long menuGroupId;
+
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(name = "series_date", nullable = false)
+    private LocalDate seriesDate;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    @Lob
+    @Column(name = "samples", nullable = false, columnDefinition = "BLOB")
+    private byte[] samples;
+
+    public static MenuGroupStockSeries of(Long menuGroupId, Long storeId, LocalDate seriesDate,
+                                          int sampleCount, byte[] samples) {
+        MenuGroupStockSeries series = new MenuGroupStockSeries();
+        series.menuGroupId = menuGroupId;
+        series.storeId = storeId;
+        series.seriesDate = seriesDate;
+        series.sampleCount = sampleCount;
+        series.samples = samples;
+        return series;
+    }
+
+    public void replace(int sampleCount, byte[] samples) {
+        this.sampleCount = sampleCount;
+        this.samples = samples;
+    }
+}
@@ -0,0 +1,48 @@
+package com._1000meal.menu.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 분산 모드의 추가 슬롯 행 (슬롯 1 ~ slotCount-1)
+ * 슬롯 0 은 menu_group_stock.stock 자체이다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "menu_group_stock_slot",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_menu_group_stock_slot",
+                columnNames = {"menu_group_id", "slot_no"}
+        )
+)
+public class MenuGroupStockSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "menu_group_id", nullable = false)
+    private Long menuGroupId;
+
+    @Column(name = "slot_no", nullable = false)
+    private Integer slotNo;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    public static MenuGroupStockSlot of(Long menuGroupId, int slotNo, int stock) {
+        MenuGroupStockSlot slot = new MenuGroupStockSlot();
+        slot.menuGroupId = menuGroupId;
+        slot.slotNo = slotNo;
+        slot.stock = stock;
+        return slot;
+    }
+
+    public void assign(int stock) {
+        this.stock = stock;
+    }
+}
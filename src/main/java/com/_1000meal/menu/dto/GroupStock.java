@@ -0,0 +1,10 @@
+package com._1000meal.menu.dto;
+
+/**
+ * 그룹 현재 재고 (분산 슬롯 합계 포함, 매장 목록 스냅샷 덮어쓰기용)
+ */
+public record GroupStock(
+        Long groupId,
+        int stock
+) {
+}
@@ -5,10 +5,11 @@ import com._1000meal.menu.domain.MenuGroup;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class MenuGroupDto {
     private Long id;
     private String name;
@@ -17,6 +18,8 @@ public class MenuGroupDto {
     private Integer capacity;
     private List<String> menus;
     private List<MenuItemDto> menuItems;
+    // 오늘 차감 속도 기준 예상 소진 시각 (예측 불가 시 null)
+    private LocalDateTime predictedSellOutAt;
 
     public static MenuGroupDto from(MenuGroup group) {
         List<String> menus = group.getMenus().stream().map(Menu::getName).toList();
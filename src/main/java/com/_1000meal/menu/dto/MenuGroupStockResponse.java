@@ -10,4 +10,10 @@ import lombok.NoArgsConstructor;
 public class MenuGroupStockResponse {
     private Long groupId;
     private Integer stock;
+    // 재고 버전 (관리자 재고 수정 응답에만 포함, 다음 수정의 expectedVersion 으로 사용)
+    private Long version;
+
+    public MenuGroupStockResponse(Long groupId, Integer stock) {
+        this(groupId, stock, null);
+    }
 }
@@ -0,0 +1,14 @@
+package com._1000meal.menu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuGroupStockSlotResponse {
+    private Long groupId;
+    private Integer slotCount;
+    private Integer stock;
+}
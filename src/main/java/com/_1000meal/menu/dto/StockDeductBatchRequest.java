@@ -0,0 +1,19 @@
+package com._1000meal.menu.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class StockDeductBatchRequest {
+    @NotEmpty(message = "차감 항목은 1개 이상이어야 합니다.")
+    @Size(max = 50, message = "한 번에 최대 50개 항목까지 차감할 수 있습니다.")
+    List<@Valid StockDeductItem> deductions;
+}
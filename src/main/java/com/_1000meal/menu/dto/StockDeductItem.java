@@ -0,0 +1,18 @@
+package com._1000meal.menu.dto;
+
+import com._1000meal.menu.enums.DeductionUnit;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class StockDeductItem {
+    @NotNull(message = "그룹 ID는 필수입니다.")
+    Long groupId;
+
+    @NotNull(message = "차감 단위는 필수입니다.")
+    DeductionUnit deductionUnit;
+}
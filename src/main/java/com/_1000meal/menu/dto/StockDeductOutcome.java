@@ -0,0 +1,16 @@
+package com._1000meal.menu.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 원자 차감 직후 같은 트랜잭션에서 읽은 그룹 행 상태
+ * @param stock 차감 후 재고 (차감 전 = stock + 차감 수량)
+ * @param lastNotifiedThreshold 마지막으로 알린 임계치
+ * @param lastNotifiedDate 마지막 알림 날짜 (오늘이 아니면 알림 기록은 없는 것으로 본다)
+ */
+public record StockDeductOutcome(
+        int stock,
+        Integer lastNotifiedThreshold,
+        LocalDate lastNotifiedDate
+) {
+}
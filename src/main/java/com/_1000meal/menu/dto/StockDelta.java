@@ -0,0 +1,11 @@
+package com._1000meal.menu.dto;
+
+/**
+ * 재고 스트림 항목 (그룹별 현재 재고)
+ */
+public record StockDelta(
+        Long storeId,
+        Long groupId,
+        int stock
+) {
+}
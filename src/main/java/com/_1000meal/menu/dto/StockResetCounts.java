@@ -0,0 +1,12 @@
+package com._1000meal.menu.dto;
+
+/**
+ * 일일 재고 리셋 대상 집계 (단일 행 그룹만)
+ * @param total 대상 그룹 수
+ * @param skipped 오늘 적용할 capacity 가 0 이하라 건너뛸 그룹 수
+ */
+public record StockResetCounts(
+        long total,
+        long skipped
+) {
+}
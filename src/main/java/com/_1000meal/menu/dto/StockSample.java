@@ -0,0 +1,12 @@
+package com._1000meal.menu.dto;
+
+import java.time.LocalTime;
+
+/**
+ * 재고 시계열 한 점
+ */
+public record StockSample(
+        LocalTime time,
+        int stock
+) {
+}
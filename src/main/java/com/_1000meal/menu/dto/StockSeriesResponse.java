@@ -0,0 +1,15 @@
+package com._1000meal.menu.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 그룹별 하루 재고 소진 곡선 (관리자 차트용)
+ */
+public record StockSeriesResponse(
+        Long groupId,
+        String groupName,
+        LocalDate date,
+        List<StockSample> samples
+) {
+}
@@ -0,0 +1,18 @@
+package com._1000meal.menu.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class StockSlotUpdateRequest {
+    @NotNull(message = "슬롯 수는 필수입니다.")
+    @Min(value = 1, message = "슬롯 수는 1 이상이어야 합니다.")
+    @Max(value = 16, message = "최대 슬롯 수는 16입니다.")
+    Integer slotCount;
+}
@@ -15,4 +15,21 @@ public class StockUpdateRequest {
     @Min(value = 0, message = "재고량은 0 이상이어야 합니다.")
     @Max(value = 100, message = "최대 재고량은 100입니다.")
     Integer stock;
+
+    /**
+     * (선택) 수정 화면에서 본 재고
+     * 주어지면 그 사이 차감분을 유지한 채 (stock - expectedStock) 만큼만 반영한다.
+     */
+    @Min(value = 0, message = "기대 재고량은 0 이상이어야 합니다.")
+    Integer expectedStock;
+
+    /**
+     * (선택) 수정 화면에서 본 재고 버전
+     * 주어지면 버전이 그대로일 때만 stock 으로 바꾸고, 다르면 409 를 반환한다.
+     */
+    Long expectedVersion;
+
+    public StockUpdateRequest(Integer stock) {
+        this(stock, null, null);
+    }
 }
@@ -0,0 +1,17 @@
+package com._1000meal.menu.dto;
+
+import java.util.List;
+
+/**
+ * 매장 재고 버전 응답 (롱폴링)
+ * @param version 다음 요청의 since 로 그대로 보낸다
+ * @param changed false 면 대기 시간 안에 변경이 없었음 (stocks 비어 있음)
+ * @param stocks 변경 시 매장의 그룹별 현재 재고
+ */
+public record StockVersionResponse(
+        Long storeId,
+        long version,
+        boolean changed,
+        List<StockDelta> stocks
+) {
+}
@@ -0,0 +1,14 @@
+package com._1000meal.menu.dto;
+
+/**
+ * 관리자 재고 수정 CAS 직전에 읽은 그룹 행 상태
+ * @param stock 현재 재고 (단일 행 그룹만 대상)
+ * @param version 낙관적 동시성 버전
+ * @param lastNotifiedThreshold 마지막 알림 임계치
+ */
+public record StockVersionSnapshot(
+        Integer stock,
+        Long version,
+        Integer lastNotifiedThreshold
+) {
+}
@@ -0,0 +1,13 @@
+package com._1000meal.menu.event;
+
+/**
+ * 소진 임박 이벤트
+ * 차감 속도로 예측한 소진까지 남은 시간이 임계치(menu.stock.eta.imminent-minutes) 이하로 들어올 때 그룹당 하루 한 번 발행됨
+ */
+public record SellOutImminentEvent(
+        Long storeId,
+        Long groupId,
+        int remainingStock,
+        long minutesToSellOut
+) {
+}
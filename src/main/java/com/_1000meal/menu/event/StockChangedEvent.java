@@ -0,0 +1,43 @@
+package com._1000meal.menu.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 그룹 재고 변경 이벤트 (재고 스트림/버전 갱신용)
+ * - GROUPS : storeIds 매장의 groupIds 그룹이 바뀜
+ * - STORES : storeIds 매장의 모든 그룹이 바뀜 (영업 종료 등)
+ * - ALL    : 전체 그룹이 바뀜 (일일 리셋)
+ * 값은 싣지 않는다. 받는 쪽이 필요할 때 현재 재고를 다시 읽는다.
+ * deducted : 차감(QR 이용, 관리자 차감)으로 바뀐 경우 그룹당 차감 수량 (그 외 0, 소진 예측용)
+ */
+public record StockChangedEvent(
+        Scope scope,
+        List<Long> storeIds,
+        List<Long> groupIds,
+        int deducted
+) {
+    public enum Scope {
+        GROUPS, STORES, ALL
+    }
+
+    public static StockChangedEvent ofGroup(Long storeId, Long groupId) {
+        return new StockChangedEvent(Scope.GROUPS, List.of(storeId), List.of(groupId), 0);
+    }
+
+    public static StockChangedEvent ofDeduction(Long storeId, Long groupId, int deducted) {
+        return new StockChangedEvent(Scope.GROUPS, List.of(storeId), List.of(groupId), deducted);
+    }
+
+    public static StockChangedEvent ofGroups(Long storeId, Collection<Long> groupIds) {
+        return new StockChangedEvent(Scope.GROUPS, List.of(storeId), List.copyOf(groupIds), 0);
+    }
+
+    public static StockChangedEvent ofStores(Collection<Long> storeIds) {
+        return new StockChangedEvent(Scope.STORES, List.copyOf(storeIds), List.of(), 0);
+    }
+
+    public static StockChangedEvent ofAll() {
+        return new StockChangedEvent(Scope.ALL, List.of(), List.of(), 0);
+    }
+}
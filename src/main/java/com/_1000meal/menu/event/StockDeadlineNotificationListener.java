@@ -0,0 +1,57 @@
+package com._1000meal.menu.event;
+
+import com._1000meal.fcm.service.StockDeadlineNotificationService;
+import com._1000meal.holiday.service.HolidayScheduleGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * 소진 임박 → 마감 임박 푸시
+ * 발송 시간대는 기존 스케줄(평일 08:00~10:59)과 같다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockDeadlineNotificationListener {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+    private static final LocalTime WINDOW_START = LocalTime.of(8, 0);
+    private static final LocalTime WINDOW_END = LocalTime.of(11, 0);
+
+    private final StockDeadlineNotificationService service;
+    private final MeterRegistry meterRegistry;
+    private final HolidayScheduleGuard holidayScheduleGuard;
+
+    @EventListener
+    public void onSellOutImminent(SellOutImminentEvent event) {
+        LocalDateTime now = LocalDateTime.now(ZONE_ID);
+        meterRegistry.counter("notification.stock_deadline.trigger").increment();
+        log.info("[FCM][STOCK_DEADLINE] sell-out imminent. storeId={}, groupId={}, remaining={}, minutes={}",
+                event.storeId(), event.groupId(), event.remainingStock(), event.minutesToSellOut());
+        if (!inWindow(now)) {
+            log.info("[FCM][STOCK_DEADLINE] outside window skip. now={}, window=weekday 08:00-10:59", now);
+            return;
+        }
+        if (holidayScheduleGuard.shouldSkip("STOCK_DEADLINE", now.toLocalDate())) {
+            return;
+        }
+        service.sendStockDeadlineNotifications(now.toLocalDate(), event.storeId(), event.groupId(), event.remainingStock());
+    }
+
+    private boolean inWindow(LocalDateTime now) {
+        DayOfWeek day = now.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            return false;
+        }
+        LocalTime time = now.toLocalTime();
+        return !time.isBefore(WINDOW_START) && time.isBefore(WINDOW_END);
+    }
+}
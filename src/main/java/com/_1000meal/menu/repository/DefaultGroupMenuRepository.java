@@ -28,6 +28,19 @@ public interface DefaultGroupMenuRepository extends JpaRepository<DefaultGroupMe
             @Param("date") LocalDate date
     );
 
+    // 기간 중 하루라도 적용되는 규칙 (날짜별 적용 여부는 isApplicableOn 으로 거름)
+    @Query("SELECT dgm FROM DefaultGroupMenu dgm " +
+            "WHERE dgm.menuGroup.id IN :groupIds " +
+            "AND dgm.active = true " +
+            "AND dgm.startDate <= :endDate " +
+            "AND (dgm.endDate IS NULL OR dgm.endDate >= :startDate) " +
+            "ORDER BY dgm.menuGroup.id ASC, dgm.startDate ASC, dgm.id ASC")
+    List<DefaultGroupMenu> findApplicableByMenuGroupIdsAndDateRange(
+            @Param("groupIds") List<Long> groupIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
     @Query("SELECT dgm FROM DefaultGroupMenu dgm " +
             "WHERE dgm.menuGroup.id = :groupId " +
             "AND dgm.active = true " +
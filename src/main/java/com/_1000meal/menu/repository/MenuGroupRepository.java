@@ -1,5 +1,6 @@
 package com._1000meal.menu.repository;
 
+import com._1000meal.fcm.dto.StockDeadlineTarget;
 import com._1000meal.menu.domain.MenuGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -65,4 +66,9 @@ public interface MenuGroupRepository extends JpaRepository<MenuGroup, Long> {
     List<MenuGroup> findByStoreIdOrderBySortOrderAscIdAsc(Long storeId);
 
     List<MenuGroup> findByIdIn(List<Long> groupIds);
+
+    // 마감 임박 푸시 문구용 매장/그룹 정보
+    @Query("SELECT new com._1000meal.fcm.dto.StockDeadlineTarget(s.id, s.name, s.imageUrl, mg.id, mg.name) " +
+            "FROM MenuGroup mg JOIN mg.store s WHERE mg.id = :groupId")
+    Optional<StockDeadlineTarget> findStockDeadlineTarget(@Param("groupId") Long groupId);
 }
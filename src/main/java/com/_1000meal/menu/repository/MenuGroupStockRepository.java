@@ -1,6 +1,11 @@
 package com._1000meal.menu.repository;
 
 import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.dto.GroupStock;
+import com._1000meal.menu.dto.StockDeductOutcome;
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.dto.StockResetCounts;
+import com._1000meal.menu.dto.StockVersionSnapshot;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -8,6 +13,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +23,14 @@ public interface MenuGroupStockRepository extends JpaRepository<MenuGroupStock,
 
     Optional<MenuGroupStock> findByMenuGroupId(Long menuGroupId);
 
+    // 그룹 행 재고 값만 조회 (잠그지 않음, 분산 모드 차감 후보 선택용)
+    @Query("SELECT s.stock FROM MenuGroupStock s WHERE s.menuGroup.id = :groupId")
+    Optional<Integer> findStockValueByMenuGroupId(@Param("groupId") Long groupId);
+
+    // 재고 분산 모드 그룹 (slot_count > 1)
+    @Query("SELECT s FROM MenuGroupStock s WHERE s.slotCount > 1")
+    List<MenuGroupStock> findAllStriped();
+
     /**
      * 비관적 락을 사용한 재고 조회 (동시성 안전)
      */
@@ -25,18 +41,227 @@ public interface MenuGroupStockRepository extends JpaRepository<MenuGroupStock,
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
             UPDATE MenuGroupStock s
-               SET s.stock = s.stock - 1
+               SET s.stock = s.stock - 1,
+                   s.version = s.version + 1
              WHERE s.menuGroup.id = :menuGroupId
                AND s.stock > 0
             """)
     int decrementStockIfAvailable(@Param("menuGroupId") Long menuGroupId);
 
+    /**
+     * 관리자 재고 차감 (SELECT FOR UPDATE 없이 조건부 원자 UPDATE)
+     * - 재고가 부족하면 0 을 반환하고 아무것도 바꾸지 않는다.
+     * - 차감 경로는 세 문장이다: 이 UPDATE → findDeductOutcome 조회 → (임계치를 넘었을 때만) recordDeductThreshold.
+     *   UPDATE 가 잡은 행 잠금은 커밋까지 유지되므로, 뒤의 두 문장은 다른 차감과 섞이지 않고 이 차감의 결과를 본다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.stock = s.stock - :value,
+                   s.version = s.version + 1
+             WHERE s.menuGroup.id = :menuGroupId
+               AND s.stock >= :value
+            """)
+    int deductStockIfAvailable(@Param("menuGroupId") Long menuGroupId, @Param("value") int value);
+
+    // 원자 차감 직후 결과 조회 (차감 전 재고 = stock + 차감 수량, 알림 기록은 차감이 바꾸지 않음)
+    @Query("""
+            SELECT new com._1000meal.menu.dto.StockDeductOutcome(s.stock, s.lastNotifiedThreshold, s.lastNotifiedDate)
+              FROM MenuGroupStock s
+             WHERE s.menuGroup.id = :menuGroupId
+            """)
+    Optional<StockDeductOutcome> findDeductOutcome(@Param("menuGroupId") Long menuGroupId);
+
     // 매장 기준 MenuGroupStock.stock 을 0 으로 설정
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
             UPDATE MenuGroupStock s
-               SET s.stock = 0
+               SET s.stock = 0,
+                   s.version = s.version + 1
              WHERE s.menuGroup.store.id IN :storeIds
             """)
     int setStockZeroByStoreIds(@Param("storeIds") List<Long> storeIds);
+
+    /**
+     * 일일 재고 리셋 대상 집계 (분산 모드 그룹 제외)
+     * 적용 capacity = 오늘 요일 지정 수량(> 0) → 없으면 기본 capacity
+     */
+    @Query("""
+            SELECT new com._1000meal.menu.dto.StockResetCounts(
+                       COUNT(s),
+                       COALESCE(SUM(CASE WHEN COALESCE((SELECT d.capacity FROM MenuGroupDayCapacity d
+                                                         WHERE d.menuGroup = s.menuGroup
+                                                           AND d.dayOfWeek = :dayOfWeek
+                                                           AND d.capacity > 0), s.capacity, 0) > 0
+                                         THEN 0 ELSE 1 END), 0))
+              FROM MenuGroupStock s
+             WHERE s.slotCount <= 1
+            """)
+    StockResetCounts countResetTargets(@Param("dayOfWeek") DayOfWeek dayOfWeek);
+
+    /**
+     * 일일 재고 리셋 (분산 모드 그룹 제외, 한 문장)
+     * 요일별 지정 수량은 (menu_group_id, day_of_week) 유니크 키로 행마다 한 번 조회된다.
+     * 적용 capacity 가 0 이하인 그룹은 건드리지 않는다.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.stock = COALESCE((SELECT d.capacity FROM MenuGroupDayCapacity d
+                              WHERE d.menuGroup = s.menuGroup
+                                AND d.dayOfWeek = :dayOfWeek
+                                AND d.capacity > 0), s.capacity),
+                   s.lastNotifiedThreshold = NULL,
+                   s.lastNotifiedDate = NULL,
+                   s.version = s.version + 1
+             WHERE s.slotCount <= 1
+               AND COALESCE((SELECT d.capacity FROM MenuGroupDayCapacity d
+                              WHERE d.menuGroup = s.menuGroup
+                                AND d.dayOfWeek = :dayOfWeek
+                                AND d.capacity > 0), s.capacity, 0) > 0
+            """)
+    int resetSingleRowStocksToCapacity(@Param("dayOfWeek") DayOfWeek dayOfWeek);
+
+    // 재고 스트림: 그룹 현재 재고 (분산 슬롯 합계 포함)
+    @Query("""
+            SELECT new com._1000meal.menu.dto.StockDelta(g.store.id, g.id, s.stock + s.slotStock)
+              FROM MenuGroupStock s
+              JOIN s.menuGroup g
+             WHERE g.id IN :groupIds
+            """)
+    List<StockDelta> findStockDeltasByGroupIds(@Param("groupIds") Collection<Long> groupIds);
+
+    @Query("""
+            SELECT new com._1000meal.menu.dto.StockDelta(g.store.id, g.id, s.stock + s.slotStock)
+              FROM MenuGroupStock s
+              JOIN s.menuGroup g
+             WHERE g.store.id IN :storeIds
+            """)
+    List<StockDelta> findStockDeltasByStoreIds(@Param("storeIds") Collection<Long> storeIds);
+
+    @Query("""
+            SELECT new com._1000meal.menu.dto.StockDelta(g.store.id, g.id, s.stock + s.slotStock)
+              FROM MenuGroupStock s
+              JOIN s.menuGroup g
+            """)
+    List<StockDelta> findAllStockDeltas();
+
+    // 매장 목록 스냅샷: 그룹 재고만 (조인 없이 menu_group_stock 한 테이블)
+    @Query("""
+            SELECT new com._1000meal.menu.dto.GroupStock(s.menuGroup.id, s.stock + s.slotStock)
+              FROM MenuGroupStock s
+             WHERE s.menuGroup.id IN :groupIds
+            """)
+    List<GroupStock> findGroupStocks(@Param("groupIds") Collection<Long> groupIds);
+
+    // 인메모리 재고 장부 적재용 (그룹/매장 이름 포함)
+    @Query("""
+            SELECT s FROM MenuGroupStock s
+              JOIN FETCH s.menuGroup g
+              JOIN FETCH g.store
+            """)
+    List<MenuGroupStock> findAllWithGroupAndStore();
+
+    // 재고 증감만 반영 (인메모리 장부의 관리자 수정 write-through, 차감 취소 등. 다른 경로의 변경과 충돌하지 않음)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.stock = s.stock - :delta,
+                   s.version = s.version + 1
+             WHERE s.menuGroup.id = :menuGroupId
+            """)
+    int applyStockDelta(@Param("menuGroupId") Long menuGroupId, @Param("delta") int delta);
+
+    // 인메모리 재고 장부 체크포인트: 마지막 체크포인트 이후 이용 차감분과 반영된 이용 건수(복구 기준)를 함께 올린다
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.stock = s.stock - :delta,
+                   s.ledgerUsageCount = s.ledgerUsageCount + :delta,
+                   s.version = s.version + 1
+             WHERE s.menuGroup.id = :menuGroupId
+            """)
+    int applyLedgerCheckpoint(@Param("menuGroupId") Long menuGroupId, @Param("delta") int delta);
+
+    // 인메모리 재고 장부 복구 기준 설정 (그날 처음 적재할 때, 그때까지의 이용 건수)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.ledgerDate = :ledgerDate,
+                   s.ledgerUsageCount = :usageCount
+             WHERE s.menuGroup.id = :menuGroupId
+            """)
+    int anchorLedger(
+            @Param("menuGroupId") Long menuGroupId,
+            @Param("ledgerDate") LocalDate ledgerDate,
+            @Param("usageCount") int usageCount
+    );
+
+    /**
+     * 오늘 알림 임계치 기록 (이미 같거나 더 낮은 임계치가 기록돼 있으면 유지)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.lastNotifiedThreshold = :threshold,
+                   s.lastNotifiedDate = :today,
+                   s.version = s.version + 1
+             WHERE s.menuGroup.id = :menuGroupId
+               AND (s.lastNotifiedDate IS NULL
+                    OR s.lastNotifiedDate <> :today
+                    OR s.lastNotifiedThreshold IS NULL
+                    OR s.lastNotifiedThreshold > :threshold)
+            """)
+    int markThresholdNotified(@Param("menuGroupId") Long menuGroupId,
+                              @Param("threshold") int threshold,
+                              @Param("today") LocalDate today);
+
+    // 원자 차감 후 판정한 알림 기록 (차감 UPDATE 의 행 잠금 안에서 호출하므로 조건 없이 덮어쓰고, 버전 CAS 가 알아채도록 버전도 올린다)
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.lastNotifiedThreshold = :threshold,
+                   s.lastNotifiedDate = :today,
+                   s.version = s.version + 1
+             WHERE s.menuGroup.id = :menuGroupId
+            """)
+    int recordDeductThreshold(@Param("menuGroupId") Long menuGroupId,
+                              @Param("threshold") int threshold,
+                              @Param("today") LocalDate today);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.lastNotifiedThreshold = :threshold,
+                   s.version = s.version + 1
+             WHERE s.menuGroup.id = :menuGroupId
+            """)
+    int updateLastNotifiedThreshold(@Param("menuGroupId") Long menuGroupId,
+                                    @Param("threshold") Integer threshold);
+
+    // 관리자 재고 수정 CAS: 읽은 시점의 재고/버전/알림 임계치
+    @Query("""
+            SELECT new com._1000meal.menu.dto.StockVersionSnapshot(s.stock, s.version, s.lastNotifiedThreshold)
+              FROM MenuGroupStock s
+             WHERE s.menuGroup.id = :menuGroupId
+            """)
+    Optional<StockVersionSnapshot> findVersionSnapshot(@Param("menuGroupId") Long menuGroupId);
+
+    /**
+     * 관리자 재고 수정 CAS (행 잠금 없음)
+     * 읽은 뒤 다른 차감/수정이 있었으면 버전이 달라 0 을 반환하고 아무것도 바꾸지 않는다.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStock s
+               SET s.stock = :newStock,
+                   s.lastNotifiedThreshold = :threshold,
+                   s.version = s.version + 1
+             WHERE s.menuGroup.id = :menuGroupId
+               AND s.version = :expectedVersion
+            """)
+    int compareAndSetStock(@Param("menuGroupId") Long menuGroupId,
+                           @Param("expectedVersion") long expectedVersion,
+                           @Param("newStock") int newStock,
+                           @Param("threshold") Integer threshold);
 }
@@ -0,0 +1,15 @@
+package com._1000meal.menu.repository;
+
+import com._1000meal.menu.domain.MenuGroupStockSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface MenuGroupStockSeriesRepository extends JpaRepository<MenuGroupStockSeries, Long> {
+
+    List<MenuGroupStockSeries> findByMenuGroupIdInAndSeriesDate(Collection<Long> menuGroupIds, LocalDate seriesDate);
+
+    List<MenuGroupStockSeries> findByStoreIdAndSeriesDate(Long storeId, LocalDate seriesDate);
+}
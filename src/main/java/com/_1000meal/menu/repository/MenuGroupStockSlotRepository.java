@@ -0,0 +1,46 @@
+package com._1000meal.menu.repository;
+
+import com._1000meal.menu.domain.MenuGroupStockSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MenuGroupStockSlotRepository extends JpaRepository<MenuGroupStockSlot, Long> {
+
+    /**
+     * 관리자 수정/리셋 시 그룹의 모든 슬롯을 잠근다 (QR 차감과 직렬화)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MenuGroupStockSlot s WHERE s.menuGroupId = :groupId ORDER BY s.slotNo")
+    List<MenuGroupStockSlot> findByMenuGroupIdForUpdate(@Param("groupId") Long groupId);
+
+    // 차감 후보 슬롯 (잠그지 않는 일반 조회)
+    @Query("SELECT s.slotNo FROM MenuGroupStockSlot s WHERE s.menuGroupId = :groupId AND s.stock > 0")
+    List<Integer> findSlotNosWithStock(@Param("groupId") Long groupId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStockSlot s
+               SET s.stock = s.stock - 1
+             WHERE s.menuGroupId = :menuGroupId
+               AND s.slotNo = :slotNo
+               AND s.stock > 0
+            """)
+    int decrementStockIfAvailable(@Param("menuGroupId") Long menuGroupId, @Param("slotNo") int slotNo);
+
+    // 매장 기준 슬롯 재고를 0 으로 설정 (MenuGroupStockRepository.setStockZeroByStoreIds 와 함께 호출)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE MenuGroupStockSlot s
+               SET s.stock = 0
+             WHERE s.menuGroupId IN (
+                   SELECT g.id FROM MenuGroup g WHERE g.store.id IN :storeIds
+             )
+            """)
+    int setStockZeroByStoreIds(@Param("storeIds") List<Long> storeIds);
+}
@@ -14,8 +14,10 @@ import com._1000meal.menu.dto.DefaultMenuResponse;
 import com._1000meal.menu.repository.DefaultGroupMenuRepository;
 import com._1000meal.menu.repository.GroupDailyMenuRepository;
 import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.store.event.StoreViewChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +36,7 @@ public class DefaultGroupMenuService {
     private final MenuGroupRepository menuGroupRepository;
     private final GroupDailyMenuRepository groupDailyMenuRepository;
     private final CurrentAccountProvider currentAccountProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public DefaultMenuResponse pinDefaultMenu(Long storeId, Long groupId, String menuName, LocalDate startDate, LocalDate endDate) {
@@ -56,6 +59,7 @@ public class DefaultGroupMenuService {
             if (!effectiveStart.isAfter(today)) {
                 materializeIfAbsentForDate(menuGroup, today);
             }
+            eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
             log.debug("[DEFAULT_MENU][CREATE] storeId={}, groupId={}, defaultMenuId={}, startDate={}, endDate={}, active={}",
                     storeId, groupId, existing.getId(), effectiveStart, effectiveEnd, existing.isActive());
             return DefaultMenuResponse.from(existing, today);
@@ -75,6 +79,7 @@ public class DefaultGroupMenuService {
         if (!effectiveStart.isAfter(today)) {
             materializeIfAbsentForDate(menuGroup, today);
         }
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
         log.debug("[DEFAULT_MENU][CREATE] storeId={}, groupId={}, defaultMenuId={}, startDate={}, endDate={}, active={}",
                 storeId, groupId, saved.getId(), effectiveStart, effectiveEnd, saved.isActive());
         return DefaultMenuResponse.from(saved, today);
@@ -96,6 +101,7 @@ public class DefaultGroupMenuService {
         rule.deactivate(today);
 
         materializeForDateReplace(menuGroup, today);
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
 
         return DefaultMenuResponse.from(rule, today);
     }
@@ -136,6 +142,7 @@ public class DefaultGroupMenuService {
         if (!effectiveStart.isAfter(today)) {
             materialized = materializeIfAbsentForDate(menuGroup, today);
         }
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
 
         return DefaultMenuActivateResponse.builder()
                 .defaultMenu(DefaultMenuResponse.from(rule, today))
@@ -0,0 +1,537 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.domain.LowStockThreshold;
+import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.domain.StockDeductResult;
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.event.LowStock30Event;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.qr.dto.MenuGroupUsageCount;
+import com._1000meal.qr.journal.MealUsageJournal;
+import com._1000meal.qr.repository.MealUsageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 오픈 러시 시간대 인메모리 재고 장부 (hot stock mode)
+ * - 시간대(기본 08:00~10:00) 동안 그룹 재고를 메모리에서 CAS 로 차감하고,
+ *   백그라운드에서 마지막 체크포인트 이후 이용 차감분만 menu_group_stock 에 일괄 반영한다.
+ * - 관리자 수정/차감은 이용 기록이 남지 않으므로 호출 측 트랜잭션에서 DB 에 바로 반영한다. (write-through)
+ * - 체크포인트는 반영한 이용 건수를 ledger_usage_count 에 함께 올린다.
+ *   적재 시 재고 = DB 재고 - (오늘 이용 건수 - ledger_usage_count), 이용 건수에는 meal_usage 에 아직 없는 저널 레코드도 포함
+ *   → 체크포인트 전에 죽어도 이미 커밋된 이용 기록 기준으로 복구된다. (저널 재생이 끝난 뒤에 적재)
+ * - 30/10 임계치 판정은 장부 값으로 CAS 해 한 요청만 발행 주체가 되고, 알림 기록은 같은 트랜잭션으로 남겨
+ *   재시작 후에도 하루 한 번만 LowStock30Event 가 발행된다.
+ * - 장부는 단일 인스턴스 배포를 전제로 한다.
+ * - 분산 슬롯(slot_count > 1) 그룹은 장부에 올리지 않는다.
+ */
+@Slf4j
+@Component
+public class HotStockLedger {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int NONE = Integer.MAX_VALUE;   // 오늘 알림 기록 없음
+    private static final long DRAIN_TIMEOUT_MILLIS = 5_000L;
+
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final MealUsageRepository mealUsageRepository;
+    private final MealUsageJournal mealUsageJournal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger inflight = new AtomicInteger();
+    // 진행 중 카운트가 0 이 되면 해제 대기를 깨우는 신호 (장부 모니터와 분리해 대기 중에도 다른 호출을 막지 않음)
+    private final Object drainSignal = new Object();
+    // 해제(대기 + 마지막 체크포인트)를 한 번에 하나만 진행
+    private final ReentrantLock deactivation = new ReentrantLock();
+    private volatile boolean active;
+    private boolean draining;
+    private volatile LocalDate ledgerDate;
+
+    public HotStockLedger(
+            MenuGroupStockRepository menuGroupStockRepository,
+            MealUsageRepository mealUsageRepository,
+            MealUsageJournal mealUsageJournal,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${menu.stock.hot-mode.enabled:false}") boolean enabled,
+            @Value("${menu.stock.hot-mode.start:08:00}") String windowStart,
+            @Value("${menu.stock.hot-mode.end:10:00}") String windowEnd
+    ) {
+        this.menuGroupStockRepository = menuGroupStockRepository;
+        this.mealUsageRepository = mealUsageRepository;
+        this.mealUsageJournal = mealUsageJournal;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowStart = LocalTime.parse(windowStart);
+        this.windowEnd = LocalTime.parse(windowEnd);
+    }
+
+    /**
+     * 재고 차감 결과
+     * @param deducted false 이면 재고 부족
+     */
+    public record Deduction(boolean deducted, int before, int after) {
+    }
+
+    /**
+     * 시간대 진입 시 적재(재시작 복구 포함), 시간대 동안 체크포인트, 시간대 종료 시 마지막 체크포인트 후 해제
+     */
+    @Scheduled(fixedDelayString = "${menu.stock.hot-mode.checkpoint-interval-ms:1000}")
+    public void tick() {
+        // 저널 재생 전에는 이용 건수가 모자라 재고를 높게 복구할 수 있으므로 기다린다
+        if (!enabled || !mealUsageJournal.isReplayed()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(KST);
+        LocalTime time = now.toLocalTime();
+        boolean inWindow = !time.isBefore(windowStart) && time.isBefore(windowEnd);
+
+        synchronized (this) {
+            // 해제 중에는 다시 적재하지 않는다 (해제가 새 장부를 비우지 않도록)
+            if (draining) {
+                return;
+            }
+            boolean expired = active && (!inWindow || !now.toLocalDate().equals(ledgerDate));
+            if (!expired) {
+                if (!active && inWindow) {
+                    activate(now.toLocalDate());
+                } else if (active) {
+                    checkpoint();
+                }
+                return;
+            }
+        }
+        // 진행 중 트랜잭션을 기다리는 동안 모니터를 잡지 않도록 밖에서 해제
+        deactivate();
+    }
+
+    /**
+     * 이용 차감 (호출 측 트랜잭션 안에서 실행, 롤백되면 장부도 되돌린다)
+     * 같은 트랜잭션에서 이용 기록(meal_usage 또는 저널)을 남기는 경로만 사용한다. DB 반영은 체크포인트가 한다.
+     * @return 장부가 관리하지 않는 그룹이면 empty → 호출 측은 기존 DB 경로를 사용
+     */
+    public Optional<Deduction> deduct(Long menuGroupId, int value) {
+        return deduct(menuGroupId, value, false);
+    }
+
+    /**
+     * 관리자 차감 (이용 기록 없음): 장부 차감과 함께 호출 측 트랜잭션에서 DB 에도 바로 반영한다.
+     * @return 장부가 관리하지 않는 그룹이면 empty
+     */
+    public Optional<Deduction> adminDeduct(Long menuGroupId, int value) {
+        return deduct(menuGroupId, value, true);
+    }
+
+    /**
+     * 이용 차감 취소 (차감했지만 이용 기록이 끝내 남지 않은 경우, 트랜잭션 중이면 롤백 시 취소도 되돌린다)
+     * 체크포인트 대기분에서 빼므로 복구 기준(반영된 이용 건수)과 어긋나지 않는다.
+     * @return 장부가 관리하지 않는 그룹이면 false → 호출 측이 DB 에 직접 돌려놓는다
+     */
+    public boolean refund(Long menuGroupId, int value) {
+        Entry entry = enter(menuGroupId);
+        if (entry == null) {
+            return false;
+        }
+        boolean handedOff = false;
+        try {
+            entry.stock.addAndGet(value);
+            entry.pendingDelta.addAndGet(-value);
+            handedOff = onCompletion(entry, -value, -value, new Claim(new StockDeductResult(false, false), NONE, NONE));
+            return true;
+        } finally {
+            if (!handedOff) {
+                exit();
+            }
+        }
+    }
+
+    private Optional<Deduction> deduct(Long menuGroupId, int value, boolean writeThrough) {
+        Entry entry = enter(menuGroupId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        boolean handedOff = false;
+        try {
+            int before;
+            do {
+                before = entry.stock.get();
+                if (before < value) {
+                    return Optional.of(new Deduction(false, before, before));
+                }
+            } while (!entry.stock.compareAndSet(before, before - value));
+            int after = before - value;
+            int pending = writeThrough ? 0 : value;
+            entry.pendingDelta.addAndGet(pending);
+
+            Claim claim = claimThresholds(entry, before, after);
+            handedOff = onCompletion(entry, value, pending, claim);
+            if (writeThrough) {
+                menuGroupStockRepository.applyStockDelta(menuGroupId, value);
+            }
+            notifyIfFirst(entry, claim, after);
+
+            return Optional.of(new Deduction(true, before, after));
+        } finally {
+            if (!handedOff) {
+                exit();
+            }
+        }
+    }
+
+    /**
+     * 관리자 재고 직접 수정 (MenuGroupStock.updateStock 과 같은 알림 상태 복구 규칙)
+     * @return 장부가 관리하지 않는 그룹이면 empty
+     */
+    public Optional<Integer> update(Long menuGroupId, int newStock) {
+        return update(menuGroupId, current -> newStock);
+    }
+
+    /**
+     * 관리자 재고 수정 (현재 장부 재고 기준으로 목표 재고 계산, 음수면 0)
+     * 계산과 반영이 원자적이라 그 사이의 차감을 덮어쓰지 않는다.
+     * 변경분은 호출 측 트랜잭션에서 DB 에 바로 반영한다. (체크포인트 전에 죽어도 사라지지 않도록)
+     */
+    public Optional<Integer> update(Long menuGroupId, IntUnaryOperator target) {
+        Entry entry = enter(menuGroupId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        boolean handedOff = false;
+        try {
+            int before = entry.stock.getAndUpdate(current -> Math.max(0, target.applyAsInt(current)));
+            int newStock = Math.max(0, target.applyAsInt(before));
+            int restored = before - newStock;
+
+            Claim claim;
+            while (true) {
+                int current = entry.notifiedThreshold.get();
+                Integer next = LowStockThreshold.afterUpdate(newStock, toThreshold(current));
+                int nextValue = next == null ? NONE : next;
+                if (entry.notifiedThreshold.compareAndSet(current, nextValue)) {
+                    claim = new Claim(new StockDeductResult(false, false), current, nextValue);
+                    break;
+                }
+            }
+            if (claim.previous() != claim.next()) {
+                menuGroupStockRepository.updateLastNotifiedThreshold(menuGroupId, toThreshold(claim.next()));
+            }
+
+            handedOff = onCompletion(entry, restored, 0, claim);
+            if (restored != 0) {
+                menuGroupStockRepository.applyStockDelta(menuGroupId, restored);
+            }
+            return Optional.of(newStock);
+        } finally {
+            if (!handedOff) {
+                exit();
+            }
+        }
+    }
+
+    /**
+     * 장부가 관리 중인 그룹의 현재 재고 (DB 체크포인트보다 최신)
+     */
+    public Optional<Integer> peek(Long menuGroupId) {
+        if (!active) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(menuGroupId);
+        return entry == null ? Optional.empty() : Optional.of(entry.stock.get());
+    }
+
+    /**
+     * DB 에서 읽은 그룹 재고에 장부 값을 덮어쓴다. (오픈 러시 시간대에는 장부 값이 체크포인트보다 최신)
+     */
+    public List<StockDelta> overlay(List<StockDelta> deltas) {
+        if (!active) {
+            return deltas;
+        }
+        return deltas.stream()
+                .map(d -> peek(d.groupId())
+                        .map(stock -> new StockDelta(d.storeId(), d.groupId(), stock))
+                        .orElse(d))
+                .toList();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * 장부 해제: 새 요청은 DB 경로로 보내고, 진행 중 트랜잭션이 끝나길 기다린 뒤 마지막 체크포인트
+     * 기다리는 동안 장부 모니터를 잡지 않는다. 동시에 해제를 부른 쪽은 앞선 해제가 끝날 때까지 기다린다.
+     */
+    public void deactivate() {
+        deactivation.lock();
+        try {
+            synchronized (this) {
+                if (!active) {
+                    return;
+                }
+                active = false;
+                draining = true;
+            }
+
+            awaitDrained();
+
+            synchronized (this) {
+                checkpoint();
+                entries.clear();
+                draining = false;
+            }
+            log.info("[STOCK][LEDGER] deactivated. date={}", ledgerDate);
+        } finally {
+            deactivation.unlock();
+        }
+    }
+
+    // 진행 중 카운트가 0 이 될 때까지 신호를 기다린다 (최대 DRAIN_TIMEOUT_MILLIS)
+    private void awaitDrained() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+        synchronized (drainSignal) {
+            while (inflight.get() > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    log.warn("[STOCK][LEDGER] drain timeout. inflight={}", inflight.get());
+                    return;
+                }
+                try {
+                    drainSignal.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("[STOCK][LEDGER] drain interrupted. inflight={}", inflight.get());
+                    return;
+                }
+            }
+        }
+    }
+
+    // 진행 중 카운트를 내리고, 해제 중에 마지막 요청이 끝났으면 대기를 깨운다
+    private void exit() {
+        if (inflight.decrementAndGet() == 0 && !active) {
+            synchronized (drainSignal) {
+                drainSignal.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 마지막 체크포인트 이후 이용 차감분을 한 트랜잭션으로 반영 (실패 시 다음 주기에 재시도)
+     * 반영한 만큼 ledger_usage_count 도 올려 복구 기준을 함께 옮긴다.
+     */
+    void checkpoint() {
+        Map<Long, Integer> drained = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            int delta = entry.pendingDelta.getAndSet(0);
+            if (delta != 0) {
+                drained.put(entry.menuGroupId, delta);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    drained.forEach(menuGroupStockRepository::applyLedgerCheckpoint));
+            log.debug("[STOCK][LEDGER] checkpoint. groups={}", drained.size());
+        } catch (RuntimeException e) {
+            drained.forEach((groupId, delta) -> {
+                Entry entry = entries.get(groupId);
+                if (entry != null) {
+                    entry.pendingDelta.addAndGet(delta);
+                }
+            });
+            log.error("[STOCK][LEDGER] checkpoint failed. groups={}, error={}", drained.size(), e.getMessage(), e);
+        }
+    }
+
+    private void activate(LocalDate today) {
+        entries.clear();
+        transactionTemplate.executeWithoutResult(status -> load(today));
+        ledgerDate = today;
+        active = true;
+        log.info("[STOCK][LEDGER] activated. date={}, groups={}", today, entries.size());
+    }
+
+    private void load(LocalDate today) {
+        // 저널 대기분을 먼저 세고 DB 를 센다 (그 사이 반영된 레코드는 두 번 세어져 재고가 낮게 복구될 뿐)
+        Map<Long, Long> usages = new HashMap<>(mealUsageJournal.pendingUsageCounts(today));
+        for (MenuGroupUsageCount usage : mealUsageRepository.countByUsedDateGroupByMenuGroupId(today)) {
+            usages.merge(usage.menuGroupId(), usage.usageCount(), Long::sum);
+        }
+
+        List<MenuGroupStock> stocks = menuGroupStockRepository.findAllWithGroupAndStore();
+        for (MenuGroupStock stock : stocks) {
+            Long groupId = stock.getMenuGroup().getId();
+            if (stock.isStriped()) {
+                log.info("[STOCK][LEDGER][SKIP] groupId={}, reason=striped", groupId);
+                continue;
+            }
+
+            int dbStock = stock.getStock();
+            long used = usages.getOrDefault(groupId, 0L);
+            int recovered;
+            if (today.equals(stock.getLedgerDate())) {
+                // 오늘 장부가 이미 돌았음: 체크포인트되지 못한 이용만큼 DB 재고에서 뺀다
+                long unapplied = used - stock.getLedgerUsageCount();
+                recovered = (int) Math.max(0, dbStock - unapplied);
+            } else {
+                // 오늘 첫 적재: 지금까지의 이용은 모두 DB 경로로 차감되었으므로 DB 재고가 그대로 맞다
+                recovered = dbStock;
+                menuGroupStockRepository.anchorLedger(groupId, today, (int) used);
+            }
+
+            Integer notified = today.equals(stock.getLastNotifiedDate()) ? stock.getLastNotifiedThreshold() : null;
+            Entry entry = new Entry(
+                    groupId,
+                    stock.getMenuGroup().getStore().getId(),
+                    stock.getMenuGroup().getStore().getName(),
+                    stock.getMenuGroup().getName(),
+                    recovered,
+                    notified
+            );
+            // 체크포인트되지 못한 차감분은 다음 체크포인트에서 DB 에 반영
+            entry.pendingDelta.set(dbStock - recovered);
+            entries.put(groupId, entry);
+
+            if (recovered != dbStock) {
+                log.info("[STOCK][LEDGER][RECOVER] groupId={}, dbStock={}, used={}, applied={}, recovered={}",
+                        groupId, dbStock, used, stock.getLedgerUsageCount(), recovered);
+            }
+        }
+    }
+
+    private Entry enter(Long menuGroupId) {
+        if (!active) {
+            return null;
+        }
+        inflight.incrementAndGet();
+        Entry entry = active ? entries.get(menuGroupId) : null;
+        if (entry == null) {
+            exit();
+        }
+        return entry;
+    }
+
+    private Claim claimThresholds(Entry entry, int before, int after) {
+        while (true) {
+            int current = entry.notifiedThreshold.get();
+            Integer last = toThreshold(current);
+            StockDeductResult result = LowStockThreshold.evaluate(before, after, last);
+            if (!result.shouldNotify()) {
+                return new Claim(result, current, current);
+            }
+            Integer next = LowStockThreshold.next(result, last);
+            if (entry.notifiedThreshold.compareAndSet(current, next)) {
+                return new Claim(result, current, next);
+            }
+        }
+    }
+
+    private void notifyIfFirst(Entry entry, Claim claim, int remaining) {
+        if (!claim.result().shouldNotify()) {
+            return;
+        }
+
+        // 발행 주체는 장부 CAS 로 정해지고, 알림 기록은 같은 트랜잭션으로 남겨 재시작 후에도 다시 발행하지 않는다.
+        // (30 기록보다 10 기록이 먼저 커밋될 수 있으므로 UPDATE 결과로 발행 여부를 정하지 않는다)
+        menuGroupStockRepository.markThresholdNotified(entry.menuGroupId, claim.next(), ledgerDate);
+
+        if (claim.result().notifyLowStock30()) {
+            eventPublisher.publishEvent(new LowStock30Event(
+                    entry.storeId,
+                    entry.storeName,
+                    entry.menuGroupId,
+                    entry.groupName,
+                    remaining
+            ));
+        }
+        // LOW_STOCK_10 알림 비활성화 (MenuGroupService 와 동일)
+    }
+
+    /**
+     * 트랜잭션 종료 시 진행 중 카운트를 내리고, 롤백이면 장부 변경을 되돌린다.
+     * @param pendingDelta 체크포인트 대기분에 더한 값 (write-through 변경은 DB 와 함께 롤백되므로 0)
+     * @return 트랜잭션에 넘겼으면 true (진행 중 카운트는 종료 시점에 내려감)
+     */
+    private boolean onCompletion(Entry entry, int stockDelta, int pendingDelta, Claim claim) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        entry.stock.addAndGet(stockDelta);
+                        entry.pendingDelta.addAndGet(-pendingDelta);
+                        entry.notifiedThreshold.compareAndSet(claim.next(), claim.previous());
+                    }
+                } finally {
+                    exit();
+                }
+            }
+        });
+        return true;
+    }
+
+    private static Integer toThreshold(int value) {
+        return value == NONE ? null : value;
+    }
+
+    private record Claim(StockDeductResult result, int previous, int next) {
+    }
+
+    private static final class Entry {
+
+        private final Long menuGroupId;
+        private final Long storeId;
+        private final String storeName;
+        private final String groupName;
+        private final AtomicInteger stock;
+        private final AtomicInteger pendingDelta = new AtomicInteger();
+        private final AtomicInteger notifiedThreshold;
+
+        private Entry(Long menuGroupId, Long storeId, String storeName, String groupName,
+                      int stock, Integer notifiedThreshold) {
+            this.menuGroupId = menuGroupId;
+            this.storeId = storeId;
+            this.storeName = storeName;
+            this.groupName = groupName;
+            this.stock = new AtomicInteger(stock);
+            this.notifiedThreshold = new AtomicInteger(notifiedThreshold == null ? NONE : notifiedThreshold);
+        }
+    }
+}
@@ -3,18 +3,22 @@ package com._1000meal.menu.service;
 import com._1000meal.auth.service.CurrentAccountProvider;
 import com._1000meal.fcm.domain.WeeklyMenuNotificationStatus;
 import com._1000meal.fcm.service.WeeklyMenuNotificationStateService;
+import com._1000meal.global.error.code.ErrorCode;
 import com._1000meal.global.error.code.MenuErrorCode;
 import com._1000meal.global.error.code.StoreErrorCode;
 import com._1000meal.global.error.exception.CustomException;
 import com._1000meal.menu.domain.DailyMenu;
 import com._1000meal.menu.domain.DefaultGroupMenu;
 import com._1000meal.menu.domain.GroupDailyMenu;
+import com._1000meal.menu.domain.LowStockThreshold;
 import com._1000meal.menu.domain.MenuGroup;
 import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.domain.MenuGroupStockSlot;
 import com._1000meal.menu.dto.*;
 import com._1000meal.menu.enums.DeductionUnit;
 import com._1000meal.menu.domain.StockDeductResult;
 import com._1000meal.menu.event.LowStock30Event;
+import com._1000meal.menu.event.StockChangedEvent;
 import com._1000meal.menu.event.WeeklyMenuChangedEvent;
 import com._1000meal.menu.event.WeeklyMenuUploadedEvent;
 import com._1000meal.menu.repository.DefaultGroupMenuRepository;
@@ -25,12 +29,15 @@ import com._1000meal.menu.repository.MenuGroupStockRepository;
 import com._1000meal.store.domain.Store;
 import com._1000meal.store.repository.StoreRepository;
 import com._1000meal.store.dto.StoreTodayMenuDto;
+import com._1000meal.store.event.StoreViewChangedEvent;
 import com._1000meal.store.dto.StoreTodayMenuGroupDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -38,6 +45,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.ZoneId;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -56,6 +64,11 @@ public class MenuGroupService {
     private final WeeklyMenuNotificationStateService weeklyMenuNotificationStateService;
     private final ApplicationEventPublisher eventPublisher;
     private final CurrentAccountProvider currentAccountProvider;
+    private final MenuGroupStockSlotService stockSlotService;
+    private final HotStockLedger hotStockLedger;
+    private final SellOutPredictor sellOutPredictor;
+    private final MenuGroupStockCasUpdater stockCasUpdater;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * 특정 매장/날짜의 메뉴 그룹 목록 조회
@@ -75,7 +88,7 @@ public class MenuGroupService {
         List<Long> groupIds = groups.stream().map(MenuGroup::getId).toList();
 
         Map<Long, GroupDailyMenu> dailyMenusByGroupId = groupIds.isEmpty()
-                ? Collections.emptyMap()
+                ? new HashMap<>()
                 : groupDailyMenuRepository.findByMenuGroupIdInAndDate(groupIds, date).stream()
                         .collect(Collectors.toMap(
                                 gdm -> gdm.getMenuGroup().getId(),
@@ -91,6 +104,81 @@ public class MenuGroupService {
                         ))
                 : Collections.emptyMap();
 
+        return assembleMenuGroups(storeId, date, dailyMenu, groups, dailyMenusByGroupId, defaultMenusByGroupId);
+    }
+
+    /**
+     * 기간(start~end) 메뉴 그룹 목록을 한 번에 조회 (주간 메뉴용)
+     * - DailyMenu, 그룹+재고, GroupDailyMenu, 기본 메뉴 규칙을 기간 전체로 한 번씩만 읽고 날짜별로 메모리에서 조립한다.
+     * - 날짜별 결과는 getMenuGroups(storeId, date) 와 같다. (기본 메뉴 지연 생성 포함)
+     */
+    @Transactional
+    public List<DailyMenuWithGroupsDto> getMenuGroupsForRange(Long storeId, LocalDate start, LocalDate end) {
+        List<LocalDate> dates = start.datesUntil(end.plusDays(1)).toList();
+
+        Map<LocalDate, DailyMenu> dailyMenuByDate = dailyMenuRepository.findByStoreIdAndDateBetween(storeId, start, end).stream()
+                .collect(Collectors.toMap(DailyMenu::getDate, dm -> dm, (a, b) -> a));
+
+        // 일간 메뉴가 없는 날은 매장 전체 그룹을 보여주므로, 그런 날이 있으면 매장 그룹 전체를 한 번에 읽어 날짜별로 나눈다
+        boolean anyWithoutDaily = dates.stream().anyMatch(d -> !dailyMenuByDate.containsKey(d));
+        List<MenuGroup> groups = anyWithoutDaily
+                ? menuGroupRepository.findByStoreIdWithStock(storeId)
+                : menuGroupRepository.findByDailyMenuIdsWithStockAndMenus(
+                        dailyMenuByDate.values().stream().map(DailyMenu::getId).toList());
+
+        List<Long> groupIds = groups.stream().map(MenuGroup::getId).toList();
+
+        Map<LocalDate, Map<Long, GroupDailyMenu>> dailyMenusByDate = new HashMap<>();
+        if (!groupIds.isEmpty()) {
+            groupDailyMenuRepository.findByMenuGroupIdInAndDateBetween(groupIds, start, end)
+                    .forEach(gdm -> dailyMenusByDate
+                            .computeIfAbsent(gdm.getDate(), d -> new HashMap<>())
+                            .putIfAbsent(gdm.getMenuGroup().getId(), gdm));
+        }
+
+        boolean anyServing = dates.stream()
+                .map(dailyMenuByDate::get)
+                .anyMatch(dm -> dm == null || (dm.isOpen() && !dm.isHoliday()));
+        List<DefaultGroupMenu> rules = (anyServing && !groupIds.isEmpty())
+                ? defaultGroupMenuRepository.findApplicableByMenuGroupIdsAndDateRange(groupIds, start, end)
+                : List.of();
+
+        List<DailyMenuWithGroupsDto> result = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            DailyMenu dailyMenu = dailyMenuByDate.get(date);
+            List<MenuGroup> dayGroups = (dailyMenu != null)
+                    ? groups.stream()
+                            .filter(g -> g.getDailyMenu() != null && dailyMenu.getId().equals(g.getDailyMenu().getId()))
+                            .toList()
+                    : groups;
+
+            Map<Long, List<DefaultGroupMenu>> defaultMenusByGroupId = rules.stream()
+                    .filter(rule -> rule.isApplicableOn(date))
+                    .collect(Collectors.groupingBy(
+                            rule -> rule.getMenuGroup().getId(),
+                            LinkedHashMap::new,
+                            Collectors.toList()
+                    ));
+
+            result.add(assembleMenuGroups(storeId, date, dailyMenu, dayGroups,
+                    new HashMap<>(dailyMenusByDate.getOrDefault(date, Map.of())), defaultMenusByGroupId));
+        }
+        return result;
+    }
+
+    // 하루치 메뉴 그룹 조립 (영업일이면 기본 메뉴를 지연 생성)
+    private DailyMenuWithGroupsDto assembleMenuGroups(
+            Long storeId,
+            LocalDate date,
+            DailyMenu dailyMenu,
+            List<MenuGroup> groups,
+            Map<Long, GroupDailyMenu> dailyMenusByGroupId,
+            Map<Long, List<DefaultGroupMenu>> defaultMenusByGroupId
+    ) {
+        boolean isOpen = dailyMenu != null ? dailyMenu.isOpen() : true;
+        boolean isHoliday = dailyMenu != null && dailyMenu.isHoliday();
+
+        boolean today = date.equals(LocalDate.now(KST));
         List<MenuGroupDto> groupDtos = groups.stream()
                 .map(group -> {
                     GroupDailyMenu gdm = dailyMenusByGroupId.get(group.getId());
@@ -109,6 +197,7 @@ public class MenuGroupService {
                             gdm.replaceMenus(names);
                             groupDailyMenuRepository.save(gdm);
                             dailyMenusByGroupId.put(group.getId(), gdm);
+                            eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
                             log.debug("[DEFAULT_MENU][LAZY_MATERIALIZE] groupId={}, date={}, created=true, itemCount={}",
                                     group.getId(), date, names.size());
                         } else {
@@ -144,6 +233,7 @@ public class MenuGroupService {
                             .toList();
                     return MenuGroupDto.from(group, menus, menuItems);
                 })
+                .map(dto -> today ? withSellOutEta(dto) : dto)
                 .toList();
 
         int totalStock = groupDtos.stream()
@@ -316,6 +406,7 @@ public class MenuGroupService {
                                 (a, b) -> a
                         ));
 
+        boolean today = date.equals(LocalDate.now(KST));
         Map<Long, StoreTodayMenuDto> result = new HashMap<>();
         for (Long storeId : storeIds) {
             DailyMenu dm = dailyMenuByStoreId.get(storeId);
@@ -332,6 +423,7 @@ public class MenuGroupService {
                                 .toList();
                         return StoreTodayMenuGroupDto.from(group, menuDtos);
                     })
+                    .map(dto -> today ? withSellOutEta(dto) : dto)
                     .toList();
 
             boolean isOpen = dm != null ? dm.isOpen() : true;
@@ -353,124 +445,90 @@ public class MenuGroupService {
 
     /**
      * 그룹 재고 차감
-     * 비관적 락으로 동시성 보장
+     * 행 잠금 없이 조건부 원자 UPDATE 로 차감한다. (QR 차감과 같은 행에서 서로 기다리지 않음)
      */
     @Transactional
     public MenuGroupStockResponse deductStock(Long groupId, DeductionUnit unit) {
-        int value = unit.getValue();
-        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-
         MenuGroup group = getAuthorizedGroup(groupId);
-
-        // 비관적 락으로 재고 조회
-        MenuGroupStock stock = stockRepository.findByMenuGroupIdForUpdate(groupId)
-                .orElseGet(() -> createStockIfMissing(group, 0));
-
-        int beforeStock = stock.getStock();
-        StockDeductResult result = stock.deduct(value, today);
-        int afterStock = stock.getStock();
-
-        log.info("[STOCK][DEDUCT] groupId={}, before={}, after={}, unit={}",
-                groupId, beforeStock, afterStock, unit.name());
-
-        if (result.shouldNotify()) {
-            Store store = group.getStore();
-
-            // 30 임계치 하향 돌파 알림 이벤트
-            if (result.notifyLowStock30()) {
-                eventPublisher.publishEvent(new LowStock30Event(
-                        store.getId(),
-                        store.getName(),
-                        groupId,
-                        group.getName(),
-                        afterStock
-                ));
-            }
-
-            // LOW_STOCK_10 알림 비활성화
-            // if (result.notifyLowStock10()) {
-            //     eventPublisher.publishEvent(new LowStockEvent(
-            //             store.getId(),
-            //             store.getName(),
-            //             groupId,
-            //             group.getName(),
-            //             afterStock
-            //     ));
-            // }
-        }
-
-        return new MenuGroupStockResponse(groupId, afterStock);
+        return deduct(group, unit);
     }
 
     /**
-     * 그룹 재고 직접 수정
+     * 그룹 재고 직접 수정 (트랜잭션은 update 가 경로별로 짧게 연다)
      */
-    @Transactional
     public MenuGroupStockResponse updateStock(Long groupId, int newStock) {
         MenuGroup group = getAuthorizedGroup(groupId);
-        MenuGroupStock stock = getOrCreateStock(group);
-
-        stock.updateStock(newStock);
-
-        log.info("[STOCK][UPDATE] groupId={}, newStock={}", groupId, newStock);
-
-        return new MenuGroupStockResponse(groupId, stock.getStock());
+        return update(group, newStock, null, null);
     }
 
     @Transactional
     public MenuGroupStockResponse deductStockForStore(Long storeId, Long groupId, DeductionUnit unit) {
         MenuGroup group = getAuthorizedGroupForStore(storeId, groupId);
-        int value = unit.getValue();
-        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-
-        MenuGroupStock stock = stockRepository.findByMenuGroupIdForUpdate(groupId)
-                .orElseGet(() -> createStockIfMissing(group, 0));
+        return deduct(group, unit);
+    }
 
-        int beforeStock = stock.getStock();
-        StockDeductResult result = stock.deduct(value, today);
-        int afterStock = stock.getStock();
+    /**
+     * 여러 그룹 재고 일괄 차감 (한 트랜잭션, 하나라도 실패하면 전부 롤백)
+     * - 같은 그룹이 여러 번 오면 수량을 합쳐 한 번에 차감한다.
+     * - groupId 오름차순으로 행을 잡아 동시에 들어온 일괄 차감끼리 교착되지 않는다.
+     * - 임계치 알림은 모든 차감이 끝난 뒤 그룹별 최종 결과로 한 번만 판정해 발행한다.
+     * @return 요청에 처음 등장한 순서대로 그룹별 차감 후 재고
+     */
+    @Transactional
+    public List<MenuGroupStockResponse> deductStocksForStore(Long storeId, List<StockDeductItem> items) {
+        Map<Long, Integer> valueByGroup = new TreeMap<>();
+        for (StockDeductItem item : items) {
+            valueByGroup.merge(item.getGroupId(), item.getDeductionUnit().getValue(), Integer::sum);
+        }
 
-        log.info("[STOCK][DEDUCT] groupId={}, before={}, after={}, unit={}",
-                groupId, beforeStock, afterStock, unit.name());
+        Map<Long, MenuGroup> groups = menuGroupRepository.findByIdIn(new ArrayList<>(valueByGroup.keySet())).stream()
+                .filter(group -> group.getStore().getId().equals(storeId))
+                .collect(Collectors.toMap(MenuGroup::getId, group -> group));
+        if (groups.size() != valueByGroup.size()) {
+            throw new CustomException(MenuErrorCode.MENU_GROUP_NOT_FOUND);
+        }
 
-        if (result.shouldNotify()) {
-            Store store = group.getStore();
+        LocalDate today = LocalDate.now(KST);
+        Map<Long, AppliedDeduction> applied = new HashMap<>();
+        valueByGroup.forEach((groupId, value) ->
+                applied.put(groupId, applyDeduction(groups.get(groupId), value, today)));
 
-            if (result.notifyLowStock30()) {
-                eventPublisher.publishEvent(new LowStock30Event(
-                        store.getId(),
-                        store.getName(),
-                        groupId,
-                        group.getName(),
-                        afterStock
-                ));
-            }
+        applied.forEach((groupId, deduction) -> publishLowStockEvents(groups.get(groupId), deduction));
 
-            // LOW_STOCK_10 알림 비활성화
-            // if (result.notifyLowStock10()) {
-            //     eventPublisher.publishEvent(new LowStockEvent(
-            //             store.getId(),
-            //             store.getName(),
-            //             groupId,
-            //             group.getName(),
-            //             afterStock
-            //     ));
-            // }
-        }
+        return items.stream()
+                .map(StockDeductItem::getGroupId)
+                .distinct()
+                .map(groupId -> new MenuGroupStockResponse(groupId, applied.get(groupId).afterStock()))
+                .toList();
+    }
 
-        return new MenuGroupStockResponse(groupId, afterStock);
+    /**
+     * 매장 그룹 재고 직접 수정
+     * - expectedStock 이 있으면 그 사이 차감분을 유지한 채 변경량만 반영한다.
+     * - expectedVersion 이 있으면 버전이 그대로일 때만 반영한다. (다르면 CONFLICT)
+     * - 둘 다 없으면 stock 으로 덮어쓴다.
+     * 트랜잭션은 update 가 경로별로 짧게 연다. (CAS 재시도가 매번 새로 읽도록 바깥 트랜잭션을 두지 않음)
+     */
+    public MenuGroupStockResponse updateStockForStore(Long storeId, Long groupId, StockUpdateRequest request) {
+        MenuGroup group = getAuthorizedGroupForStore(storeId, groupId);
+        return update(group, request.getStock(), request.getExpectedStock(), request.getExpectedVersion());
     }
 
+    /**
+     * 그룹 재고 분산 슬롯 수 변경 (1 = 단일 행)
+     */
     @Transactional
-    public MenuGroupStockResponse updateStockForStore(Long storeId, Long groupId, int newStock) {
+    public MenuGroupStockSlotResponse updateStockSlotsForStore(Long storeId, Long groupId, int slotCount) {
         MenuGroup group = getAuthorizedGroupForStore(storeId, groupId);
-        MenuGroupStock stock = getOrCreateStock(group);
-
-        stock.updateStock(newStock);
+        if (hotStockLedger.isActive()) {
+            // 장부가 재고를 들고 있는 시간대에는 행 구조를 바꾸지 않는다
+            throw new CustomException(ErrorCode.CONFLICT, "오픈 시간대에는 재고 슬롯을 변경할 수 없습니다.");
+        }
+        MenuGroupStock stock = lockStock(group);
 
-        log.info("[STOCK][UPDATE] groupId={}, newStock={}", groupId, newStock);
+        stockSlotService.changeSlotCount(stock, slotCount);
 
-        return new MenuGroupStockResponse(groupId, stock.getStock());
+        return new MenuGroupStockSlotResponse(groupId, Math.max(1, stock.getSlotCount()), stock.getStock());
     }
 
     /**
@@ -494,6 +552,7 @@ public class MenuGroupService {
 
         menuGroup.initializeStock(request.getCapacityOrDefault());
         menuGroupRepository.save(menuGroup);
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
 
         return MenuGroupDto.from(menuGroup);
     }
@@ -505,7 +564,9 @@ public class MenuGroupService {
     @Transactional
     public GroupDailyMenuResponse updateMenusInGroup(Long groupId, LocalDate date, MenuUpdateRequest request) {
         MenuGroup menuGroup = getAuthorizedGroup(groupId);
-        return upsertGroupDailyMenu(menuGroup, date, request);
+        GroupDailyMenuResponse response = upsertGroupDailyMenu(menuGroup, date, request);
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(menuGroup.getStore().getId()));
+        return response;
     }
 
     @Transactional
@@ -518,6 +579,7 @@ public class MenuGroupService {
         MenuGroup menuGroup = getAuthorizedGroupForStore(storeId, groupId);
         GroupDailyMenuResponse response = upsertGroupDailyMenu(menuGroup, date, request);
 
+        // 주간 메뉴 이벤트도 스냅샷을 갱신하므로, 알림 대상이 아닐 때만 화면 변경 이벤트를 따로 발행
         if (shouldSendImmediateWeeklyUploadAlert(storeId, groupId, date)) {
             LocalDate weekStart = getWeekStart(date);
             String weekKey = weekStart.format(DateTimeFormatter.ISO_DATE);
@@ -531,6 +593,8 @@ public class MenuGroupService {
             eventPublisher.publishEvent(
                     new WeeklyMenuChangedEvent(storeId, List.of(groupId), weekKey, weekStart)
             );
+        } else {
+            eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
         }
 
         return response;
@@ -587,8 +651,183 @@ public class MenuGroupService {
         return menuGroup;
     }
 
-    private MenuGroupStock getOrCreateStock(MenuGroup group) {
-        return stockRepository.findByMenuGroupId(group.getId())
+    /**
+     * 관리자 재고 수정 공통 경로 (바깥 트랜잭션 없이 호출)
+     * - 장부 시간대: 장부에서 원자적으로 계산/반영 (버전 기준 수정은 지원하지 않음)
+     * - 단일 행: 행 잠금 없이 버전 CAS, 차감과 경합하면 시도마다 새 트랜잭션에서 다시 읽어 재시도
+     * - 분산 모드(또는 재고 행이 아직 없음): 기존처럼 한 트랜잭션에서 행/슬롯을 잠그고 모아서 수정
+     * 재고 변경 이벤트는 반영이 커밋된 뒤 발행한다.
+     */
+    private MenuGroupStockResponse update(MenuGroup group, int newStock, Integer expectedStock, Long expectedVersion) {
+        Long groupId = group.getId();
+        IntUnaryOperator target = expectedStock == null
+                ? current -> newStock
+                : current -> current + (newStock - expectedStock);
+
+        if (expectedVersion != null && hotStockLedger.isActive()) {
+            throw new CustomException(ErrorCode.CONFLICT, "오픈 시간대에는 버전 기준으로 재고를 수정할 수 없습니다.");
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        MenuGroupStockResponse response = updateWithoutLock(tx, groupId, target, expectedVersion)
+                .orElseGet(() -> tx.execute(status -> updateLocked(groupId, target, expectedVersion)));
+        eventPublisher.publishEvent(StockChangedEvent.ofGroup(group.getStore().getId(), groupId));
+        return response;
+    }
+
+    // 장부 또는 단일 행 CAS 로 반영 (분산 모드이거나 재고 행이 없으면 empty → 행 잠금 경로)
+    private Optional<MenuGroupStockResponse> updateWithoutLock(
+            TransactionTemplate tx, Long groupId, IntUnaryOperator target, Long expectedVersion) {
+        Optional<Integer> hot = tx.execute(status -> hotStockLedger.update(groupId, target));
+        if (hot.isPresent()) {
+            log.info("[STOCK][UPDATE][LEDGER] groupId={}, newStock={}", groupId, hot.get());
+            return Optional.of(new MenuGroupStockResponse(groupId, hot.get()));
+        }
+        if (stockSlotService.isStriped(groupId)) {
+            return Optional.empty();
+        }
+        return stockCasUpdater.update(groupId, target, expectedVersion).map(applied -> {
+            log.info("[STOCK][UPDATE] groupId={}, before={}, after={}, version={}",
+                    groupId, applied.before(), applied.after(), applied.version());
+            return new MenuGroupStockResponse(groupId, applied.after(), applied.version());
+        });
+    }
+
+    private MenuGroupStockResponse updateLocked(Long groupId, IntUnaryOperator target, Long expectedVersion) {
+        MenuGroup group = menuGroupRepository.findById(groupId)
+                .orElseThrow(() -> new CustomException(MenuErrorCode.MENU_GROUP_NOT_FOUND));
+        MenuGroupStock stock = lockStock(group);
+        if (expectedVersion != null && !expectedVersion.equals(stock.getVersion())) {
+            throw new CustomException(ErrorCode.CONFLICT, "재고가 그 사이 변경되었습니다. 새로 고친 뒤 다시 시도해 주세요.");
+        }
+
+        List<MenuGroupStockSlot> slots = gatherSlotsIfStriped(stock);
+        stock.updateStock(Math.max(0, target.applyAsInt(stock.getStock())));
+        spreadSlotsIfStriped(stock, slots);
+
+        log.info("[STOCK][UPDATE] groupId={}, newStock={}", groupId, stock.getStock());
+
+        return new MenuGroupStockResponse(groupId, stock.getStock());
+    }
+
+    // 인메모리 장부 시간대 차감 (장부가 관리하지 않으면 empty → DB 경로)
+    private Optional<MenuGroupStockResponse> deductFromLedger(Long groupId, int value) {
+        return hotStockLedger.adminDeduct(groupId, value).map(deduction -> {
+            if (!deduction.deducted()) {
+                throw new CustomException(MenuErrorCode.INSUFFICIENT_STOCK);
+            }
+            log.info("[STOCK][DEDUCT][LEDGER] groupId={}, before={}, after={}, value={}",
+                    groupId, deduction.before(), deduction.after(), value);
+            return new MenuGroupStockResponse(groupId, deduction.after());
+        });
+    }
+
+    // 오늘 메뉴에 차감 속도 기반 예상 소진 시각을 붙인다 (예측할 수 없으면 null 유지)
+    private MenuGroupDto withSellOutEta(MenuGroupDto dto) {
+        return sellOutPredictor.predictSellOutAt(dto.getId(), dto.getStock())
+                .map(at -> dto.toBuilder().predictedSellOutAt(at).build())
+                .orElse(dto);
+    }
+
+    private StoreTodayMenuGroupDto withSellOutEta(StoreTodayMenuGroupDto dto) {
+        return sellOutPredictor.predictSellOutAt(dto.getId(), dto.getStock())
+                .map(at -> dto.toBuilder().predictedSellOutAt(at).build())
+                .orElse(dto);
+    }
+
+    private MenuGroupStockResponse deduct(MenuGroup group, DeductionUnit unit) {
+        AppliedDeduction applied = applyDeduction(group, unit.getValue(), LocalDate.now(KST));
+        publishLowStockEvents(group, applied);
+        return new MenuGroupStockResponse(group.getId(), applied.afterStock());
+    }
+
+    // 차감 결과 (장부 경로는 장부가 알림까지 처리하므로 result 는 알림 없음)
+    private record AppliedDeduction(int afterStock, StockDeductResult result) {
+    }
+
+    private AppliedDeduction applyDeduction(MenuGroup group, int value, LocalDate today) {
+        Long groupId = group.getId();
+
+        Optional<MenuGroupStockResponse> hot = deductFromLedger(groupId, value);
+        eventPublisher.publishEvent(StockChangedEvent.ofDeduction(group.getStore().getId(), groupId, value));
+        if (hot.isPresent()) {
+            return new AppliedDeduction(hot.get().getStock(), new StockDeductResult(false, false));
+        }
+
+        int afterStock;
+        StockDeductResult result;
+        if (stockSlotService.isStriped(groupId)) {
+            // 분산 모드는 그룹 재고가 여러 행에 나뉘어 있어 기존처럼 잠그고 모아서 차감
+            MenuGroupStock stock = lockStock(group);
+
+            List<MenuGroupStockSlot> slots = gatherSlotsIfStriped(stock);
+            result = stock.deduct(value, today);
+            afterStock = stock.getStock();
+            spreadSlotsIfStriped(stock, slots);
+        } else {
+            if (stockRepository.deductStockIfAvailable(groupId, value) == 0) {
+                throw new CustomException(MenuErrorCode.INSUFFICIENT_STOCK);
+            }
+            // 차감 UPDATE 가 행을 잡고 있으므로 직후 읽은 재고에 차감 수량을 더한 값이 차감 전 재고다
+            StockDeductOutcome outcome = stockRepository.findDeductOutcome(groupId)
+                    .orElseThrow(() -> new CustomException(MenuErrorCode.INSUFFICIENT_STOCK));
+            afterStock = outcome.stock();
+            Integer lastNotified = today.equals(outcome.lastNotifiedDate()) ? outcome.lastNotifiedThreshold() : null;
+            result = LowStockThreshold.evaluate(afterStock + value, afterStock, lastNotified);
+            if (result.shouldNotify()) {
+                stockRepository.recordDeductThreshold(groupId, LowStockThreshold.next(result, lastNotified), today);
+            }
+        }
+
+        log.info("[STOCK][DEDUCT] groupId={}, before={}, after={}, value={}",
+                groupId, afterStock + value, afterStock, value);
+
+        return new AppliedDeduction(afterStock, result);
+    }
+
+    private void publishLowStockEvents(MenuGroup group, AppliedDeduction applied) {
+        StockDeductResult result = applied.result();
+        if (!result.shouldNotify()) {
+            return;
+        }
+        Store store = group.getStore();
+
+        // 30 임계치 하향 돌파 알림 이벤트
+        if (result.notifyLowStock30()) {
+            eventPublisher.publishEvent(new LowStock30Event(
+                    store.getId(),
+                    store.getName(),
+                    group.getId(),
+                    group.getName(),
+                    applied.afterStock()
+            ));
+        }
+
+        // LOW_STOCK_10 알림 비활성화
+        // if (result.notifyLowStock10()) {
+        //     eventPublisher.publishEvent(new LowStockEvent(
+        //             store.getId(),
+        //             store.getName(),
+        //             group.getId(),
+        //             group.getName(),
+        //             applied.afterStock()
+        //     ));
+        // }
+    }
+
+    // 분산 모드면 슬롯을 잠그고 그룹 행으로 모은다 (단일 행이면 아무것도 하지 않음)
+    private List<MenuGroupStockSlot> gatherSlotsIfStriped(MenuGroupStock stock) {
+        return stock.isStriped() ? stockSlotService.gather(stock) : List.of();
+    }
+
+    private void spreadSlotsIfStriped(MenuGroupStock stock, List<MenuGroupStockSlot> slots) {
+        if (stock.isStriped()) {
+            stockSlotService.spread(stock, slots);
+        }
+    }
+
+    // 그룹 재고 행을 잠그고 최신 값으로 다시 읽는다 (행이 없으면 생성)
+    private MenuGroupStock lockStock(MenuGroup group) {
+        return stockSlotService.lockGroupStock(group.getId())
                 .orElseGet(() -> createStockIfMissing(group, 0));
     }
 
@@ -797,6 +1036,7 @@ public class MenuGroupService {
         }
 
         menuGroupRepository.delete(menuGroup);
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(menuGroup.getStore().getId()));
     }
 
 }
@@ -0,0 +1,119 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.menu.domain.LowStockThreshold;
+import com._1000meal.menu.dto.StockVersionSnapshot;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 관리자 재고 수정 CAS (단일 행 그룹 전용, 행 잠금 없음)
+ * - 재고/버전을 읽고 목표 재고를 계산한 뒤 "버전이 그대로일 때만" 한 문장으로 바꾼다.
+ * - 그 사이 QR/관리자 차감이 끼어들면 버전이 달라 실패하고, 새로 읽어 다시 계산한다. (max-attempts 까지)
+ * - 시도마다 짧은 새 트랜잭션에서 읽는다. (REPEATABLE READ 에서 같은 트랜잭션 재조회는 옛 값을 본다)
+ *   그래서 바깥 트랜잭션 없이 호출해야 한다. (바깥 트랜잭션과 따로 커밋되고 커넥션도 하나 더 잡으므로)
+ */
+@Slf4j
+@Component
+public class MenuGroupStockCasUpdater {
+
+    private final MenuGroupStockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public MenuGroupStockCasUpdater(
+            MenuGroupStockRepository stockRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${menu.stock.update.max-attempts:5}") int maxAttempts,
+            @Value("${menu.stock.update.backoff-ms:10}") long backoffMillis
+    ) {
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = Math.max(0, backoffMillis);
+    }
+
+    /**
+     * CAS 반영 결과
+     * @param before 반영 직전 재고
+     * @param after 반영 후 재고
+     * @param version 반영 후 버전
+     */
+    public record Applied(int before, int after, long version) {
+    }
+
+    /**
+     * 현재 재고에서 목표 재고를 계산해 CAS 로 반영한다.
+     * @param target 현재 재고 → 목표 재고 (음수면 0)
+     * @param expectedVersion 주어지면 이 버전일 때만 한 번 시도하고, 다르면 재시도 없이 CONFLICT
+     * @return 재고 행이 없으면 empty
+     * @throws CustomException 재시도를 모두 실패했거나 expectedVersion 이 다를 때 (CONFLICT)
+     */
+    public Optional<Applied> update(Long menuGroupId, IntUnaryOperator target, Long expectedVersion) {
+        for (int attempt = 1; ; attempt++) {
+            Attempt result = transactionTemplate.execute(status -> attempt(menuGroupId, target, expectedVersion));
+            if (result.missing()) {
+                return Optional.empty();
+            }
+            if (result.applied() != null) {
+                return Optional.of(result.applied());
+            }
+            if (expectedVersion != null) {
+                throw new CustomException(ErrorCode.CONFLICT, "재고가 그 사이 변경되었습니다. 새로 고친 뒤 다시 시도해 주세요.");
+            }
+            if (attempt >= maxAttempts) {
+                log.warn("[STOCK][UPDATE][CAS] retries exhausted. groupId={}, attempts={}", menuGroupId, attempt);
+                throw new CustomException(ErrorCode.CONFLICT, "재고가 계속 변경되고 있어 수정하지 못했습니다. 다시 시도해 주세요.");
+            }
+            log.debug("[STOCK][UPDATE][CAS] lost race, retrying. groupId={}, attempt={}", menuGroupId, attempt);
+            backoff(attempt);
+        }
+    }
+
+    private Attempt attempt(Long menuGroupId, IntUnaryOperator target, Long expectedVersion) {
+        Optional<StockVersionSnapshot> found = stockRepository.findVersionSnapshot(menuGroupId);
+        if (found.isEmpty()) {
+            return Attempt.MISSING;
+        }
+        StockVersionSnapshot current = found.get();
+        if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+            return Attempt.LOST;
+        }
+
+        int newStock = Math.max(0, target.applyAsInt(current.stock()));
+        Integer threshold = LowStockThreshold.afterUpdate(newStock, current.lastNotifiedThreshold());
+        if (stockRepository.compareAndSetStock(menuGroupId, current.version(), newStock, threshold) == 0) {
+            return Attempt.LOST;
+        }
+        return new Attempt(false, new Applied(current.stock(), newStock, current.version() + 1));
+    }
+
+    // 경합이 계속되면 조금씩 더 기다린다 (시도 횟수 비례)
+    private void backoff(int attempt) {
+        if (backoffMillis == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMillis * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.CONFLICT, "재고 수정이 중단되었습니다.");
+        }
+    }
+
+    private record Attempt(boolean missing, Applied applied) {
+        private static final Attempt MISSING = new Attempt(true, null);
+        private static final Attempt LOST = new Attempt(false, null);
+    }
+}
@@ -1,12 +1,16 @@
 package com._1000meal.menu.service;
 
 import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.domain.MenuGroupStockSlot;
+import com._1000meal.menu.dto.StockResetCounts;
+import com._1000meal.menu.event.StockChangedEvent;
 import com._1000meal.menu.repository.MenuGroupDayCapacityRepository;
 import com._1000meal.menu.repository.MenuGroupStockRepository;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,18 +29,31 @@ public class MenuGroupStockResetService {
 
     private final MenuGroupStockRepository menuGroupStockRepository;
     private final MenuGroupDayCapacityRepository menuGroupDayCapacityRepository;
+    private final MenuGroupStockSlotService menuGroupStockSlotService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * 일일 재고 리셋
+     * - 단일 행 그룹: 요일별 지정 수량을 조인한 UPDATE 한 문장 + 집계 조회 한 번
+     * - 분산 모드 그룹(소수): 슬롯을 모아 리셋한 뒤 다시 균등 분배
+     */
     @Transactional
     public StockResetSummary resetAllStocksToCapacity() {
-        List<MenuGroupStock> stocks = menuGroupStockRepository.findAll();
         DayOfWeek today = LocalDate.now(KST).getDayOfWeek();
 
-        int resetCount = 0;
-        int skipCount = 0;
+        StockResetCounts counts = menuGroupStockRepository.countResetTargets(today);
+        int resetCount = menuGroupStockRepository.resetSingleRowStocksToCapacity(today);
+        int skipCount = (int) counts.skipped();
+        if (skipCount > 0) {
+            log.warn("[STOCK][RESET][SKIP] count={}, reason=invalid_capacity", skipCount);
+        }
+        log.info("[STOCK][RESET][APPLY] singleRowGroups={}, reset={}", counts.total(), resetCount);
+
+        List<MenuGroupStock> stripedStocks = menuGroupStockRepository.findAllStriped();
         int exceptionCount = 0;
         List<String> exceptionSummaries = new ArrayList<>();
 
-        for (MenuGroupStock stock : stocks) {
+        for (MenuGroupStock stock : stripedStocks) {
             Long groupId = stock.getMenuGroup() != null ? stock.getMenuGroup().getId() : null;
             int capacity = menuGroupDayCapacityRepository.findByMenuGroupIdAndDayOfWeek(groupId, today)
                     .map(dc -> dc.getCapacity())
@@ -50,7 +67,10 @@ public class MenuGroupStockResetService {
             }
 
             try {
+                // 분산 모드: 슬롯을 모아 리셋한 뒤 다시 균등 분배
+                List<MenuGroupStockSlot> slots = menuGroupStockSlotService.gather(stock);
                 stock.resetTo(capacity);
+                menuGroupStockSlotService.spread(stock, slots);
                 resetCount++;
                 log.info("[STOCK][RESET][APPLY] groupId={}, stock={}, capacity={}",
                         groupId, stock.getStock(), capacity);
@@ -62,8 +82,10 @@ public class MenuGroupStockResetService {
             }
         }
 
+        eventPublisher.publishEvent(StockChangedEvent.ofAll());
+
         StockResetSummary summary = StockResetSummary.builder()
-                .totalCount(stocks.size())
+                .totalCount((int) counts.total() + stripedStocks.size())
                 .resetCount(resetCount)
                 .skipCount(skipCount)
                 .exceptionCount(exceptionCount)
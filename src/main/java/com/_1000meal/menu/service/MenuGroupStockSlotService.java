@@ -0,0 +1,215 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.domain.MenuGroupStockSlot;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSlotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 재고 분산(슬롯) 모드
+ * - 인기 그룹의 재고를 N개 행으로 나눠 QR 차감이 하나의 InnoDB 행 락에 몰리지 않게 한다.
+ * - 슬롯 0 = menu_group_stock.stock, 슬롯 1 ~ N-1 = menu_group_stock_slot
+ *   (분산 여부를 아직 모르는 인스턴스는 슬롯 0 만 차감하므로 초과 판매는 생기지 않는다)
+ * - 관리자 수정/리셋은 슬롯을 모두 잠그고 합친 뒤 다시 나눈다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuGroupStockSlotService {
+
+    public static final int MAX_SLOT_COUNT = 16;
+
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final MenuGroupStockSlotRepository menuGroupStockSlotRepository;
+    private final EntityManager entityManager;
+
+    // menuGroupId -> slotCount (분산 모드 그룹만)
+    private final Map<Long, Integer> slotCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 재고 1 차감 (호출 측 트랜잭션 안에서 실행)
+     * - 잠그지 않는 조회로 재고가 남은 슬롯을 고르고, 그중 임의 슬롯 하나만 조건부 UPDATE 로 잠근다.
+     * - 고른 슬롯이 그 사이 비었거나 후보가 없으면 gather 와 같은 순서(슬롯 0 → 1 → ...)로 차례대로 시도한다.
+     *   관리자 수정(그룹 행 → 슬롯 오름차순)과 잠금 순서가 어긋나는 경우를 경합 직후 한 번으로 줄인다.
+     * @return 차감된 행 수 (0 이면 품절)
+     */
+    public int decrementStockIfAvailable(Long menuGroupId) {
+        int slots = slotCounts.getOrDefault(menuGroupId, 1);
+        if (slots <= 1) {
+            return menuGroupStockRepository.decrementStockIfAvailable(menuGroupId);
+        }
+
+        List<Integer> candidates = candidateSlots(menuGroupId, slots);
+        Integer picked = null;
+        if (!candidates.isEmpty()) {
+            picked = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+            int updated = decrementSlot(menuGroupId, picked);
+            if (updated > 0) {
+                return updated;
+            }
+        }
+
+        for (int slotNo = 0; slotNo < slots; slotNo++) {
+            if (picked != null && slotNo == picked) {
+                continue;
+            }
+            int updated = decrementSlot(menuGroupId, slotNo);
+            if (updated > 0) {
+                return updated;
+            }
+        }
+        return 0;
+    }
+
+    private List<Integer> candidateSlots(Long menuGroupId, int slots) {
+        List<Integer> candidates = new ArrayList<>();
+        if (menuGroupStockRepository.findStockValueByMenuGroupId(menuGroupId).orElse(0) > 0) {
+            candidates.add(0);
+        }
+        for (Integer slotNo : menuGroupStockSlotRepository.findSlotNosWithStock(menuGroupId)) {
+            if (slotNo < slots) {
+                candidates.add(slotNo);
+            }
+        }
+        return candidates;
+    }
+
+    private int decrementSlot(Long menuGroupId, int slotNo) {
+        return slotNo == 0
+                ? menuGroupStockRepository.decrementStockIfAvailable(menuGroupId)
+                : menuGroupStockSlotRepository.decrementStockIfAvailable(menuGroupId, slotNo);
+    }
+
+    public boolean isStriped(Long menuGroupId) {
+        return slotCounts.getOrDefault(menuGroupId, 1) > 1;
+    }
+
+    /**
+     * 그룹 재고 행을 잠그고 DB 의 최신 값으로 다시 읽는다. (gather/차감/수정 전에 호출)
+     * 같은 트랜잭션에서 MenuGroup 을 읽을 때 1:1 로 함께 적재된 재고 엔티티가 있으면,
+     * 잠금 조회(findByMenuGroupIdForUpdate)는 행만 잠그고 그 엔티티를 잠금 전 값 그대로 돌려준다.
+     * 그 값으로 계산해 저장하면 사이에 커밋된 슬롯 0 차감을 덮어쓰므로 잠금과 함께 refresh 한다.
+     * @return 재고 행이 없으면 empty
+     */
+    public Optional<MenuGroupStock> lockGroupStock(Long menuGroupId) {
+        Optional<MenuGroupStock> found = menuGroupStockRepository.findByMenuGroupId(menuGroupId);
+        found.ifPresent(stock -> entityManager.refresh(stock, LockModeType.PESSIMISTIC_WRITE));
+        return found;
+    }
+
+    /**
+     * 슬롯을 잠그고 재고를 그룹 행으로 모은다.
+     * 호출 측은 그룹 행을 이미 잠근 상태({@link #lockGroupStock(Long)})여야 하며, 변경 후 {@link #spread(MenuGroupStock, List)} 를 호출한다.
+     */
+    public List<MenuGroupStockSlot> gather(MenuGroupStock stock) {
+        List<MenuGroupStockSlot> slots =
+                menuGroupStockSlotRepository.findByMenuGroupIdForUpdate(stock.getMenuGroup().getId());
+        int slotTotal = 0;
+        for (MenuGroupStockSlot slot : slots) {
+            slotTotal += slot.getStock();
+            slot.assign(0);
+        }
+        stock.gatherSlots(slotTotal);
+        return slots;
+    }
+
+    /**
+     * 그룹 행에 모인 재고를 슬롯 수만큼 균등하게 나눈다. (나머지는 앞 슬롯부터)
+     */
+    public void spread(MenuGroupStock stock, List<MenuGroupStockSlot> slots) {
+        int slotCount = Math.max(1, stock.getSlotCount());
+        int total = stock.getStock();
+        int base = total / slotCount;
+        int remainder = total % slotCount;
+
+        int distributed = 0;
+        for (MenuGroupStockSlot slot : slots) {
+            int share = base + (slot.getSlotNo() < remainder ? 1 : 0);
+            slot.assign(share);
+            distributed += share;
+        }
+        stock.keepShare(total - distributed, distributed);
+    }
+
+    /**
+     * 분산 슬롯 수 변경 (1 = 단일 행으로 복귀)
+     */
+    @Transactional
+    public MenuGroupStock changeSlotCount(MenuGroupStock stock, int slotCount) {
+        Long groupId = stock.getMenuGroup().getId();
+        int target = Math.max(1, Math.min(slotCount, MAX_SLOT_COUNT));
+
+        List<MenuGroupStockSlot> slots = gather(stock);
+        List<MenuGroupStockSlot> kept = new ArrayList<>();
+        List<MenuGroupStockSlot> removed = new ArrayList<>();
+        for (MenuGroupStockSlot slot : slots) {
+            (slot.getSlotNo() < target ? kept : removed).add(slot);
+        }
+        for (int slotNo = kept.size() + 1; slotNo < target; slotNo++) {
+            kept.add(menuGroupStockSlotRepository.save(MenuGroupStockSlot.of(groupId, slotNo, 0)));
+        }
+        menuGroupStockSlotRepository.deleteAll(removed);
+
+        stock.changeSlotCount(target > 1 ? target : 0);
+        spread(stock, kept);
+
+        log.info("[STOCK][SLOT] groupId={}, slotCount={}, stock={}", groupId, target, stock.getStock());
+        afterCommit(() -> register(groupId, target));
+        return stock;
+    }
+
+    /**
+     * 분산 모드 그룹 목록 로드 (기동 시 + 주기적으로 다른 인스턴스 변경 반영)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 */10 * * * *", zone = "Asia/Seoul")
+    @Transactional(readOnly = true)
+    public void reload() {
+        Map<Long, Integer> loaded = new ConcurrentHashMap<>();
+        for (MenuGroupStock stock : menuGroupStockRepository.findAllStriped()) {
+            loaded.put(stock.getMenuGroup().getId(), stock.getSlotCount());
+        }
+        slotCounts.keySet().retainAll(loaded.keySet());
+        slotCounts.putAll(loaded);
+        log.info("[STOCK][SLOT] reloaded. stripedGroups={}", loaded.size());
+    }
+
+    private void register(Long groupId, int slotCount) {
+        if (slotCount > 1) {
+            slotCounts.put(groupId, slotCount);
+        } else {
+            slotCounts.remove(groupId);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
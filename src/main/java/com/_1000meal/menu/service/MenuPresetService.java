@@ -12,8 +12,10 @@ import com._1000meal.menu.dto.MenuPresetSummaryResponse;
 import com._1000meal.menu.repository.MenuGroupRepository;
 import com._1000meal.menu.repository.MenuPresetRepository;
 import com._1000meal.store.domain.Store;
+import com._1000meal.store.event.StoreViewChangedEvent;
 import com._1000meal.store.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +29,7 @@ public class MenuPresetService {
     private final MenuGroupRepository menuGroupRepository;
     private final StoreRepository storeRepository;
     private final CurrentAccountProvider currentAccountProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public MenuPresetDetailResponse create(Long storeId, Long groupId, MenuPresetCreateRequest request) {
@@ -48,6 +51,7 @@ public class MenuPresetService {
                 .build();
 
         MenuPreset saved = menuPresetRepository.save(preset);
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
         return MenuPresetDetailResponse.from(saved);
     }
 
@@ -84,6 +88,7 @@ public class MenuPresetService {
         MenuPreset preset = menuPresetRepository.findByIdAndStoreIdAndGroupId(presetId, storeId, groupId)
                 .orElseThrow(() -> new CustomException(MenuErrorCode.MENU_PRESET_NOT_FOUND));
         menuPresetRepository.delete(preset);
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
     }
 
     private void validateStoreAccess(Long storeId) {
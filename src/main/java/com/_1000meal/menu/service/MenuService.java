@@ -20,9 +20,11 @@ import com._1000meal.menu.repository.MenuGroupRepository;
 import com._1000meal.menu.repository.MenuRepository;
 import com._1000meal.menu.repository.WeeklyMenuRepository;
 import com._1000meal.store.domain.Store;
+import com._1000meal.store.event.StoreViewChangedEvent;
 import com._1000meal.store.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +45,7 @@ public class MenuService {
     private final MenuGroupRepository menuGroupRepository;
     private final MenuRepository menuRepository;
     private final MenuGroupService menuGroupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public WeeklyMenuResponse getWeeklyMenu(Long storeId, LocalDate date) {
@@ -171,6 +174,7 @@ public class MenuService {
                 dm.addMenuGroup(defaultGroup);
                 menuGroupRepository.save(defaultGroup);
             }
+            eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(store.getId()));
         }
     }
 
@@ -212,10 +216,10 @@ public class MenuService {
         LocalDate weekStart = effectiveDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
         LocalDate weekEnd = weekStart.plusDays(6);
 
+        // 월~금을 한 번에 읽어 메모리에서 날짜별로 조립 (날짜마다 따로 조회하지 않음)
         List<DailyMenuGroupResponse> dailyResponses = new ArrayList<>(5);
-        for (int i = 0; i < 5; i++) {
-            LocalDate d = weekStart.plusDays(i);
-            DailyMenuWithGroupsDto dailyDto = menuGroupService.getMenuGroups(storeId, d);
+        for (DailyMenuWithGroupsDto dailyDto : menuGroupService.getMenuGroupsForRange(storeId, weekStart, weekStart.plusDays(4))) {
+            LocalDate d = dailyDto.getDate();
 
             List<MenuGroupResponse> groupResponses = dailyDto.getGroups().stream()
                     .map(MenuGroupResponse::from)
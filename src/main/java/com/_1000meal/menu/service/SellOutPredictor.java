@@ -0,0 +1,202 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.event.SellOutImminentEvent;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 그룹 재고 소진 예측
+ * - 차감(QR 이용, 관리자 차감)이 커밋될 때마다 그룹별 차감 속도를 지수 가중 이동 평균(EWMA)으로 갱신한다.
+ *   가중치 = 차감량 합, 시간이 Δt 지나면 e^(-Δt/window) 로 줄어든다. → 분당 속도 = 가중치 / window(분)
+ * - 예상 소진 시각 = 지금 + 현재 재고 / 분당 속도 (속도가 min-rate-per-minute 미만이면 예측하지 않음)
+ * - evaluate-ms 마다 직전 판정 이후 재고가 바뀐 그룹만 현재 재고를 읽어, 소진까지 imminent-minutes 이하로 남은 그룹에
+ *   SellOutImminentEvent 를 하루 한 번 발행한다.
+ *   (차감이 없는 동안에는 속도만 줄어 예상 소진 시간이 늘어나므로, 바뀌지 않은 그룹은 새로 임박해질 수 없다)
+ * - 일일 리셋(ALL)/영업 종료(STORES) 시 해당 그룹의 속도를 버린다.
+ */
+@Slf4j
+@Component
+public class SellOutPredictor {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final double MILLIS_PER_MINUTE = 60_000d;
+
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final HotStockLedger hotStockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double windowMillis;
+    private final double minRatePerMinute;
+    private final double imminentMinutes;
+
+    private final Map<Long, Rate> rates = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyGroups = ConcurrentHashMap.newKeySet();
+
+    public SellOutPredictor(
+            MenuGroupStockRepository menuGroupStockRepository,
+            HotStockLedger hotStockLedger,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${menu.stock.eta.window-minutes:5}") double windowMinutes,
+            @Value("${menu.stock.eta.min-rate-per-minute:0.2}") double minRatePerMinute,
+            @Value("${menu.stock.eta.imminent-minutes:15}") double imminentMinutes
+    ) {
+        this.menuGroupStockRepository = menuGroupStockRepository;
+        this.hotStockLedger = hotStockLedger;
+        this.eventPublisher = eventPublisher;
+        this.windowMillis = Math.max(1d, windowMinutes) * MILLIS_PER_MINUTE;
+        this.minRatePerMinute = minRatePerMinute;
+        this.imminentMinutes = imminentMinutes;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        switch (event.scope()) {
+            case GROUPS -> {
+                if (event.deducted() > 0) {
+                    long now = System.currentTimeMillis();
+                    Long storeId = event.storeIds().get(0);
+                    event.groupIds().forEach(groupId -> record(storeId, groupId, event.deducted(), now));
+                } else {
+                    // 관리자 재고 수정 등으로 재고만 줄어든 경우도 다시 판정
+                    event.groupIds().stream().filter(rates::containsKey).forEach(dirtyGroups::add);
+                }
+            }
+            case STORES -> rates.values().removeIf(rate -> event.storeIds().contains(rate.storeId()));
+            case ALL -> {
+                rates.clear();
+                dirtyGroups.clear();
+            }
+        }
+    }
+
+    /**
+     * 예상 소진 시각 (재고가 없거나 차감 속도가 너무 느리면 empty)
+     */
+    public Optional<LocalDateTime> predictSellOutAt(Long groupId, Integer stock) {
+        if (stock == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        OptionalDouble minutes = minutesToSellOut(groupId, stock, now);
+        if (minutes.isEmpty()) {
+            return Optional.empty();
+        }
+        long sellOutMillis = now + Math.round(minutes.getAsDouble() * MILLIS_PER_MINUTE);
+        return Optional.of(LocalDateTime.ofInstant(Instant.ofEpochMilli(sellOutMillis), KST).withNano(0));
+    }
+
+    /**
+     * 소진 임박 그룹 판정: 속도가 붙은 그룹의 현재 재고만 읽는다.
+     */
+    @Scheduled(fixedDelayString = "${menu.stock.eta.evaluate-ms:30000}")
+    public void evaluate() {
+        evaluate(System.currentTimeMillis());
+    }
+
+    void evaluate(long nowMillis) {
+        LocalDate today = today(nowMillis);
+        rates.values().removeIf(rate -> !today.equals(rate.day()));
+
+        List<Long> watched = new ArrayList<>();
+        for (Long groupId : dirtyGroups) {
+            if (!dirtyGroups.remove(groupId)) {
+                continue;
+            }
+            Rate rate = rates.get(groupId);
+            if (rate != null && !rate.announced() && ratePerMinute(rate, nowMillis) >= minRatePerMinute) {
+                watched.add(groupId);
+            }
+        }
+        if (watched.isEmpty()) {
+            return;
+        }
+
+        List<StockDelta> stocks = hotStockLedger.overlay(menuGroupStockRepository.findStockDeltasByGroupIds(watched));
+        for (StockDelta stock : stocks) {
+            Rate rate = rates.get(stock.groupId());
+            if (rate == null || rate.announced()) {
+                continue;
+            }
+            OptionalDouble minutes = minutesToSellOut(stock.groupId(), stock.stock(), nowMillis);
+            if (minutes.isEmpty() || minutes.getAsDouble() > imminentMinutes) {
+                continue;
+            }
+            // announced 는 이 스케줄 스레드만 켜므로 그대로 표시 후 발행
+            rates.computeIfPresent(stock.groupId(), (id, current) -> current.announce());
+            long minutesLeft = (long) Math.ceil(minutes.getAsDouble());
+            log.info("[STOCK][ETA] sell-out imminent. storeId={}, groupId={}, stock={}, minutes={}",
+                    stock.storeId(), stock.groupId(), stock.stock(), minutesLeft);
+            eventPublisher.publishEvent(new SellOutImminentEvent(
+                    stock.storeId(), stock.groupId(), stock.stock(), minutesLeft));
+        }
+    }
+
+    void record(Long storeId, Long groupId, int units, long nowMillis) {
+        LocalDate today = today(nowMillis);
+        rates.compute(groupId, (id, rate) -> {
+            Rate current = (rate == null || !today.equals(rate.day())) ? Rate.start(storeId, today, nowMillis) : rate;
+            return current.add(units, nowMillis, windowMillis);
+        });
+        dirtyGroups.add(groupId);
+    }
+
+    OptionalDouble minutesToSellOut(Long groupId, int stock, long nowMillis) {
+        Rate rate = rates.get(groupId);
+        if (stock <= 0 || rate == null || !today(nowMillis).equals(rate.day())) {
+            return OptionalDouble.empty();
+        }
+        double perMinute = ratePerMinute(rate, nowMillis);
+        if (perMinute < minRatePerMinute) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(stock / perMinute);
+    }
+
+    private double ratePerMinute(Rate rate, long nowMillis) {
+        return rate.decayed(nowMillis, windowMillis) * MILLIS_PER_MINUTE / windowMillis;
+    }
+
+    private static LocalDate today(long nowMillis) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(nowMillis), KST);
+    }
+
+    private record Rate(Long storeId, LocalDate day, double weight, long lastMillis, boolean announced) {
+
+        private static Rate start(Long storeId, LocalDate day, long nowMillis) {
+            return new Rate(storeId, day, 0d, nowMillis, false);
+        }
+
+        private Rate add(int units, long nowMillis, double windowMillis) {
+            return new Rate(storeId, day, decayed(nowMillis, windowMillis) + units,
+                    Math.max(lastMillis, nowMillis), announced);
+        }
+
+        private Rate announce() {
+            return new Rate(storeId, day, weight, lastMillis, true);
+        }
+
+        private double decayed(long nowMillis, double windowMillis) {
+            long elapsed = Math.max(0L, nowMillis - lastMillis);
+            return weight * Math.exp(-elapsed / windowMillis);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 그룹 재고 SSE 스트림
+ * - 재고 변경(StockChangedEvent)은 커밋 후 "바뀐 그룹" 표시만 하고, coalesce-ms 마다 현재 재고를 한 번 읽어 보낸다.
+ *   → 그룹당 병합 주기마다 최대 1건
+ * - 연결마다 보낼 항목을 그룹별 최신 값 하나로만 들고 있고(그룹 수로 상한),
+ *   전송이 max-stalled-ticks 주기 넘게 밀리면 연결을 끊는다. (클라이언트는 재연결 후 스냅샷부터 다시 받음)
+ * - 전송은 별도 스레드에서 하므로 느린 연결이 다른 연결이나 병합 주기를 막지 않는다.
+ */
+@Slf4j
+@Component
+public class StockStreamService {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String STOCK_EVENT = "stock";
+
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final HotStockLedger hotStockLedger;
+    private final long timeoutMillis;
+    private final int maxStalledTicks;
+    private final ExecutorService sender;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyGroups = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyStores = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dirtyAll = new AtomicBoolean();
+
+    private final Counter droppedCounter;
+
+    public StockStreamService(
+            MenuGroupStockRepository menuGroupStockRepository,
+            HotStockLedger hotStockLedger,
+            MeterRegistry meterRegistry,
+            @Value("${menu.stock.stream.timeout-ms:600000}") long timeoutMillis,
+            @Value("${menu.stock.stream.max-stalled-ticks:20}") int maxStalledTicks,
+            @Value("${menu.stock.stream.sender-threads:2}") int senderThreads
+    ) {
+        this.menuGroupStockRepository = menuGroupStockRepository;
+        this.hotStockLedger = hotStockLedger;
+        this.timeoutMillis = timeoutMillis;
+        this.maxStalledTicks = Math.max(1, maxStalledTicks);
+        AtomicInteger threadNo = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "stock-stream-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        meterRegistry.gaugeCollectionSize("menu.stock.stream.subscribers", List.of(), subscribers);
+        this.droppedCounter = meterRegistry.counter("menu.stock.stream.dropped");
+    }
+
+    /**
+     * 구독 시작: 범위(매장 또는 전체)의 현재 재고 스냅샷을 먼저 보내고 이후 변경분을 보낸다.
+     * @param storeId null 이면 전체 매장
+     */
+    public SseEmitter subscribe(Long storeId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, storeId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // 스냅샷 조회 전에 등록해야 그 사이 변경을 놓치지 않는다
+        subscribers.add(subscriber);
+
+        List<StockDelta> snapshot = hotStockLedger.overlay(storeId == null
+                ? menuGroupStockRepository.findAllStockDeltas()
+                : menuGroupStockRepository.findStockDeltasByStoreIds(List.of(storeId)));
+        try {
+            emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        switch (event.scope()) {
+            case GROUPS -> dirtyGroups.addAll(event.groupIds());
+            case STORES -> dirtyStores.addAll(event.storeIds());
+            case ALL -> dirtyAll.set(true);
+        }
+    }
+
+    /**
+     * 병합 주기마다 바뀐 그룹의 현재 재고를 한 번 읽어 구독자별로 나눠 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${menu.stock.stream.coalesce-ms:500}")
+    public void flush() {
+        boolean all = dirtyAll.getAndSet(false);
+        Set<Long> groups = drain(dirtyGroups);
+        Set<Long> stores = drain(dirtyStores);
+        if (subscribers.isEmpty() || (!all && groups.isEmpty() && stores.isEmpty())) {
+            return;
+        }
+
+        Map<Long, StockDelta> changed = new LinkedHashMap<>();
+        if (all) {
+            menuGroupStockRepository.findAllStockDeltas().forEach(d -> changed.put(d.groupId(), d));
+        } else {
+            if (!stores.isEmpty()) {
+                menuGroupStockRepository.findStockDeltasByStoreIds(stores).forEach(d -> changed.put(d.groupId(), d));
+            }
+            groups.removeAll(changed.keySet());
+            if (!groups.isEmpty()) {
+                menuGroupStockRepository.findStockDeltasByGroupIds(groups).forEach(d -> changed.put(d.groupId(), d));
+            }
+        }
+        List<StockDelta> deltas = hotStockLedger.overlay(new ArrayList<>(changed.values()));
+
+        for (Subscriber subscriber : subscribers) {
+            List<StockDelta> scoped = subscriber.storeId == null
+                    ? deltas
+                    : deltas.stream().filter(d -> subscriber.storeId.equals(d.storeId())).toList();
+            if (!scoped.isEmpty()) {
+                subscriber.offer(scoped);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    private static Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : dirty) {
+            if (dirty.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long storeId;
+
+        // groupId -> 아직 못 보낸 최신 값 (this 로 보호)
+        private final Map<Long, StockDelta> pending = new LinkedHashMap<>();
+        private boolean sending;
+        private int stalledTicks;
+
+        private Subscriber(SseEmitter emitter, Long storeId) {
+            this.emitter = emitter;
+            this.storeId = storeId;
+        }
+
+        private void offer(List<StockDelta> deltas) {
+            synchronized (this) {
+                deltas.forEach(d -> pending.put(d.groupId(), d));
+                if (sending) {
+                    if (++stalledTicks > maxStalledTicks) {
+                        drop();
+                    }
+                    return;
+                }
+                sending = true;
+                stalledTicks = 0;
+            }
+            sender.execute(this::drainPending);
+        }
+
+        private void drainPending() {
+            while (true) {
+                List<StockDelta> batch;
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        sending = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(STOCK_EVENT).data(batch, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+        }
+
+        private void drop() {
+            subscribers.remove(this);
+            pending.clear();
+            droppedCounter.increment();
+            log.info("[STOCK][STREAM] slow subscriber dropped. storeId={}", storeId);
+            emitter.complete();
+        }
+    }
+}
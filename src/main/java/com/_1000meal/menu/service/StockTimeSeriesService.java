@@ -0,0 +1,270 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.domain.MenuGroupStockSeries;
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.dto.StockSample;
+import com._1000meal.menu.dto.StockSeriesResponse;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSeriesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 그룹별 오늘 재고 시계열
+ * - 재고 변경(StockChangedEvent)은 커밋 후 "바뀐 그룹" 표시만 하고, sample-ms 마다 바뀐 그룹의 현재 재고를 한 번 읽어
+ *   그룹별 고정 크기 링 버퍼에 (시각, 재고) 로 쌓는다. (값이 같으면 건너뜀, 가득 차면 가장 오래된 점을 덮어씀)
+ * - 영업 종료(StoreCloseScheduler) 시 마지막 0 점을 찍고 매장 버퍼를 menu_group_stock_series 에 하루 한 행으로 저장한다.
+ *   종료 없이 날짜가 바뀐 버퍼는 다음 샘플링 때 저장한다.
+ * - 관리자 차트는 오늘이면 버퍼, 지난 날짜면 저장된 행을 읽는다. (meal_usage 조회 없음)
+ */
+@Slf4j
+@Component
+public class StockTimeSeriesService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int SAMPLE_BYTES = Integer.BYTES * 2;
+
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final MenuGroupStockSeriesRepository menuGroupStockSeriesRepository;
+    private final MenuGroupRepository menuGroupRepository;
+    private final HotStockLedger hotStockLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+
+    private final Map<Long, SampleRing> rings = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyGroups = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dirtyAll = new AtomicBoolean();
+
+    public StockTimeSeriesService(
+            MenuGroupStockRepository menuGroupStockRepository,
+            MenuGroupStockSeriesRepository menuGroupStockSeriesRepository,
+            MenuGroupRepository menuGroupRepository,
+            HotStockLedger hotStockLedger,
+            PlatformTransactionManager transactionManager,
+            @Value("${menu.stock.series.capacity:480}") int capacity
+    ) {
+        this.menuGroupStockRepository = menuGroupStockRepository;
+        this.menuGroupStockSeriesRepository = menuGroupStockSeriesRepository;
+        this.menuGroupRepository = menuGroupRepository;
+        this.hotStockLedger = hotStockLedger;
+        // 영업 종료 트랜잭션과 분리 (저장 실패가 종료 처리를 되돌리지 않도록)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacity = Math.max(2, capacity);
+    }
+
+    // 영업 종료(STORES)는 closeAndFlush 가 마지막 점을 직접 찍으므로 표시하지 않는다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        switch (event.scope()) {
+            case GROUPS -> dirtyGroups.addAll(event.groupIds());
+            case ALL -> dirtyAll.set(true);
+            case STORES -> { }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${menu.stock.series.sample-ms:30000}")
+    public void sample() {
+        sample(System.currentTimeMillis());
+    }
+
+    void sample(long nowMillis) {
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(nowMillis), KST);
+        flushStale(today);
+
+        boolean all = dirtyAll.getAndSet(false);
+        Set<Long> groups = drain(dirtyGroups);
+        if (!all && groups.isEmpty()) {
+            return;
+        }
+        List<StockDelta> stocks = hotStockLedger.overlay(all
+                ? menuGroupStockRepository.findAllStockDeltas()
+                : menuGroupStockRepository.findStockDeltasByGroupIds(groups));
+        for (StockDelta stock : stocks) {
+            rings.computeIfAbsent(stock.groupId(), id -> new SampleRing(stock.storeId(), today, capacity))
+                    .add(nowMillis, stock.stock());
+        }
+    }
+
+    /**
+     * 영업 종료: 매장 그룹들에 재고 0 점을 찍고 버퍼를 하루 한 행으로 저장한 뒤 비운다.
+     */
+    public void closeAndFlush(Collection<Long> storeIds, LocalDate date) {
+        long now = System.currentTimeMillis();
+        Set<Long> stores = new HashSet<>(storeIds);
+        Map<Long, SampleRing> closing = new HashMap<>();
+        rings.forEach((groupId, ring) -> {
+            if (stores.contains(ring.storeId) && date.equals(ring.day)) {
+                ring.add(now, 0);
+                closing.put(groupId, ring);
+            }
+        });
+        persist(closing, date);
+        closing.keySet().forEach(rings::remove);
+        log.info("[STOCK][SERIES] flushed at close. date={}, groups={}", date, closing.size());
+    }
+
+    /**
+     * 매장 그룹별 재고 곡선 (오늘은 버퍼 우선, 지난 날짜는 저장된 행)
+     */
+    public List<StockSeriesResponse> getSeries(Long storeId, LocalDate date) {
+        Map<Long, List<StockSample>> samplesByGroup = new HashMap<>();
+        menuGroupStockSeriesRepository.findByStoreIdAndSeriesDate(storeId, date)
+                .forEach(series -> samplesByGroup.put(series.getMenuGroupId(), decode(series.getSamples())));
+        rings.forEach((groupId, ring) -> {
+            if (storeId.equals(ring.storeId) && date.equals(ring.day)) {
+                samplesByGroup.put(groupId, ring.snapshot());
+            }
+        });
+
+        return menuGroupRepository.findByStoreIdOrderBySortOrderAscIdAsc(storeId).stream()
+                .map(group -> new StockSeriesResponse(
+                        group.getId(),
+                        group.getName(),
+                        date,
+                        samplesByGroup.getOrDefault(group.getId(), List.of())
+                ))
+                .toList();
+    }
+
+    private void flushStale(LocalDate today) {
+        Map<LocalDate, Map<Long, SampleRing>> staleByDay = new HashMap<>();
+        rings.forEach((groupId, ring) -> {
+            if (!today.equals(ring.day)) {
+                staleByDay.computeIfAbsent(ring.day, d -> new HashMap<>()).put(groupId, ring);
+            }
+        });
+        staleByDay.forEach((day, stale) -> {
+            try {
+                persist(stale, day);
+                log.info("[STOCK][SERIES] flushed stale buffers. date={}, groups={}", day, stale.size());
+            } catch (Exception e) {
+                log.error("[STOCK][SERIES] stale flush failed. date={}, error={}", day, e.getMessage(), e);
+            }
+            stale.keySet().forEach(rings::remove);
+        });
+    }
+
+    private void persist(Map<Long, SampleRing> byGroup, LocalDate date) {
+        if (byGroup.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, MenuGroupStockSeries> existing = menuGroupStockSeriesRepository
+                    .findByMenuGroupIdInAndSeriesDate(byGroup.keySet(), date).stream()
+                    .collect(Collectors.toMap(MenuGroupStockSeries::getMenuGroupId, Function.identity()));
+
+            List<MenuGroupStockSeries> created = new ArrayList<>();
+            byGroup.forEach((groupId, ring) -> {
+                List<StockSample> samples = ring.snapshot();
+                byte[] encoded = encode(samples);
+                MenuGroupStockSeries series = existing.get(groupId);
+                if (series != null) {
+                    series.replace(samples.size(), encoded);
+                } else {
+                    created.add(MenuGroupStockSeries.of(groupId, ring.storeId, date, samples.size(), encoded));
+                }
+            });
+            menuGroupStockSeriesRepository.saveAll(created);
+        });
+    }
+
+    static byte[] encode(List<StockSample> samples) {
+        ByteBuffer buffer = ByteBuffer.allocate(samples.size() * SAMPLE_BYTES);
+        for (StockSample sample : samples) {
+            buffer.putInt(sample.time().toSecondOfDay());
+            buffer.putInt(sample.stock());
+        }
+        return buffer.array();
+    }
+
+    static List<StockSample> decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        List<StockSample> samples = new ArrayList<>(bytes.length / SAMPLE_BYTES);
+        while (buffer.remaining() >= SAMPLE_BYTES) {
+            samples.add(new StockSample(LocalTime.ofSecondOfDay(buffer.getInt()), buffer.getInt()));
+        }
+        return samples;
+    }
+
+    private static Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : dirty) {
+            if (dirty.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    // 그룹 하나의 고정 크기 링 버퍼 (this 로 보호)
+    private static final class SampleRing {
+
+        private final Long storeId;
+        private final LocalDate day;
+        private final int[] seconds;
+        private final int[] stocks;
+        private int head;
+        private int size;
+
+        private SampleRing(Long storeId, LocalDate day, int capacity) {
+            this.storeId = storeId;
+            this.day = day;
+            this.seconds = new int[capacity];
+            this.stocks = new int[capacity];
+        }
+
+        private synchronized void add(long epochMillis, int stock) {
+            if (size > 0 && stocks[(head + size - 1) % stocks.length] == stock) {
+                return;
+            }
+            int second = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), KST)
+                    .toLocalTime()
+                    .toSecondOfDay();
+            int index = (head + size) % stocks.length;
+            seconds[index] = second;
+            stocks[index] = stock;
+            if (size < stocks.length) {
+                size++;
+            } else {
+                head = (head + 1) % stocks.length;
+            }
+        }
+
+        private synchronized List<StockSample> snapshot() {
+            List<StockSample> samples = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % stocks.length;
+                samples.add(new StockSample(LocalTime.ofSecondOfDay(seconds[index]), stocks[index]));
+            }
+            return samples;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.dto.StockVersionResponse;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 매장별 재고 버전 + 롱폴링 대기
+ * - 재고 쓰기 경로가 발행하는 StockChangedEvent(커밋 후)로 매장 버전을 올린다. DB 를 폴링하지 않는다.
+ * - 요청은 버전이 since 와 달라질 때까지(또는 timeout-ms 까지) DeferredResult 로 대기한다.
+ * - 깨울 때 매장 재고를 한 번만 읽어 그 매장의 모든 대기 요청에 같은 응답을 준다.
+ * - 버전은 기동 시각(ms)에서 시작하므로 재시작 후에도 이전 버전과 겹치지 않고, 다르면 바로 응답한다.
+ */
+@Slf4j
+@Component
+public class StockVersionService {
+
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final HotStockLedger hotStockLedger;
+    private final long timeoutMillis;
+    private final int maxWaiters;
+    private final ExecutorService notifier;
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Long> storeVersions = new ConcurrentHashMap<>();
+    private volatile long allVersion = sequence.get();
+
+    private final Map<Long, Set<Waiter<?>>> waiters = new ConcurrentHashMap<>();
+    private final Set<Long> wakeScheduled = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    public StockVersionService(
+            MenuGroupStockRepository menuGroupStockRepository,
+            HotStockLedger hotStockLedger,
+            MeterRegistry meterRegistry,
+            @Value("${menu.stock.version.timeout-ms:25000}") long timeoutMillis,
+            @Value("${menu.stock.version.max-waiters:10000}") int maxWaiters
+    ) {
+        this.menuGroupStockRepository = menuGroupStockRepository;
+        this.hotStockLedger = hotStockLedger;
+        this.timeoutMillis = timeoutMillis;
+        this.maxWaiters = maxWaiters;
+        this.notifier = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "stock-version-notifier");
+            t.setDaemon(true);
+            return t;
+        });
+
+        meterRegistry.gauge("menu.stock.version.waiters", waiterCount);
+    }
+
+    public long currentVersion(Long storeId) {
+        return Math.max(storeVersions.getOrDefault(storeId, 0L), allVersion);
+    }
+
+    /**
+     * 버전이 since 와 다르면 바로, 같으면 바뀔 때까지(또는 대기 시간 만료까지) 응답을 미룬다.
+     * @param since null 이면 첫 요청 → 현재 재고를 바로 응답
+     * @param wrap 응답 본문 변환 (컨트롤러 응답 형식)
+     */
+    public <T> DeferredResult<T> await(Long storeId, Long since, Function<StockVersionResponse, T> wrap) {
+        DeferredResult<T> result = new DeferredResult<>(timeoutMillis);
+        long current = currentVersion(storeId);
+        if (since == null || since != current) {
+            result.setResult(wrap.apply(changed(storeId, current)));
+            return result;
+        }
+        if (waiterCount.get() >= maxWaiters) {
+            throw new CustomException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+
+        Waiter<T> waiter = new Waiter<>(result, wrap);
+        Set<Waiter<?>> storeWaiters = waiters.computeIfAbsent(storeId, id -> ConcurrentHashMap.newKeySet());
+        storeWaiters.add(waiter);
+        waiterCount.incrementAndGet();
+        result.onTimeout(() -> result.setResult(wrap.apply(
+                new StockVersionResponse(storeId, currentVersion(storeId), false, List.of()))));
+        result.onCompletion(() -> remove(storeWaiters, waiter));
+
+        // 등록하는 사이 버전이 올랐으면 깨우기를 놓치지 않도록 직접 깨운다
+        if (currentVersion(storeId) != since) {
+            scheduleWake(storeId);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.scope() == StockChangedEvent.Scope.ALL) {
+            allVersion = sequence.incrementAndGet();
+            waiters.keySet().forEach(this::scheduleWake);
+            return;
+        }
+        for (Long storeId : event.storeIds()) {
+            storeVersions.merge(storeId, sequence.incrementAndGet(), Math::max);
+            Set<Waiter<?>> storeWaiters = waiters.get(storeId);
+            if (storeWaiters != null && !storeWaiters.isEmpty()) {
+                scheduleWake(storeId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        notifier.shutdownNow();
+    }
+
+    // 커밋한 요청 스레드(QR 이용 등)에서 조회하지 않도록 알림 스레드로 넘긴다. 매장당 한 번만 예약.
+    private void scheduleWake(Long storeId) {
+        if (wakeScheduled.add(storeId)) {
+            notifier.execute(() -> wake(storeId));
+        }
+    }
+
+    private void wake(Long storeId) {
+        // 조회 중 들어온 변경은 다시 예약되도록 먼저 해제
+        wakeScheduled.remove(storeId);
+        Set<Waiter<?>> storeWaiters = waiters.get(storeId);
+        if (storeWaiters == null || storeWaiters.isEmpty()) {
+            return;
+        }
+        try {
+            StockVersionResponse response = changed(storeId, currentVersion(storeId));
+            for (Waiter<?> waiter : storeWaiters) {
+                remove(storeWaiters, waiter);
+                waiter.complete(response);
+            }
+        } catch (Exception e) {
+            log.warn("[STOCK][VERSION] wake failed. storeId={}, error={}", storeId, e.getMessage());
+        }
+    }
+
+    private StockVersionResponse changed(Long storeId, long version) {
+        List<StockDelta> stocks = hotStockLedger.overlay(menuGroupStockRepository.findStockDeltasByStoreIds(List.of(storeId)));
+        return new StockVersionResponse(storeId, version, true, stocks);
+    }
+
+    private void remove(Set<Waiter<?>> storeWaiters, Waiter<?> waiter) {
+        if (storeWaiters.remove(waiter)) {
+            waiterCount.decrementAndGet();
+        }
+    }
+
+    private record Waiter<T>(DeferredResult<T> result, Function<StockVersionResponse, T> wrap) {
+        void complete(StockVersionResponse response) {
+            result.setResult(wrap.apply(response));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com._1000meal.global.response.ApiResponse;
 import com._1000meal.qr.api.dto.QrUsageRequest;
 import com._1000meal.qr.api.dto.QrUsageResponse;
 import com._1000meal.qr.api.dto.TodayQrUsageResponse;
+import com._1000meal.qr.service.QrScanAdmission;
 import com._1000meal.qr.service.QrUsageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,13 +23,18 @@ import org.springframework.web.bind.annotation.RestController;
 public class QrUsageController {
 
     private final QrUsageService qrUsageService;
+    private final QrScanAdmission qrScanAdmission;
 
     @PostMapping("/usages")
     public ApiResponse<QrUsageResponse> createUsage(
             @AuthenticationPrincipal AuthPrincipal principal,
             @Valid @RequestBody QrUsageRequest request
     ) {
-        QrUsageResponse response = qrUsageService.createUsage(principal.id(), request.qrToken());
+        // 트랜잭션 시작 전에 매장/그룹 동시 처리 수 제한 (포화 시 429 + Retry-After)
+        QrUsageResponse response = qrScanAdmission.admit(
+                request.qrToken(),
+                () -> qrUsageService.createUsage(principal.id(), request.qrToken())
+        );
         return ApiResponse.success(response, SuccessCode.CREATED);
     }
 
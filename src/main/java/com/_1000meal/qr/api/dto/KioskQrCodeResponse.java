@@ -0,0 +1,9 @@
+package com._1000meal.qr.api.dto;
+
+public record KioskQrCodeResponse(
+        Long storeId,
+        Long menuGroupId,
+        String qrPayload,
+        String expiresAt,
+        long refreshAfterSeconds
+) {}
@@ -0,0 +1,10 @@
+package com._1000meal.qr.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record OfflineScanBatchRequest(
+        @NotEmpty List<@Valid OfflineScanRecord> scans
+) {}
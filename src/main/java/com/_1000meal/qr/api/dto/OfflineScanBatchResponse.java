@@ -0,0 +1,9 @@
+package com._1000meal.qr.api.dto;
+
+import java.util.List;
+
+public record OfflineScanBatchResponse(
+        int total,
+        int accepted,
+        List<OfflineScanResult> results
+) {}
@@ -0,0 +1,12 @@
+package com._1000meal.qr.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.OffsetDateTime;
+
+public record OfflineScanRecord(
+        @NotBlank String qrToken,
+        @NotNull Long accountId,
+        @NotNull OffsetDateTime scannedAt
+) {}
@@ -0,0 +1,12 @@
+package com._1000meal.qr.api.dto;
+
+import com._1000meal.qr.enums.OfflineScanStatus;
+
+/**
+ * @param index 요청 scans 배열에서의 위치
+ */
+public record OfflineScanResult(
+        int index,
+        Long accountId,
+        OfflineScanStatus status
+) {}
@@ -0,0 +1,86 @@
+package com._1000meal.qr.controller;
+
+import com._1000meal.auth.service.CurrentAccountProvider;
+import com._1000meal.global.error.code.StoreErrorCode;
+import com._1000meal.global.error.code.SuccessCode;
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.global.response.ApiResponse;
+import com._1000meal.qr.api.dto.KioskQrCodeResponse;
+import com._1000meal.qr.api.dto.OfflineScanBatchRequest;
+import com._1000meal.qr.api.dto.OfflineScanBatchResponse;
+import com._1000meal.qr.service.OfflineScanIngestService;
+import com._1000meal.qr.service.QrKioskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "QR Kiosk", description = "키오스크용 회전 QR 발급 / 오프라인 스캔 업로드 API")
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/qr/kiosk")
+public class QrKioskController {
+
+    private final QrKioskService qrKioskService;
+    private final OfflineScanIngestService offlineScanIngestService;
+    private final CurrentAccountProvider currentAccountProvider;
+
+    @Operation(
+            summary = "현재 서명 QR 발급",
+            description = """
+                    키오스크 화면에 표시할 현재 시간 슬롯의 서명 QR payload 를 발급합니다.
+
+                    - storeId는 로그인 계정의 storeId와 반드시 일치해야 합니다.
+                    - refreshAfterSeconds 후 다시 호출해 QR 을 교체합니다.
+                    - menuGroupId 를 생략하면 오늘 메뉴가 등록된 그룹으로 발급합니다.
+                    """
+    )
+    @GetMapping("/stores/{storeId}/code")
+    public ApiResponse<KioskQrCodeResponse> getCurrentCode(
+            @Parameter(description = "매장 ID", example = "1")
+            @PathVariable Long storeId,
+
+            @Parameter(description = "그룹 ID", example = "1")
+            @RequestParam(required = false) Long menuGroupId
+    ) {
+        Long accountStoreId = currentAccountProvider.getCurrentStoreId();
+        if (!storeId.equals(accountStoreId)) {
+            throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED);
+        }
+        return ApiResponse.success(qrKioskService.issueCurrentCode(storeId, menuGroupId), SuccessCode.OK);
+    }
+
+    @Operation(
+            summary = "오프라인 스캔 일괄 업로드",
+            description = """
+                    연결이 끊긴 동안 키오스크에 쌓인 스캔(qrToken, accountId, scannedAt)을 한 번에 반영합니다.
+
+                    - storeId는 로그인 계정의 storeId와 반드시 일치해야 합니다.
+                    - 건별 결과(ACCEPTED, DUPLICATE, SOLD_OUT 등)를 요청 순서대로 반환합니다.
+                    - 같은 배치를 다시 올려도 이미 반영된 건은 DUPLICATE 로 처리됩니다.
+                    """
+    )
+    @PostMapping("/stores/{storeId}/usages/batch")
+    public ApiResponse<OfflineScanBatchResponse> uploadOfflineScans(
+            @Parameter(description = "매장 ID", example = "1")
+            @PathVariable Long storeId,
+
+            @Valid @RequestBody OfflineScanBatchRequest request
+    ) {
+        Long accountStoreId = currentAccountProvider.getCurrentStoreId();
+        if (!storeId.equals(accountStoreId)) {
+            throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED);
+        }
+        return ApiResponse.success(offlineScanIngestService.ingest(storeId, request.scans()), SuccessCode.OK);
+    }
+}
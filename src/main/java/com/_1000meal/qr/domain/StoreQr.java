@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
         }
 )
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(StoreQrChangeListener.class)
 public class StoreQr {
 
     @Id
@@ -0,0 +1,32 @@
+package com._1000meal.qr.domain;
+
+import com._1000meal.qr.service.QrTokenDirectory;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * StoreQr 행 변경 시 QR 토큰 디렉터리 갱신
+ * (EntityManagerFactory 초기화 시점에 생성되므로 디렉터리는 지연 조회한다)
+ */
+@Component
+public class StoreQrChangeListener {
+
+    private final ObjectProvider<QrTokenDirectory> qrTokenDirectory;
+
+    public StoreQrChangeListener(ObjectProvider<QrTokenDirectory> qrTokenDirectory) {
+        this.qrTokenDirectory = qrTokenDirectory;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(StoreQr storeQr) {
+        QrTokenDirectory directory = qrTokenDirectory.getIfAvailable();
+        if (directory != null) {
+            directory.onStoreQrChanged(storeQr.getQrToken());
+        }
+    }
+}
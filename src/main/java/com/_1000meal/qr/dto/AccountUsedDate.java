@@ -0,0 +1,12 @@
+package com._1000meal.qr.dto;
+
+import java.time.LocalDate;
+
+/**
+ * (계정, 이용일) 쌍 projection
+ */
+public record AccountUsedDate(
+        Long accountId,
+        LocalDate usedDate
+) {
+}
@@ -0,0 +1,10 @@
+package com._1000meal.qr.dto;
+
+/**
+ * 메뉴 그룹별 하루 이용 건수 projection
+ */
+public record MenuGroupUsageCount(
+        Long menuGroupId,
+        long usageCount
+) {
+}
@@ -0,0 +1,19 @@
+package com._1000meal.qr.dto;
+
+/**
+ * QR 이용 처리용 projection
+ * 토큰 → 매장/대상 그룹을 한 번의 조회로 해석한다.
+ * QR에 그룹이 지정되지 않은 경우 오늘 메뉴가 등록된 그룹 후보(최소 id, 개수)를 함께 반환한다.
+ */
+public record QrRedemptionTarget(
+        Long storeId,
+        String storeName,
+        boolean storeOpen,
+        Long menuGroupId,
+        Long todayMenuGroupId,
+        Long todayMenuGroupCount
+) {
+    public boolean hasFixedMenuGroup() {
+        return menuGroupId != null;
+    }
+}
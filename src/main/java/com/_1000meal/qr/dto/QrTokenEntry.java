@@ -0,0 +1,14 @@
+package com._1000meal.qr.dto;
+
+/**
+ * QR 토큰 디렉터리 항목 (token → 매장/그룹)
+ */
+public record QrTokenEntry(
+        String qrToken,
+        Long storeId,
+        String storeName,
+        Long menuGroupId,
+        String menuGroupName,
+        boolean active
+) {
+}
@@ -0,0 +1,11 @@
+package com._1000meal.qr.dto;
+
+/**
+ * 서명 QR 검증 결과 (매장/그룹/시간 슬롯)
+ */
+public record SignedQrClaims(
+        Long storeId,
+        Long menuGroupId,
+        long slot
+) {
+}
@@ -0,0 +1,13 @@
+package com._1000meal.qr.dto;
+
+import java.time.Instant;
+
+/**
+ * 키오스크에 표시할 서명 QR (payload 는 expiresAt 이후 다음 슬롯 코드로 교체)
+ */
+public record SignedQrCode(
+        String payload,
+        long slot,
+        Instant expiresAt
+) {
+}
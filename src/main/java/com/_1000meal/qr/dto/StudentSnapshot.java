@@ -0,0 +1,12 @@
+package com._1000meal.qr.dto;
+
+/**
+ * MealUsage 스냅샷 컬럼에 복사할 학생 정보 projection
+ */
+public record StudentSnapshot(
+        Long accountId,
+        String studentNo,
+        String department,
+        String name
+) {
+}
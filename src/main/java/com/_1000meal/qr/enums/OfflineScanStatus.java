@@ -0,0 +1,17 @@
+package com._1000meal.qr.enums;
+
+/**
+ * 오프라인 스캔 일괄 업로드 건별 처리 결과
+ */
+public enum OfflineScanStatus {
+    ACCEPTED,
+    DUPLICATE,
+    SOLD_OUT,
+    INVALID_QR,
+    STORE_MISMATCH,
+    NO_MENU_GROUP,
+    UNKNOWN_ACCOUNT,
+    MISSING_STUDENT_NUMBER,
+    INVALID_TIME,
+    REJECTED            // 저장 단계 제약 위반 (재고는 돌려놓음)
+}
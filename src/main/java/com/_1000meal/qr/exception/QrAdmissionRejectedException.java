@@ -0,0 +1,16 @@
+package com._1000meal.qr.exception;
+
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import lombok.Getter;
+
+@Getter
+public class QrAdmissionRejectedException extends CustomException {
+
+    private final long retryAfterSeconds;
+
+    public QrAdmissionRejectedException(long retryAfterSeconds) {
+        super(ErrorCode.TOO_MANY_REQUESTS, "이용자가 많아 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
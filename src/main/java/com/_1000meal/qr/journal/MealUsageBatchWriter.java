@@ -0,0 +1,112 @@
+package com._1000meal.qr.journal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저널 레코드를 meal_usage 에 JDBC 배치 INSERT
+ * IDENTITY id 라 JPA 배치가 불가능하므로 JdbcTemplate 로 직접 넣는다.
+ * 배치가 제약 위반으로 실패하면 배치를 세이브포인트까지 되돌리고 건별 INSERT 로 다시 넣는다.
+ * (호출 측 트랜잭션 안에서 실행되어야 세이브포인트를 쓸 수 있다)
+ * - 이미 들어간 레코드(재생 등)는 중복으로 건너뛰고, 그 밖의 제약 위반 레코드는 거절로 돌려준다.
+ * - 연결 장애 등 제약 위반이 아닌 오류는 그대로 던져 호출 측이 배치 전체를 재시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MealUsageBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO meal_usage
+                (user_id, store_id, menu_group_id, used_at, used_date,
+                 dept_snapshot, student_no_snapshot, name_snapshot, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public MealUsageInsertResult insertAll(List<MealUsageJournalRecord> records) {
+        if (records.isEmpty()) {
+            return MealUsageInsertResult.allInserted(List.of());
+        }
+        if (insertBatch(records)) {
+            return MealUsageInsertResult.allInserted(records);
+        }
+        return insertEach(records);
+    }
+
+    /**
+     * 세이브포인트 안에서 배치 INSERT
+     * 한 행이 제약 위반이어도 드라이버는 나머지 행을 넣은 뒤 예외를 던진다.
+     * 세이브포인트로 되돌려 이 배치가 넣은 행이 하나도 남지 않은 상태에서 건별 INSERT 로 다시 판정한다.
+     * @return 제약 위반으로 되돌렸으면 false
+     */
+    private boolean insertBatch(List<MealUsageJournalRecord> records) {
+        Boolean inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            Savepoint savepoint = con.setSavepoint();
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (ps, r) -> bind(ps, r));
+            } catch (DataIntegrityViolationException e) {
+                con.rollback(savepoint);
+                log.warn("[QR][JOURNAL] batch rejected. fallback to single inserts. size={}, error={}",
+                        records.size(), e.getMessage());
+                return false;
+            }
+            con.releaseSavepoint(savepoint);
+            return true;
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+
+    // 중복 여부는 INSERT 결과(유니크 제약)로만 판정한다
+    private MealUsageInsertResult insertEach(List<MealUsageJournalRecord> records) {
+        List<MealUsageJournalRecord> inserted = new ArrayList<>();
+        List<MealUsageJournalRecord> duplicates = new ArrayList<>();
+        List<MealUsageJournalRecord> rejected = new ArrayList<>();
+        for (MealUsageJournalRecord r : records) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, r));
+                inserted.add(r);
+            } catch (DuplicateKeyException e) {
+                duplicates.add(r);
+            } catch (DataIntegrityViolationException e) {
+                log.error("[QR][JOURNAL][REJECTED] seq={}, accountId={}, usedDate={}, error={}",
+                        r.seq(), r.accountId(), r.usedDate(), e.getMessage());
+                rejected.add(r);
+            }
+        }
+        return new MealUsageInsertResult(inserted, duplicates, rejected);
+    }
+
+    private static void bind(PreparedStatement ps, MealUsageJournalRecord r) throws SQLException {
+        ps.setLong(1, r.accountId());
+        ps.setLong(2, r.storeId());
+        if (r.menuGroupId() != null) {
+            ps.setLong(3, r.menuGroupId());
+        } else {
+            ps.setNull(3, Types.BIGINT);
+        }
+        ps.setTimestamp(4, Timestamp.valueOf(r.usedAt()));
+        ps.setDate(5, Date.valueOf(r.usedDate()));
+        ps.setString(6, r.deptSnapshot());
+        ps.setString(7, r.studentNoSnapshot());
+        ps.setString(8, r.nameSnapshot());
+        ps.setTimestamp(9, Timestamp.valueOf(r.createdAt()));
+    }
+}
@@ -0,0 +1,24 @@
+package com._1000meal.qr.journal;
+
+import java.util.List;
+
+/**
+ * meal_usage 배치 INSERT 결과
+ * @param inserted 새로 INSERT 된 레코드
+ * @param duplicates 같은 (계정, 날짜) 이용이 이미 있어 건너뛴 레코드
+ * @param rejected 중복 외 제약 위반(FK, 길이 초과 등)으로 넣을 수 없는 레코드 (재시도해도 같은 결과)
+ */
+public record MealUsageInsertResult(
+        List<MealUsageJournalRecord> inserted,
+        List<MealUsageJournalRecord> duplicates,
+        List<MealUsageJournalRecord> rejected
+) {
+
+    public static MealUsageInsertResult allInserted(List<MealUsageJournalRecord> records) {
+        return new MealUsageInsertResult(List.copyOf(records), List.of(), List.of());
+    }
+
+    public int insertedCount() {
+        return inserted.size();
+    }
+}
@@ -0,0 +1,558 @@
+package com._1000meal.qr.journal;
+
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * MealUsage write-behind 저널
+ * - 이용 1건을 로컬 append-only 파일에 JSON 한 줄로 기록하고, 그룹 커밋(fsync 1회로 여러 건)으로 내구성을 확보한다.
+ * - API 는 fsync 가 끝나면 응답하고, 별도 스레드가 수 ms 간격으로 meal_usage 에 JDBC 배치 INSERT 한다.
+ * - 기동 시 체크포인트 이후 레코드를 재생(중복은 건너뜀)한 뒤 저널을 비운다.
+ * - 제약 위반으로 넣을 수 없는 레코드는 dead-letter 파일로 옮기고 체크포인트는 계속 전진한다. (qr.journal.dead_letter)
+ * - 중복 이용 판정은 DB 유니크 제약 대신 TodayRedemptionBitmap 선점으로 한다. (단일 인스턴스 전제)
+ */
+@Slf4j
+@Component
+public class MealUsageJournal {
+
+    private static final String SEGMENT_PREFIX = "meal-usage-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+    private static final int MAX_GROUP_COMMIT = 1024;
+
+    private static final int WAITING = 0;
+    private static final int WRITING = 1;
+    private static final int CANCELLED = 2;
+
+    private final MealUsageBatchWriter batchWriter;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final boolean enabled;
+    private final Path dir;
+    private final long appendTimeoutMillis;
+    private final long flushIntervalMillis;
+    private final int flushBatchSize;
+    private final long segmentBytes;
+
+    private final BlockingQueue<PendingAppend> appendQueue;
+    private final ConcurrentLinkedDeque<MealUsageJournalRecord> durable = new ConcurrentLinkedDeque<>();
+    private final Map<Long, MealUsageJournalRecord> pendingByAccount = new ConcurrentHashMap<>();
+    // 닫힌 세그먼트: 마지막 seq -> 파일
+    private final NavigableMap<Long, Path> closedSegments = new ConcurrentSkipListMap<>();
+    private final AtomicLong seq = new AtomicLong();
+    private final Object flushLock = new Object();
+
+    private final Timer fsyncTimer;
+    private final DistributionSummary groupCommitSize;
+    private final Counter deadLetterCounter;
+
+    private volatile boolean available;
+    private volatile boolean replayed;
+    private volatile boolean running;
+    private volatile long flushedSeq;
+    private Thread writerThread;
+    private Thread flusherThread;
+
+    // writer 스레드 전용
+    private FileChannel channel;
+    private Path currentSegment;
+    private long currentSegmentBytes;
+    private long currentSegmentLastSeq;
+
+    public MealUsageJournal(
+            MealUsageBatchWriter batchWriter,
+            MeterRegistry meterRegistry,
+            @Value("${qr.journal.enabled:false}") boolean enabled,
+            @Value("${qr.journal.dir:./var/journal}") String dir,
+            @Value("${qr.journal.append-timeout-ms:1000}") long appendTimeoutMillis,
+            @Value("${qr.journal.flush-interval-ms:5}") long flushIntervalMillis,
+            @Value("${qr.journal.flush-batch-size:500}") int flushBatchSize,
+            @Value("${qr.journal.segment-bytes:1048576}") long segmentBytes,
+            @Value("${qr.journal.queue-capacity:10000}") int queueCapacity
+    ) {
+        this.batchWriter = batchWriter;
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.appendTimeoutMillis = appendTimeoutMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushBatchSize = flushBatchSize;
+        this.segmentBytes = segmentBytes;
+        this.appendQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.fsyncTimer = Timer.builder("qr.journal.fsync").register(meterRegistry);
+        this.groupCommitSize = DistributionSummary.builder("qr.journal.group_commit.size").register(meterRegistry);
+        this.deadLetterCounter = meterRegistry.counter("qr.journal.dead_letter");
+        meterRegistry.gauge("qr.journal.pending", durable, ConcurrentLinkedDeque::size);
+    }
+
+    /**
+     * 재생 후 writer/flusher 스레드 시작. 재생에 실패하면 저널을 쓰지 않고 기존 INSERT 경로로 동작한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            replay();
+            openSegment();
+        } catch (IOException | RuntimeException e) {
+            log.error("[QR][JOURNAL] start failed. journal disabled. dir={}, error={}", dir, e.getMessage(), e);
+            return;
+        } finally {
+            replayed = true;
+        }
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "meal-usage-journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        flusherThread = new Thread(this::flushLoop, "meal-usage-journal-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+        available = true;
+        log.info("[QR][JOURNAL] started. dir={}, nextSeq={}", dir, seq.get() + 1);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        available = false;
+        running = false;
+        joinQuietly(writerThread);
+        flusherThread.interrupt();
+        joinQuietly(flusherThread);
+        flushPending();
+        closeQuietly();
+        log.info("[QR][JOURNAL] stopped. flushedSeq={}", flushedSeq);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * 기동 시 재생을 마쳤는지 (저널을 쓰지 않으면 항상 true)
+     * 재생 전에는 이용 건수를 세는 쪽(재고 장부 복구 등)이 기다린다.
+     */
+    public boolean isReplayed() {
+        return !enabled || replayed;
+    }
+
+    /**
+     * 저널에 기록하고 fsync 가 끝날 때까지 대기
+     * 시간 안에 기록되지 못하면 취소하고 예외를 던진다. (취소된 레코드는 파일에 쓰이지 않는다)
+     */
+    public void append(MealUsageJournalRecord record) {
+        PendingAppend pending = new PendingAppend(record);
+        if (!available || !appendQueue.offer(pending)) {
+            throw new CustomException(ErrorCode.TOO_MANY_REQUESTS, "이용자가 많아 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            pending.future.get(appendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pending.state.compareAndSet(WAITING, CANCELLED)) {
+                throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "이용 기록 저장이 지연되고 있습니다.");
+            }
+            // writer 가 이미 쓰는 중이면 결과를 끝까지 기다린다
+            awaitUninterruptibly(pending);
+        } catch (ExecutionException e) {
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.state.compareAndSet(WAITING, CANCELLED)) {
+                throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, e);
+            }
+            awaitUninterruptibly(pending);
+        }
+    }
+
+    /**
+     * 아직 meal_usage 에 반영되지 않은 오늘 이용 기록
+     */
+    public Optional<MealUsageJournalRecord> findPending(Long accountId, LocalDate usedDate) {
+        MealUsageJournalRecord record = pendingByAccount.get(accountId);
+        return record != null && record.usedDate().equals(usedDate) ? Optional.of(record) : Optional.empty();
+    }
+
+    /**
+     * 아직 meal_usage 에 반영되지 않은 그날 이용 건수 (그룹별)
+     */
+    public Map<Long, Long> pendingUsageCounts(LocalDate usedDate) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (MealUsageJournalRecord record : durable) {
+            if (record.usedDate().equals(usedDate) && record.menuGroupId() != null) {
+                counts.merge(record.menuGroupId(), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 저널에 쌓인 레코드를 모두 meal_usage 에 반영 (명단 내보내기 등 DB 를 직접 읽기 전에 호출)
+     */
+    public void flushPending() {
+        while (!durable.isEmpty()) {
+            if (!flushOnce()) {
+                return;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (running || !appendQueue.isEmpty()) {
+            PendingAppend first;
+            try {
+                first = appendQueue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            List<PendingAppend> batch = new ArrayList<>();
+            batch.add(first);
+            appendQueue.drainTo(batch, MAX_GROUP_COMMIT - 1);
+            List<PendingAppend> writing = batch.stream()
+                    .filter(p -> p.state.compareAndSet(WAITING, WRITING))
+                    .toList();
+            if (!writing.isEmpty()) {
+                commit(writing);
+            }
+        }
+    }
+
+    private void commit(List<PendingAppend> writing) {
+        long positionBefore = currentSegmentBytes;
+        long seqBefore = seq.get();
+        try {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(writing.size() * 256);
+            for (PendingAppend p : writing) {
+                p.assigned = p.record.withSeq(seq.incrementAndGet());
+                buf.write(objectMapper.writeValueAsBytes(p.assigned));
+                buf.write('\n');
+            }
+
+            ByteBuffer bytes = ByteBuffer.wrap(buf.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            long startedAt = System.nanoTime();
+            channel.force(false);
+            fsyncTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            groupCommitSize.record(writing.size());
+
+            currentSegmentBytes += buf.size();
+            currentSegmentLastSeq = seq.get();
+        } catch (IOException | RuntimeException e) {
+            log.error("[QR][JOURNAL] write failed. size={}, error={}", writing.size(), e.getMessage(), e);
+            seq.set(seqBefore);
+            truncateQuietly(positionBefore);
+            writing.forEach(p -> p.future.completeExceptionally(e));
+            return;
+        }
+
+        for (PendingAppend p : writing) {
+            durable.add(p.assigned);
+            pendingByAccount.put(p.assigned.accountId(), p.assigned);
+            p.future.complete(null);
+        }
+
+        if (currentSegmentBytes >= segmentBytes) {
+            rotate();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flushOnce();
+        }
+    }
+
+    /**
+     * @return 반영에 성공했거나 반영할 레코드가 없으면 true
+     */
+    private boolean flushOnce() {
+        synchronized (flushLock) {
+            List<MealUsageJournalRecord> batch = new ArrayList<>(flushBatchSize);
+            MealUsageJournalRecord record;
+            while (batch.size() < flushBatchSize && (record = durable.poll()) != null) {
+                batch.add(record);
+            }
+            if (batch.isEmpty()) {
+                return true;
+            }
+
+            try {
+                MealUsageInsertResult result = batchWriter.insertAll(batch);
+                deadLetter(result.rejected());
+            } catch (IOException | RuntimeException e) {
+                // 연결 장애 등 일시 오류: 배치 전체를 다음 주기에 다시 시도 (이미 들어간 건은 중복으로 건너뜀)
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    durable.addFirst(batch.get(i));
+                }
+                log.error("[QR][JOURNAL] flush failed. size={}, error={}", batch.size(), e.getMessage(), e);
+                return false;
+            }
+
+            flushedSeq = batch.get(batch.size() - 1).seq();
+            batch.forEach(r -> pendingByAccount.remove(r.accountId(), r));
+            writeCheckpoint(flushedSeq);
+            deleteFlushedSegments();
+            return true;
+        }
+    }
+
+    private void replay() throws IOException {
+        long checkpoint = readCheckpoint();
+        List<Path> segments = listSegments();
+
+        List<MealUsageJournalRecord> records = new ArrayList<>();
+        long maxSeq = checkpoint;
+        for (Path segment : segments) {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    MealUsageJournalRecord r = objectMapper.readValue(line, MealUsageJournalRecord.class);
+                    maxSeq = Math.max(maxSeq, r.seq());
+                    if (r.seq() > checkpoint) {
+                        records.add(r);
+                    }
+                } catch (IOException e) {
+                    // fsync 전에 끊긴 마지막 줄 (응답하지 않은 레코드)
+                    log.warn("[QR][JOURNAL] skip torn line. segment={}", segment.getFileName());
+                }
+            }
+        }
+
+        int inserted = 0;
+        for (int from = 0; from < records.size(); from += flushBatchSize) {
+            MealUsageInsertResult result =
+                    batchWriter.insertAll(records.subList(from, Math.min(records.size(), from + flushBatchSize)));
+            deadLetter(result.rejected());
+            inserted += result.insertedCount();
+        }
+
+        writeCheckpoint(maxSeq);
+        for (Path segment : segments) {
+            Files.deleteIfExists(segment);
+        }
+        seq.set(maxSeq);
+        flushedSeq = maxSeq;
+        log.info("[QR][JOURNAL] replayed. segments={}, records={}, inserted={}, checkpoint={}",
+                segments.size(), records.size(), inserted, maxSeq);
+    }
+
+    /**
+     * 넣을 수 없는 레코드를 dead-letter 파일에 남긴다. (fsync 후 반환, 운영자가 확인 후 수동 반영)
+     */
+    private void deadLetter(List<MealUsageJournalRecord> rejected) throws IOException {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(rejected.size() * 256);
+        for (MealUsageJournalRecord r : rejected) {
+            buf.write(objectMapper.writeValueAsBytes(r));
+            buf.write('\n');
+        }
+        try (FileChannel deadLetter = FileChannel.open(dir.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(buf.toByteArray());
+            while (bytes.hasRemaining()) {
+                deadLetter.write(bytes);
+            }
+            deadLetter.force(false);
+        }
+        deadLetterCounter.increment(rejected.size());
+        log.error("[QR][JOURNAL][DEAD_LETTER] records={}, seqs={}, file={}",
+                rejected.size(), rejected.stream().map(MealUsageJournalRecord::seq).toList(), DEAD_LETTER_FILE);
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = dir.resolve(SEGMENT_PREFIX + String.format("%019d", seq.get() + 1) + SEGMENT_SUFFIX);
+        channel = FileChannel.open(currentSegment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSegmentBytes = channel.size();
+        currentSegmentLastSeq = seq.get();
+    }
+
+    private void rotate() {
+        Path closing = currentSegment;
+        long lastSeq = currentSegmentLastSeq;
+        closeQuietly();
+        closedSegments.put(lastSeq, closing);
+        try {
+            openSegment();
+        } catch (IOException e) {
+            log.error("[QR][JOURNAL] rotate failed. journal disabled. error={}", e.getMessage(), e);
+            available = false;
+        }
+        deleteFlushedSegments();
+    }
+
+    private void deleteFlushedSegments() {
+        NavigableMap<Long, Path> flushed = closedSegments.headMap(flushedSeq, true);
+        for (Map.Entry<Long, Path> entry : flushed.entrySet()) {
+            try {
+                Files.deleteIfExists(entry.getValue());
+                closedSegments.remove(entry.getKey());
+            } catch (IOException e) {
+                log.warn("[QR][JOURNAL] segment delete failed. segment={}", entry.getValue().getFileName());
+            }
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private long readCheckpoint() {
+        Path file = dir.resolve(CHECKPOINT_FILE);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0L;
+        } catch (IOException | NumberFormatException e) {
+            // 체크포인트가 깨졌으면 전부 재생 (중복은 INSERT 단계에서 건너뜀)
+            log.warn("[QR][JOURNAL] checkpoint unreadable. replay all. error={}", e.getMessage());
+            return 0L;
+        }
+    }
+
+    /**
+     * 임시 파일에 쓰고 fsync 한 뒤 원자적으로 바꿔 끼운다. (중간에 죽어도 이전 값 또는 새 값만 남는다)
+     */
+    private void writeCheckpoint(long value) {
+        Path temp = dir.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(Long.toString(value).getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+                out.force(true);
+            }
+            Files.move(temp, dir.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("[QR][JOURNAL] checkpoint write failed. seq={}, error={}", value, e.getMessage());
+        }
+    }
+
+    private void truncateQuietly(long size) {
+        try {
+            channel.truncate(size);
+        } catch (IOException e) {
+            log.warn("[QR][JOURNAL] truncate failed. error={}", e.getMessage());
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("[QR][JOURNAL] close failed. error={}", e.getMessage());
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUninterruptibly(PendingAppend pending) {
+        try {
+            pending.future.join();
+        } catch (RuntimeException e) {
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private static final class PendingAppend {
+
+        private final MealUsageJournalRecord record;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private MealUsageJournalRecord assigned;
+
+        private PendingAppend(MealUsageJournalRecord record) {
+            this.record = record;
+        }
+    }
+}
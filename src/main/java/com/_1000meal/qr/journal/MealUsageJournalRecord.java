@@ -0,0 +1,26 @@
+package com._1000meal.qr.journal;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 저널에 한 줄(JSON)로 기록되는 이용 1건
+ * @param seq 저널 내 단조 증가 번호 (체크포인트/재생 기준)
+ */
+public record MealUsageJournalRecord(
+        long seq,
+        Long accountId,
+        Long storeId,
+        Long menuGroupId,
+        LocalDateTime usedAt,
+        LocalDate usedDate,
+        String deptSnapshot,
+        String studentNoSnapshot,
+        String nameSnapshot,
+        LocalDateTime createdAt
+) {
+    MealUsageJournalRecord withSeq(long seq) {
+        return new MealUsageJournalRecord(seq, accountId, storeId, menuGroupId, usedAt, usedDate,
+                deptSnapshot, studentNoSnapshot, nameSnapshot, createdAt);
+    }
+}
@@ -1,11 +1,14 @@
 package com._1000meal.qr.repository;
 
 import com._1000meal.qr.domain.MealUsage;
+import com._1000meal.qr.dto.AccountUsedDate;
+import com._1000meal.qr.dto.MenuGroupUsageCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +37,29 @@ public interface MealUsageRepository extends JpaRepository<MealUsage, Long> {
 
     @Query("SELECT DISTINCT mu.user.id FROM MealUsage mu WHERE mu.usedDate = :usedDate")
     List<Long> findDistinctAccountIdsByUsedDate(@Param("usedDate") LocalDate usedDate);
+
+    @Query("SELECT DISTINCT mu.user.id FROM MealUsage mu WHERE mu.usedDate = :usedDate AND mu.user.id IN :accountIds")
+    List<Long> findDistinctAccountIdsByUsedDateAndAccountIdIn(@Param("usedDate") LocalDate usedDate,
+                                                              @Param("accountIds") Collection<Long> accountIds);
+
+    @Query("""
+            SELECT new com._1000meal.qr.dto.MenuGroupUsageCount(mu.menuGroupId, COUNT(mu))
+            FROM MealUsage mu
+            WHERE mu.usedDate = :usedDate
+              AND mu.menuGroupId IS NOT NULL
+            GROUP BY mu.menuGroupId
+            """)
+    List<MenuGroupUsageCount> countByUsedDateGroupByMenuGroupId(@Param("usedDate") LocalDate usedDate);
+
+    // 오프라인 스캔 일괄 업로드: 후보 (계정, 날짜) 중 이미 이용 기록이 있는 쌍을 한 번에 조회
+    @Query("""
+            SELECT new com._1000meal.qr.dto.AccountUsedDate(mu.user.id, mu.usedDate)
+            FROM MealUsage mu
+            WHERE mu.user.id IN :accountIds
+              AND mu.usedDate IN :usedDates
+            """)
+    List<AccountUsedDate> findUsedDates(
+            @Param("accountIds") Collection<Long> accountIds,
+            @Param("usedDates") Collection<LocalDate> usedDates
+    );
 }
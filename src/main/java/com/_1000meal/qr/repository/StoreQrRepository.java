@@ -1,10 +1,12 @@
 package com._1000meal.qr.repository;
 
 import com._1000meal.qr.domain.StoreQr;
+import com._1000meal.qr.dto.QrRedemptionTarget;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +16,51 @@ public interface StoreQrRepository extends JpaRepository<StoreQr, Long> {
     @Query("SELECT sq FROM StoreQr sq JOIN FETCH sq.store WHERE sq.qrToken = :qrToken AND sq.isActive = true")
     Optional<StoreQr> findActiveByQrTokenWithStore(@Param("qrToken") String qrToken);
 
+    @Query("SELECT sq FROM StoreQr sq JOIN FETCH sq.store WHERE sq.qrToken = :qrToken")
+    Optional<StoreQr> findByQrTokenWithStore(@Param("qrToken") String qrToken);
+
     @Query("SELECT sq FROM StoreQr sq JOIN FETCH sq.store ORDER BY sq.id ASC")
     List<StoreQr> findAllWithStore();
+
+    // QR 이용 처리: 토큰, 매장, 대상 그룹을 한 번에 조회
+    @Query("""
+            SELECT new com._1000meal.qr.dto.QrRedemptionTarget(
+                s.id,
+                s.name,
+                s.isOpen,
+                sq.menuGroupId,
+                (SELECT MIN(gdm.menuGroup.id) FROM GroupDailyMenu gdm
+                  WHERE gdm.menuGroup.store.id = s.id AND gdm.date = :usedDate),
+                (SELECT COUNT(DISTINCT gdm2.menuGroup.id) FROM GroupDailyMenu gdm2
+                  WHERE gdm2.menuGroup.store.id = s.id AND gdm2.date = :usedDate)
+            )
+            FROM StoreQr sq
+            JOIN sq.store s
+            WHERE sq.qrToken = :qrToken
+              AND sq.isActive = true
+            """)
+    Optional<QrRedemptionTarget> findRedemptionTarget(
+            @Param("qrToken") String qrToken,
+            @Param("usedDate") LocalDate usedDate
+    );
+
+    // 서명 QR 이용 처리: 그룹이 payload 에 고정되어 있으므로 매장 상태만 조회
+    @Query("""
+            SELECT new com._1000meal.qr.dto.QrRedemptionTarget(
+                s.id,
+                s.name,
+                s.isOpen,
+                g.id,
+                g.id,
+                1L
+            )
+            FROM MenuGroup g
+            JOIN g.store s
+            WHERE g.id = :menuGroupId
+              AND s.id = :storeId
+            """)
+    Optional<QrRedemptionTarget> findSignedRedemptionTarget(
+            @Param("storeId") Long storeId,
+            @Param("menuGroupId") Long menuGroupId
+    );
 }
@@ -1,6 +1,7 @@
 package com._1000meal.qr.roster;
 
 import com._1000meal.holiday.service.HolidayScheduleGuard;
+import com._1000meal.qr.journal.MealUsageJournal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
@@ -18,6 +19,7 @@ public class RosterExportJob {
     private final RosterExportService rosterExportService;
     private final ObjectProvider<RosterSheetsSyncService> rosterSheetsSyncServiceProvider;
     private final HolidayScheduleGuard holidayScheduleGuard;
+    private final MealUsageJournal mealUsageJournal;
 
     // @Scheduled(cron = "0 * * * * *", zone = "Asia/Seoul")
     // public void runDaily() {
@@ -29,6 +31,8 @@ public class RosterExportJob {
             return;
         }
         log.info("Roster export job started: usedDate={}", usedDate);
+        // 저널에만 있고 meal_usage 에 아직 없는 이용 기록을 먼저 반영
+        mealUsageJournal.flushPending();
         Path mergedCsvPath = rosterExportService.exportDailyRosters(usedDate);
 
         rosterSheetsSyncServiceProvider.ifAvailable(sync -> {
@@ -0,0 +1,425 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.auth.repository.UserProfileRepository;
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.domain.MenuGroupStockSlot;
+import com._1000meal.menu.domain.StockDeductResult;
+import com._1000meal.menu.event.LowStock30Event;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.service.HotStockLedger;
+import com._1000meal.menu.service.MenuGroupStockSlotService;
+import com._1000meal.qr.api.dto.OfflineScanBatchResponse;
+import com._1000meal.qr.api.dto.OfflineScanRecord;
+import com._1000meal.qr.api.dto.OfflineScanResult;
+import com._1000meal.qr.dto.AccountUsedDate;
+import com._1000meal.qr.dto.QrTokenEntry;
+import com._1000meal.qr.dto.SignedQrClaims;
+import com._1000meal.qr.dto.StudentSnapshot;
+import com._1000meal.qr.enums.OfflineScanStatus;
+import com._1000meal.qr.journal.MealUsageBatchWriter;
+import com._1000meal.qr.journal.MealUsageInsertResult;
+import com._1000meal.qr.journal.MealUsageJournalRecord;
+import com._1000meal.qr.repository.MealUsageRepository;
+import com._1000meal.store.domain.Store;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 키오스크 오프라인 스캔 일괄 반영
+ * - 연결이 끊긴 동안 기기에 쌓인 스캔을 한 번에 받아, createUsage 를 건별로 재실행하지 않고 집합 단위로 검증한다.
+ * - 토큰 해석은 메모리(토큰 디렉터리/서명 검증), 학생 스냅샷과 기존 이용 기록은 IN 조회 몇 번으로 끝낸다.
+ * - 재고는 오늘 스캔만 그룹별로 한 번씩 잠그고 스캔 시각 순으로 배정한다. (지난 날짜 스캔은 이미 리셋된 재고라 차감하지 않음)
+ * - INSERT 는 JDBC 배치로 처리하고 요청 순서대로 건별 결과를 돌려준다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class OfflineScanIngestService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int IN_CHUNK_SIZE = 1000;
+    private static final long FUTURE_SKEW_MINUTES = 5;
+
+    private final QrTokenDirectory qrTokenDirectory;
+    private final SignedQrCodec signedQrCodec;
+    private final QrTargetMenuGroupResolver qrTargetMenuGroupResolver;
+    private final UserProfileRepository userProfileRepository;
+    private final MealUsageRepository mealUsageRepository;
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final MenuGroupStockSlotService menuGroupStockSlotService;
+    private final HotStockLedger hotStockLedger;
+    private final TodayRedemptionBitmap todayRedemptionBitmap;
+    private final MealUsageBatchWriter mealUsageBatchWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int maxBatchSize;
+    private final int maxAgeDays;
+
+    public OfflineScanIngestService(
+            QrTokenDirectory qrTokenDirectory,
+            SignedQrCodec signedQrCodec,
+            QrTargetMenuGroupResolver qrTargetMenuGroupResolver,
+            UserProfileRepository userProfileRepository,
+            MealUsageRepository mealUsageRepository,
+            MenuGroupStockRepository menuGroupStockRepository,
+            MenuGroupStockSlotService menuGroupStockSlotService,
+            HotStockLedger hotStockLedger,
+            TodayRedemptionBitmap todayRedemptionBitmap,
+            MealUsageBatchWriter mealUsageBatchWriter,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${qr.offline.max-batch-size:5000}") int maxBatchSize,
+            @Value("${qr.offline.max-age-days:3}") int maxAgeDays
+    ) {
+        this.qrTokenDirectory = qrTokenDirectory;
+        this.signedQrCodec = signedQrCodec;
+        this.qrTargetMenuGroupResolver = qrTargetMenuGroupResolver;
+        this.userProfileRepository = userProfileRepository;
+        this.mealUsageRepository = mealUsageRepository;
+        this.menuGroupStockRepository = menuGroupStockRepository;
+        this.menuGroupStockSlotService = menuGroupStockSlotService;
+        this.hotStockLedger = hotStockLedger;
+        this.todayRedemptionBitmap = todayRedemptionBitmap;
+        this.mealUsageBatchWriter = mealUsageBatchWriter;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAgeDays = maxAgeDays;
+    }
+
+    @Transactional
+    public OfflineScanBatchResponse ingest(Long storeId, List<OfflineScanRecord> scans) {
+        if (scans.size() > maxBatchSize) {
+            throw new CustomException(ErrorCode.BAD_REQUEST, "한 번에 업로드할 수 있는 스캔은 " + maxBatchSize + "건입니다.");
+        }
+
+        ZonedDateTime nowKst = ZonedDateTime.now(KST);
+        LocalDate today = nowKst.toLocalDate();
+        OfflineScanStatus[] statuses = new OfflineScanStatus[scans.size()];
+
+        // 1) 토큰/시각 해석 (DB 조회 없음, 미고정 그룹만 날짜별 1회)
+        List<Candidate> candidates = resolveCandidates(storeId, scans, nowKst, statuses);
+
+        // 2) 배치 내 중복: 같은 (계정, 날짜)는 가장 먼저 스캔된 건만 남긴다
+        candidates.sort(Comparator.comparing(Candidate::usedAt).thenComparingInt(Candidate::index));
+        Set<AccountUsedDate> seen = new HashSet<>();
+        candidates.removeIf(c -> {
+            if (!seen.add(new AccountUsedDate(c.accountId(), c.usedDate()))) {
+                statuses[c.index()] = OfflineScanStatus.DUPLICATE;
+                return true;
+            }
+            return false;
+        });
+
+        // 3) 학생 스냅샷 / 기존 이용 기록 (집합 조회)
+        Map<Long, StudentSnapshot> students = loadStudents(candidates);
+        Set<AccountUsedDate> alreadyUsed = loadUsedDates(candidates);
+        candidates.removeIf(c -> {
+            StudentSnapshot student = students.get(c.accountId());
+            OfflineScanStatus rejected = null;
+            if (student == null) {
+                rejected = OfflineScanStatus.UNKNOWN_ACCOUNT;
+            } else if (student.studentNo() == null || student.studentNo().isBlank()) {
+                rejected = OfflineScanStatus.MISSING_STUDENT_NUMBER;
+            } else if (alreadyUsed.contains(new AccountUsedDate(c.accountId(), c.usedDate()))
+                    || (c.usedDate().equals(today) && todayRedemptionBitmap.contains(c.accountId(), today))) {
+                rejected = OfflineScanStatus.DUPLICATE;
+            }
+            if (rejected != null) {
+                statuses[c.index()] = rejected;
+                return true;
+            }
+            return false;
+        });
+
+        // 4) 오늘 스캔 재고 배정 (그룹 id 순으로 잠가 교착 방지)
+        List<Candidate> accepted = allocateStock(candidates, today, statuses);
+        Set<Long> deductedGroupIds = accepted.stream()
+                .filter(c -> c.usedDate().equals(today))
+                .map(Candidate::menuGroupId)
+                .collect(Collectors.toSet());
+        if (!deductedGroupIds.isEmpty()) {
+            eventPublisher.publishEvent(StockChangedEvent.ofGroups(storeId, deductedGroupIds));
+        }
+
+        // 5) JDBC 배치 INSERT
+        LocalDateTime createdAt = nowKst.toLocalDateTime();
+        List<MealUsageJournalRecord> records = new ArrayList<>(accepted.size());
+        Map<AccountUsedDate, Candidate> byUsage = new HashMap<>();
+        for (Candidate c : accepted) {
+            StudentSnapshot student = students.get(c.accountId());
+            records.add(new MealUsageJournalRecord(
+                    0L,
+                    c.accountId(),
+                    storeId,
+                    c.menuGroupId(),
+                    c.usedAt(),
+                    c.usedDate(),
+                    student.department() == null ? "" : student.department(),
+                    student.studentNo(),
+                    student.name() == null ? "" : student.name(),
+                    createdAt
+            ));
+            byUsage.put(new AccountUsedDate(c.accountId(), c.usedDate()), c);
+        }
+        MealUsageInsertResult inserted = mealUsageBatchWriter.insertAll(records);
+
+        // 6) 실제로 들어간 건만 ACCEPTED, 건너뛴 오늘 건은 배정한 재고를 돌려놓는다
+        boolean authoritative = todayRedemptionBitmap.isAuthoritative(today);
+        for (MealUsageJournalRecord r : inserted.inserted()) {
+            statuses[byUsage.get(new AccountUsedDate(r.accountId(), r.usedDate())).index()] = OfflineScanStatus.ACCEPTED;
+            if (r.usedDate().equals(today) && !authoritative) {
+                todayRedemptionBitmap.markRedeemed(r.accountId(), today);
+            }
+        }
+        Map<Long, Integer> refunds = new TreeMap<>();
+        for (MealUsageJournalRecord r : inserted.duplicates()) {
+            // 업로드 사이 실시간 스캔이 먼저 기록한 경우: 이용은 이미 있으므로 선점은 그대로 둔다
+            statuses[byUsage.get(new AccountUsedDate(r.accountId(), r.usedDate())).index()] = OfflineScanStatus.DUPLICATE;
+            if (r.usedDate().equals(today)) {
+                refunds.merge(r.menuGroupId(), 1, Integer::sum);
+                if (!authoritative) {
+                    todayRedemptionBitmap.markRedeemed(r.accountId(), today);
+                }
+            }
+        }
+        for (MealUsageJournalRecord r : inserted.rejected()) {
+            statuses[byUsage.get(new AccountUsedDate(r.accountId(), r.usedDate())).index()] = OfflineScanStatus.REJECTED;
+            if (r.usedDate().equals(today)) {
+                refunds.merge(r.menuGroupId(), 1, Integer::sum);
+                todayRedemptionBitmap.release(r.accountId(), today);
+            }
+        }
+        refunds.forEach(this::refundStock);
+
+        return toResponse(scans, statuses, storeId);
+    }
+
+    private List<Candidate> resolveCandidates(
+            Long storeId,
+            List<OfflineScanRecord> scans,
+            ZonedDateTime nowKst,
+            OfflineScanStatus[] statuses
+    ) {
+        LocalDate oldest = nowKst.toLocalDate().minusDays(maxAgeDays);
+        ZonedDateTime latest = nowKst.plusMinutes(FUTURE_SKEW_MINUTES);
+        Map<LocalDate, Optional<Long>> resolvedGroups = new HashMap<>();
+
+        List<Candidate> candidates = new ArrayList<>(scans.size());
+        for (int i = 0; i < scans.size(); i++) {
+            OfflineScanRecord scan = scans.get(i);
+            ZonedDateTime scannedAt = scan.scannedAt().atZoneSameInstant(KST);
+            LocalDate usedDate = scannedAt.toLocalDate();
+            if (scannedAt.isAfter(latest) || usedDate.isBefore(oldest)) {
+                statuses[i] = OfflineScanStatus.INVALID_TIME;
+                continue;
+            }
+
+            Long tokenStoreId;
+            Long menuGroupId;
+            if (signedQrCodec.isSigned(scan.qrToken())) {
+                SignedQrClaims claims = signedQrCodec.verify(scan.qrToken(), scannedAt.toInstant()).orElse(null);
+                if (claims == null) {
+                    statuses[i] = OfflineScanStatus.INVALID_QR;
+                    continue;
+                }
+                tokenStoreId = claims.storeId();
+                menuGroupId = claims.menuGroupId();
+            } else {
+                QrTokenEntry entry = qrTokenDirectory.findActive(scan.qrToken()).orElse(null);
+                if (entry == null) {
+                    statuses[i] = OfflineScanStatus.INVALID_QR;
+                    continue;
+                }
+                tokenStoreId = entry.storeId();
+                menuGroupId = entry.menuGroupId();
+            }
+
+            if (!storeId.equals(tokenStoreId)) {
+                statuses[i] = OfflineScanStatus.STORE_MISMATCH;
+                continue;
+            }
+            if (menuGroupId == null) {
+                menuGroupId = resolvedGroups
+                        .computeIfAbsent(usedDate, date -> resolveMenuGroupId(storeId, date))
+                        .orElse(null);
+                if (menuGroupId == null) {
+                    statuses[i] = OfflineScanStatus.NO_MENU_GROUP;
+                    continue;
+                }
+            }
+
+            candidates.add(new Candidate(i, scan.accountId(), menuGroupId, scannedAt.toLocalDateTime(), usedDate));
+        }
+        return candidates;
+    }
+
+    private Optional<Long> resolveMenuGroupId(Long storeId, LocalDate usedDate) {
+        try {
+            return Optional.of(qrTargetMenuGroupResolver.resolveMenuGroupId(storeId, usedDate));
+        } catch (CustomException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Map<Long, StudentSnapshot> loadStudents(List<Candidate> candidates) {
+        List<Long> accountIds = candidates.stream().map(Candidate::accountId).distinct().toList();
+        Map<Long, StudentSnapshot> students = new HashMap<>();
+        for (int from = 0; from < accountIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = accountIds.subList(from, Math.min(accountIds.size(), from + IN_CHUNK_SIZE));
+            userProfileRepository.findStudentSnapshotsByAccountIds(chunk)
+                    .forEach(s -> students.put(s.accountId(), s));
+        }
+        return students;
+    }
+
+    private Set<AccountUsedDate> loadUsedDates(List<Candidate> candidates) {
+        List<Long> accountIds = candidates.stream().map(Candidate::accountId).distinct().toList();
+        Set<LocalDate> usedDates = new HashSet<>();
+        candidates.forEach(c -> usedDates.add(c.usedDate()));
+
+        Set<AccountUsedDate> used = new HashSet<>();
+        for (int from = 0; from < accountIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = accountIds.subList(from, Math.min(accountIds.size(), from + IN_CHUNK_SIZE));
+            used.addAll(mealUsageRepository.findUsedDates(chunk, usedDates));
+        }
+        return used;
+    }
+
+    /**
+     * @return 재고가 배정된(또는 차감 대상이 아닌 지난 날짜) 후보
+     */
+    private List<Candidate> allocateStock(List<Candidate> candidates, LocalDate today, OfflineScanStatus[] statuses) {
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        Map<Long, List<Candidate>> todayByGroup = new TreeMap<>();
+        for (Candidate c : candidates) {
+            if (c.usedDate().equals(today)) {
+                todayByGroup.computeIfAbsent(c.menuGroupId(), id -> new ArrayList<>()).add(c);
+            } else {
+                accepted.add(c);
+            }
+        }
+
+        for (Map.Entry<Long, List<Candidate>> entry : todayByGroup.entrySet()) {
+            Long groupId = entry.getKey();
+            List<Candidate> claimed = new ArrayList<>();
+            for (Candidate c : entry.getValue()) {
+                // 저널 모드 등 비트맵이 기준이면 선점으로 실시간 스캔과의 중복을 막는다
+                if (todayRedemptionBitmap.isAuthoritative(today) && !todayRedemptionBitmap.claim(c.accountId(), today)) {
+                    statuses[c.index()] = OfflineScanStatus.DUPLICATE;
+                    continue;
+                }
+                claimed.add(c);
+            }
+
+            int granted = grantStock(groupId, claimed.size(), today);
+            accepted.addAll(claimed.subList(0, granted));
+            for (Candidate c : claimed.subList(granted, claimed.size())) {
+                statuses[c.index()] = OfflineScanStatus.SOLD_OUT;
+                todayRedemptionBitmap.release(c.accountId(), today);
+            }
+            log.info("[QR][OFFLINE] stock granted. groupId={}, requested={}, granted={}",
+                    groupId, claimed.size(), granted);
+        }
+        return accepted;
+    }
+
+    /**
+     * 그룹 재고에서 최대 wanted 만큼 차감
+     * 장부 시간대면 장부에서, 아니면 그룹 행을 한 번 잠그고 가능한 만큼 한 번에 차감한다.
+     */
+    private int grantStock(Long groupId, int wanted, LocalDate today) {
+        int granted = 0;
+        while (granted < wanted) {
+            Optional<HotStockLedger.Deduction> deduction = hotStockLedger.deduct(groupId, 1);
+            if (deduction.isEmpty()) {
+                // 장부가 관리하지 않는 그룹/시간대 → DB
+                return granted + grantFromDatabase(groupId, wanted - granted, today);
+            }
+            if (!deduction.get().deducted()) {
+                return granted;
+            }
+            granted++;
+        }
+        return granted;
+    }
+
+    private int grantFromDatabase(Long groupId, int wanted, LocalDate today) {
+        MenuGroupStock stock = menuGroupStockSlotService.lockGroupStock(groupId).orElse(null);
+        if (stock == null) {
+            return 0;
+        }
+        List<MenuGroupStockSlot> slots = stock.isStriped() ? menuGroupStockSlotService.gather(stock) : List.of();
+        int grant = Math.min(wanted, stock.getStock());
+        if (grant > 0) {
+            StockDeductResult result = stock.deduct(grant, today);
+            if (result.notifyLowStock30()) {
+                MenuGroup group = stock.getMenuGroup();
+                Store store = group.getStore();
+                eventPublisher.publishEvent(new LowStock30Event(
+                        store.getId(),
+                        store.getName(),
+                        groupId,
+                        group.getName(),
+                        stock.getStock()
+                ));
+            }
+        }
+        if (stock.isStriped()) {
+            menuGroupStockSlotService.spread(stock, slots);
+        }
+        return grant;
+    }
+
+    /**
+     * 배정했지만 기록되지 않은 만큼 재고 복구 (같은 트랜잭션이라 롤백되면 함께 되돌아간다)
+     */
+    private void refundStock(Long groupId, int count) {
+        if (!hotStockLedger.refund(groupId, count)) {
+            menuGroupStockRepository.applyStockDelta(groupId, -count);
+        }
+        log.info("[QR][OFFLINE] stock refunded for skipped rows. groupId={}, count={}", groupId, count);
+    }
+
+    private OfflineScanBatchResponse toResponse(List<OfflineScanRecord> scans, OfflineScanStatus[] statuses, Long storeId) {
+        List<OfflineScanResult> results = new ArrayList<>(scans.size());
+        Map<OfflineScanStatus, Integer> counts = new EnumMap<>(OfflineScanStatus.class);
+        for (int i = 0; i < scans.size(); i++) {
+            results.add(new OfflineScanResult(i, scans.get(i).accountId(), statuses[i]));
+            counts.merge(statuses[i], 1, Integer::sum);
+        }
+        int accepted = counts.getOrDefault(OfflineScanStatus.ACCEPTED, 0);
+        log.info("[QR][OFFLINE] ingested. storeId={}, total={}, outcomes={}", storeId, scans.size(), counts);
+        return new OfflineScanBatchResponse(scans.size(), accepted, results);
+    }
+
+    private record Candidate(
+            int index,
+            Long accountId,
+            Long menuGroupId,
+            LocalDateTime usedAt,
+            LocalDate usedDate
+    ) {
+    }
+}
@@ -0,0 +1,56 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.qr.api.dto.KioskQrCodeResponse;
+import com._1000meal.qr.dto.SignedQrCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * 키오스크용 서명 QR 발급
+ * 키오스크는 refreshAfterSeconds 마다 다시 호출해 화면의 QR 을 교체한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class QrKioskService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final SignedQrCodec signedQrCodec;
+    private final MenuGroupRepository menuGroupRepository;
+    private final QrTargetMenuGroupResolver qrTargetMenuGroupResolver;
+
+    /**
+     * @param menuGroupId null 이면 오늘 메뉴가 등록된 그룹으로 결정
+     */
+    public KioskQrCodeResponse issueCurrentCode(Long storeId, Long menuGroupId) {
+        if (!signedQrCodec.isEnabled()) {
+            throw new CustomException(ErrorCode.CONFLICT, "서명 QR이 설정되지 않았습니다.");
+        }
+
+        Instant now = Instant.now();
+        Long groupId = menuGroupId != null
+                ? menuGroupRepository.findByIdAndStoreId(menuGroupId, storeId)
+                        .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND, "메뉴 그룹을 찾을 수 없습니다."))
+                        .getId()
+                : qrTargetMenuGroupResolver.resolveMenuGroupId(storeId, LocalDate.ofInstant(now, KST));
+
+        SignedQrCode code = signedQrCodec.issue(storeId, groupId, now);
+        long refreshAfterSeconds = Math.max(1, code.expiresAt().getEpochSecond() - now.getEpochSecond());
+        return new KioskQrCodeResponse(
+                storeId,
+                groupId,
+                code.payload(),
+                code.expiresAt().atZone(KST).toOffsetDateTime().toString(),
+                refreshAfterSeconds
+        );
+    }
+}
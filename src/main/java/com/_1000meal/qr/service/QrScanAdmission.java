@@ -0,0 +1,184 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.qr.dto.QrTokenEntry;
+import com._1000meal.qr.dto.SignedQrClaims;
+import com._1000meal.qr.exception.QrAdmissionRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 오픈 러시 QR 이용 입장 제어
+ * - 매장 단위, 그룹 단위로 동시 처리 수를 제한해 Hikari 풀과 재고 행 락 경합을 예측 가능한 범위로 묶는다.
+ * - 그룹 게이트는 QR 토큰(또는 서명 QR)에 menuGroupId 가 고정된 경우에만 건다.
+ *   그룹을 스캔 시점에 고르는 매장 QR 은 토큰만으로 그룹을 알 수 없어 매장 게이트만 통과한다.
+ * - 기본 꺼짐 (qr.admission.enabled)
+ * - 대기열이 가득 찼거나 대기 시간이 초과되면 즉시 429 + Retry-After 로 응답한다.
+ * - 트랜잭션(커넥션 획득) 바깥에서 호출해야 의미가 있다.
+ */
+@Slf4j
+@Component
+public class QrScanAdmission {
+
+    private final QrTokenDirectory qrTokenDirectory;
+    private final SignedQrCodec signedQrCodec;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int storeMaxConcurrency;
+    private final int groupMaxConcurrency;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    private final Map<String, Gate> gates = new ConcurrentHashMap<>();
+
+    public QrScanAdmission(
+            QrTokenDirectory qrTokenDirectory,
+            SignedQrCodec signedQrCodec,
+            MeterRegistry meterRegistry,
+            @Value("${qr.admission.enabled:false}") boolean enabled,
+            @Value("${qr.admission.store-max-concurrency:8}") int storeMaxConcurrency,
+            @Value("${qr.admission.group-max-concurrency:4}") int groupMaxConcurrency,
+            @Value("${qr.admission.max-queue:64}") int maxQueue,
+            @Value("${qr.admission.max-wait-ms:500}") long maxWaitMillis,
+            @Value("${qr.admission.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this.qrTokenDirectory = qrTokenDirectory;
+        this.signedQrCodec = signedQrCodec;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.storeMaxConcurrency = storeMaxConcurrency;
+        this.groupMaxConcurrency = groupMaxConcurrency;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 토큰이 가리키는 매장/그룹 게이트를 모두 통과한 뒤 action 실행
+     * 알 수 없는 토큰/검증 실패 서명 QR은 게이트 없이 통과시킨다(이용 처리에서 DB 조회 없이 거절됨).
+     */
+    public <T> T admit(String qrToken, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+
+        Long storeId;
+        Long menuGroupId;
+        if (signedQrCodec.isSigned(qrToken)) {
+            SignedQrClaims claims = signedQrCodec.verify(qrToken, Instant.now()).orElse(null);
+            if (claims == null) {
+                return action.get();
+            }
+            storeId = claims.storeId();
+            menuGroupId = claims.menuGroupId();
+        } else {
+            QrTokenEntry entry = qrTokenDirectory.findActive(qrToken).orElse(null);
+            if (entry == null) {
+                return action.get();
+            }
+            storeId = entry.storeId();
+            menuGroupId = entry.menuGroupId();
+        }
+
+        Gate storeGate = gate("store", storeId, storeMaxConcurrency);
+        Gate groupGate = menuGroupId != null
+                ? gate("group", menuGroupId, groupMaxConcurrency)
+                : null;
+
+        storeGate.enter();
+        try {
+            if (groupGate == null) {
+                return action.get();
+            }
+            groupGate.enter();
+            try {
+                return action.get();
+            } finally {
+                groupGate.leave();
+            }
+        } finally {
+            storeGate.leave();
+        }
+    }
+
+    private Gate gate(String scope, Long id, int permits) {
+        return gates.computeIfAbsent(scope + ":" + id, key -> new Gate(scope, String.valueOf(id), permits));
+    }
+
+    private final class Gate {
+
+        private final String scope;
+        private final String id;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer admittedTimer;
+        private final Timer rejectedTimer;
+
+        private Gate(String scope, String id, int permits) {
+            this.scope = scope;
+            this.id = id;
+            this.permits = new Semaphore(Math.max(1, permits), true);
+            List<Tag> tags = List.of(Tag.of("scope", scope), Tag.of("id", id));
+            meterRegistry.gauge("qr.admission.queue.depth", tags, waiting);
+            this.admittedTimer = Timer.builder("qr.admission.wait")
+                    .tags(tags).tag("outcome", "admitted")
+                    .register(meterRegistry);
+            this.rejectedTimer = Timer.builder("qr.admission.wait")
+                    .tags(tags).tag("outcome", "rejected")
+                    .register(meterRegistry);
+        }
+
+        void enter() {
+            if (permits.tryAcquire()) {
+                admittedTimer.record(0, TimeUnit.NANOSECONDS);
+                return;
+            }
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                reject(0L);
+            }
+
+            long startedAt = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            } finally {
+                waiting.decrementAndGet();
+            }
+
+            long waitedNanos = System.nanoTime() - startedAt;
+            if (!acquired) {
+                reject(waitedNanos);
+            }
+            admittedTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        void leave() {
+            permits.release();
+        }
+
+        private void reject(long waitedNanos) {
+            rejectedTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+            log.warn("[QR][ADMISSION] rejected. scope={}, id={}, waiting={}, waitedMs={}",
+                    scope, id, waiting.get(), TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+            throw new QrAdmissionRejectedException(retryAfterSeconds);
+        }
+    }
+}
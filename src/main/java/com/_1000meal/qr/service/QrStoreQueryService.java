@@ -6,6 +6,7 @@ import com._1000meal.menu.domain.MenuGroup;
 import com._1000meal.menu.repository.MenuGroupRepository;
 import com._1000meal.qr.api.dto.QrStoreResponse;
 import com._1000meal.qr.domain.StoreQr;
+import com._1000meal.qr.dto.QrTokenEntry;
 import com._1000meal.qr.repository.StoreQrRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -26,13 +27,20 @@ public class QrStoreQueryService {
 
     private final StoreQrRepository storeQrRepository;
     private final MenuGroupRepository menuGroupRepository;
+    private final QrTokenDirectory qrTokenDirectory;
 
     public QrStoreResponse getByQrToken(String qrToken) {
-        StoreQr storeQr = storeQrRepository.findActiveByQrTokenWithStore(qrToken)
+        QrTokenEntry entry = qrTokenDirectory.findActive(qrToken)
                 .orElseThrow(() -> new CustomNotFoundException(ErrorCode.QR_TOKEN_NOT_FOUND));
 
-        MenuGroup menuGroup = resolveMenuGroup(storeQr.getMenuGroupId());
-        return toResponse(storeQr, menuGroup);
+        return new QrStoreResponse(
+                entry.storeId(),
+                entry.storeName(),
+                entry.menuGroupId(),
+                entry.menuGroupName(),
+                entry.qrToken(),
+                entry.active()
+        );
     }
 
     public List<QrStoreResponse> getAll() {
@@ -44,13 +52,6 @@ public class QrStoreQueryService {
                 .toList();
     }
 
-    private MenuGroup resolveMenuGroup(Long menuGroupId) {
-        if (menuGroupId == null) {
-            return null;
-        }
-        return menuGroupRepository.findById(menuGroupId).orElse(null);
-    }
-
     private Map<Long, MenuGroup> loadMenuGroupMap(List<StoreQr> storeQrs) {
         List<Long> menuGroupIds = storeQrs.stream()
                 .map(StoreQr::getMenuGroupId)
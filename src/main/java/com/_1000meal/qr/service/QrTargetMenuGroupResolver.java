@@ -3,6 +3,7 @@ package com._1000meal.qr.service;
 import com._1000meal.global.error.code.ErrorCode;
 import com._1000meal.global.error.exception.CustomException;
 import com._1000meal.menu.repository.GroupDailyMenuRepository;
+import com._1000meal.qr.dto.QrRedemptionTarget;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -17,13 +18,27 @@ public class QrTargetMenuGroupResolver {
 
     public Long resolveMenuGroupId(Long storeId, LocalDate usedDate) {
         List<Long> groupIds = groupDailyMenuRepository.findMenuGroupIdsByStoreIdAndDate(storeId, usedDate);
+        return resolve(groupIds.isEmpty() ? null : groupIds.get(0), groupIds.size());
+    }
+
+    /**
+     * 이미 조회된 projection 으로 대상 그룹 결정 (추가 쿼리 없음)
+     */
+    public Long resolveMenuGroupId(QrRedemptionTarget target) {
+        if (target.hasFixedMenuGroup()) {
+            return target.menuGroupId();
+        }
+        long count = target.todayMenuGroupCount() != null ? target.todayMenuGroupCount() : 0L;
+        return resolve(target.todayMenuGroupId(), count);
+    }
 
-        if (groupIds.isEmpty()) {
+    private Long resolve(Long groupId, long groupCount) {
+        if (groupCount == 0 || groupId == null) {
             throw new CustomException(ErrorCode.CONFLICT, "오늘 메뉴가 없어 이용할 수 없습니다.");
         }
-        if (groupIds.size() > 1) {
+        if (groupCount > 1) {
             throw new CustomException(ErrorCode.CONFLICT, "오늘 이용 그룹을 결정할 수 없습니다. 관리자에게 문의하세요.");
         }
-        return groupIds.get(0);
+        return groupId;
     }
 }
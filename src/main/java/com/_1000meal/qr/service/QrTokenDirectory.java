@@ -0,0 +1,216 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.qr.domain.StoreQr;
+import com._1000meal.qr.dto.QrTokenEntry;
+import com._1000meal.qr.repository.StoreQrRepository;
+import com._1000meal.store.event.StoreViewChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * QR 토큰 인메모리 디렉터리
+ * - 기동 시 store_qr 전체를 적재하고, StoreQr 변경 시(커밋 후) 해당 토큰만 다시 읽는다.
+ * - 디렉터리에 없는 토큰은 DB 를 한 번 확인한 뒤 음성 캐시에 올려, 같은 잘못된 토큰은 DB 까지 가지 않는다.
+ * - 매장/메뉴 그룹 화면 데이터가 바뀌면(StoreViewChangedEvent, 이름 변경 포함) 해당 매장 토큰을 비워 다시 읽게 한다.
+ * - 재적재는 새 맵을 만들어 통째로 바꿔 끼운다. 재적재 도중 비워진 토큰은 바꿔 끼운 뒤 다시 비운다.
+ * - 조회 결과는 qr.token_directory.lookups{result=hit|miss|negative_hit} 로 집계된다.
+ */
+@Slf4j
+@Component
+public class QrTokenDirectory {
+
+    private static final int NEGATIVE_CACHE_MAX_SIZE = 10_000;
+    private static final Duration NEGATIVE_CACHE_TTL = Duration.ofMinutes(10);
+
+    private final StoreQrRepository storeQrRepository;
+    private final MenuGroupRepository menuGroupRepository;
+
+    private volatile Map<String, QrTokenEntry> entries = new ConcurrentHashMap<>();
+    // 마지막 재적재 시작 이후 비워진 토큰 (재적재가 읽은 DB 스냅샷보다 새 변경)
+    private final Set<String> evictedSinceReload = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> unknownTokens = Caffeine.newBuilder()
+            .maximumSize(NEGATIVE_CACHE_MAX_SIZE)
+            .expireAfterWrite(NEGATIVE_CACHE_TTL)
+            .build();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter negativeHitCounter;
+
+    public QrTokenDirectory(
+            StoreQrRepository storeQrRepository,
+            MenuGroupRepository menuGroupRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.storeQrRepository = storeQrRepository;
+        this.menuGroupRepository = menuGroupRepository;
+        this.hitCounter = meterRegistry.counter("qr.token_directory.lookups", "result", "hit");
+        this.missCounter = meterRegistry.counter("qr.token_directory.lookups", "result", "miss");
+        this.negativeHitCounter = meterRegistry.counter("qr.token_directory.lookups", "result", "negative_hit");
+        meterRegistry.gauge("qr.token_directory.size", List.of(), this, directory -> directory.entries.size());
+    }
+
+    /**
+     * 토큰 조회 (비활성 토큰도 항목으로 반환하며, 활성 여부는 호출부에서 판단)
+     */
+    public Optional<QrTokenEntry> find(String qrToken) {
+        if (qrToken == null || qrToken.isBlank()) {
+            negativeHitCounter.increment();
+            return Optional.empty();
+        }
+
+        QrTokenEntry entry = entries.get(qrToken);
+        if (entry != null) {
+            hitCounter.increment();
+            return Optional.of(entry);
+        }
+
+        if (unknownTokens.getIfPresent(qrToken) != null) {
+            negativeHitCounter.increment();
+            return Optional.empty();
+        }
+
+        missCounter.increment();
+        Optional<QrTokenEntry> loaded = loadToken(qrToken);
+        if (loaded.isEmpty()) {
+            unknownTokens.put(qrToken, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    public Optional<QrTokenEntry> findActive(String qrToken) {
+        return find(qrToken).filter(QrTokenEntry::active);
+    }
+
+    /**
+     * StoreQr 행 변경 알림: 트랜잭션 중이면 커밋 후에 반영해 미커밋 상태를 음성 캐시에 올리지 않는다.
+     */
+    public void onStoreQrChanged(String qrToken) {
+        if (qrToken == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(qrToken);
+                }
+            });
+            return;
+        }
+        evict(qrToken);
+    }
+
+    /**
+     * 매장 정보/메뉴 그룹 변경(이름 포함) 커밋 후: 해당 매장 토큰을 비워 다음 조회 때 다시 읽는다. 전체 변경이면 재적재
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreViewChanged(StoreViewChangedEvent event) {
+        if (event.isAll()) {
+            reload();
+            return;
+        }
+        Set<Long> storeIds = Set.copyOf(event.storeIds());
+        entries.values().stream()
+                .filter(entry -> storeIds.contains(entry.storeId()))
+                .map(QrTokenEntry::qrToken)
+                .toList()
+                .forEach(this::evict);
+    }
+
+    /**
+     * 기동 시 전체 적재 + 주기적 재적재 (DB 직접 수정 등 애플리케이션 밖 변경 보정)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 */10 * * * *", zone = "Asia/Seoul")
+    public synchronized void reload() {
+        evictedSinceReload.clear();
+        List<StoreQr> storeQrs = storeQrRepository.findAllWithStore();
+        Map<Long, String> groupNames = loadMenuGroupNames(storeQrs);
+
+        Map<String, QrTokenEntry> loaded = storeQrs.stream()
+                .collect(Collectors.toMap(
+                        StoreQr::getQrToken,
+                        storeQr -> toEntry(storeQr, groupNames.get(storeQr.getMenuGroupId())),
+                        (a, b) -> a,
+                        ConcurrentHashMap::new
+                ));
+
+        entries = loaded;
+        // 읽는 사이 커밋된 변경은 스냅샷에 없을 수 있으므로 바꿔 끼운 뒤 다시 비운다
+        evictedSinceReload.forEach(loaded::remove);
+        unknownTokens.invalidateAll();
+
+        log.info("[QR][TOKEN_DIRECTORY] reloaded. tokens={}", loaded.size());
+    }
+
+    private void evict(String qrToken) {
+        evictedSinceReload.add(qrToken);
+        entries.remove(qrToken);
+        unknownTokens.invalidate(qrToken);
+        log.info("[QR][TOKEN_DIRECTORY] evicted. token={}", qrToken);
+    }
+
+    private Optional<QrTokenEntry> loadToken(String qrToken) {
+        Optional<QrTokenEntry> loaded = storeQrRepository.findByQrTokenWithStore(qrToken)
+                .map(storeQr -> toEntry(storeQr, resolveMenuGroupName(storeQr.getMenuGroupId())));
+        loaded.ifPresent(entry -> entries.put(qrToken, entry));
+        return loaded;
+    }
+
+    private String resolveMenuGroupName(Long menuGroupId) {
+        if (menuGroupId == null) {
+            return null;
+        }
+        return menuGroupRepository.findById(menuGroupId).map(MenuGroup::getName).orElse(null);
+    }
+
+    private Map<Long, String> loadMenuGroupNames(List<StoreQr> storeQrs) {
+        List<Long> menuGroupIds = storeQrs.stream()
+                .map(StoreQr::getMenuGroupId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, String> names = new HashMap<>();
+        if (!menuGroupIds.isEmpty()) {
+            menuGroupRepository.findByIdIn(menuGroupIds)
+                    .forEach(group -> names.put(group.getId(), group.getName()));
+        }
+        return names;
+    }
+
+    private QrTokenEntry toEntry(StoreQr storeQr, String menuGroupName) {
+        return new QrTokenEntry(
+                storeQr.getQrToken(),
+                storeQr.getStore().getId(),
+                storeQr.getStore().getName(),
+                storeQr.getMenuGroupId(),
+                menuGroupName,
+                storeQr.isActive()
+        );
+    }
+}
@@ -1,9 +1,6 @@
 package com._1000meal.qr.service;
 
-import com._1000meal.auth.model.Account;
-import com._1000meal.auth.model.UserProfile;
 import com._1000meal.auth.repository.AccountRepository;
-import com._1000meal.auth.repository.UserProfileRepository;
 import com._1000meal.global.error.code.ErrorCode;
 import com._1000meal.global.error.code.StoreErrorCode;
 import com._1000meal.global.error.exception.CustomException;
@@ -12,19 +9,32 @@ import com._1000meal.qr.exception.SoldOutException;
 import com._1000meal.qr.api.dto.QrUsageResponse;
 import com._1000meal.qr.api.dto.TodayQrUsageResponse;
 import com._1000meal.qr.domain.MealUsage;
-import com._1000meal.qr.domain.StoreQr;
+import com._1000meal.qr.dto.QrRedemptionTarget;
+import com._1000meal.qr.dto.SignedQrClaims;
+import com._1000meal.qr.dto.StudentSnapshot;
+import com._1000meal.qr.journal.MealUsageJournal;
+import com._1000meal.qr.journal.MealUsageJournalRecord;
 import com._1000meal.qr.repository.MealUsageRepository;
 import com._1000meal.qr.repository.StoreQrRepository;
+import com._1000meal.menu.event.StockChangedEvent;
 import com._1000meal.menu.repository.DailyMenuRepository;
 import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.service.HotStockLedger;
+import com._1000meal.menu.service.MenuGroupStockSlotService;
 import com._1000meal.store.domain.Store;
 import com._1000meal.store.event.StoreClosedEvent;
 import com._1000meal.store.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,6 +42,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -43,87 +54,194 @@ public class QrUsageService {
     private final MealUsageRepository mealUsageRepository;
     private final StoreRepository storeRepository;
     private final AccountRepository accountRepository;
-    private final UserProfileRepository userProfileRepository;
-    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final StudentSnapshotCache studentSnapshotCache;
+    private final MenuGroupStockSlotService menuGroupStockSlotService;
+    private final HotStockLedger hotStockLedger;
     private final QrTargetMenuGroupResolver qrTargetMenuGroupResolver;
+    private final QrTokenDirectory qrTokenDirectory;
+    private final SignedQrCodec signedQrCodec;
+    private final TodayRedemptionBitmap todayRedemptionBitmap;
+    private final MealUsageJournal mealUsageJournal;
     private final DailyMenuRepository dailyMenuRepository;
+    private final MenuGroupStockRepository menuGroupStockRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
+    /**
+     * QR 이용 처리
+     * - 토큰 디렉터리에서 없는/비활성 토큰은 DB 조회 없이 거절
+     * - 서명 QR(s1.)은 HMAC 과 시간 슬롯만 검증하고 store_qr 를 거치지 않는다
+     * - 오늘 이미 이용한 계정은 재고 행 락 이전에 메모리에서 거절
+     * - 조회 2회: (토큰 → 매장/그룹) projection, 학생 스냅샷 projection (스냅샷은 계정별 캐시 적중 시 생략)
+     * - 쓰기 2회: 재고 조건부 차감, MealUsage INSERT
+     *   (저널 모드에서는 INSERT 대신 커밋 후 저널 fsync 를 기다려 응답하고, meal_usage 반영은 배치로 뒤따른다)
+     * Account/Store 는 프록시 참조만 사용하므로 엔티티 로딩이 발생하지 않는다.
+     */
     @Transactional
     public QrUsageResponse createUsage(Long accountId, String qrToken) {
-        StoreQr storeQr = storeQrRepository.findByQrTokenAndIsActiveTrue(qrToken)
-                .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND, "QR을 찾을 수 없습니다."));
+        ZonedDateTime nowKst = ZonedDateTime.now(KST);
+        LocalDate usedDate = nowKst.toLocalDate();
+        LocalDateTime usedAt = nowKst.toLocalDateTime();
 
-        Store store = storeRepository.findById(storeQr.getStore().getId())
-                .orElseThrow(() -> new CustomException(StoreErrorCode.STORE_NOT_FOUND));
+        boolean signed = signedQrCodec.isSigned(qrToken);
+        SignedQrClaims claims = null;
+        if (signed) {
+            claims = signedQrCodec.verify(qrToken, nowKst.toInstant())
+                    .orElseThrow(() -> new CustomException(ErrorCode.BAD_REQUEST, "QR이 만료되었거나 올바르지 않습니다. 다시 스캔해주세요."));
+        } else if (qrTokenDirectory.findActive(qrToken).isEmpty()) {
+            throw new CustomException(ErrorCode.NOT_FOUND, "QR을 찾을 수 없습니다.");
+        }
+        if (todayRedemptionBitmap.contains(accountId, usedDate)) {
+            throw new CustomException(ErrorCode.CONFLICT, "오늘 이미 이용했습니다.");
+        }
+
+        Optional<QrRedemptionTarget> found = signed
+                ? storeQrRepository.findSignedRedemptionTarget(claims.storeId(), claims.menuGroupId())
+                : storeQrRepository.findRedemptionTarget(qrToken, usedDate);
+        QrRedemptionTarget target = found
+                .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND, "QR을 찾을 수 없습니다."));
 
-        if (!store.isOpen()) {
+        if (!target.storeOpen()) {
             throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED, "영업 중인 매장이 아닙니다.");
         }
+        // 필요시 : 차후 openTime/closeTime 기반 시간 검증 적용
 
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
+        Long menuGroupId = qrTargetMenuGroupResolver.resolveMenuGroupId(target);
 
-        UserProfile profile = userProfileRepository.findByAccountId(accountId)
+        StudentSnapshot student = studentSnapshotCache.find(accountId)
                 .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND, "사용자 프로필을 찾을 수 없습니다."));
 
-        ZonedDateTime nowKst = ZonedDateTime.now(KST);
-        LocalDate usedDate = nowKst.toLocalDate();
-        LocalDateTime usedAt = nowKst.toLocalDateTime();
-        // 필요시 : 차후 openTime/closeTime 기반 시간 검증 적용
-        // LocalTime nowTime = nowKst.toLocalTime();
-        // LocalTime openTime = store.getOpenTime();
-        // LocalTime closeTime = store.getCloseTime();
-        // if (openTime != null && nowTime.isBefore(openTime)) {
-        //     throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED, "오픈 시간 이전에는 이용할 수 없습니다.");
-        // }
-        // if (closeTime != null && nowTime.isAfter(closeTime)) {
-        //     throw new CustomException(StoreErrorCode.STORE_ACCESS_DENIED, "영업 종료 후에는 이용할 수 없습니다.");
-        // }
-
-        String studentNoSnapshot = account.getUserId();
+        String studentNoSnapshot = student.studentNo();
         if (studentNoSnapshot == null || studentNoSnapshot.isBlank()) {
             throw new MissingStudentNumberException();
         }
 
-        String deptSnapshot = profile.getDepartment() == null ? "" : profile.getDepartment();
-        String nameSnapshot = profile.getName() == null ? "" : profile.getName();
+        String deptSnapshot = student.department() == null ? "" : student.department();
+        String nameSnapshot = student.name() == null ? "" : student.name();
 
-        Long menuGroupId = storeQr.getMenuGroupId() != null
-                ? storeQr.getMenuGroupId()
-                : qrTargetMenuGroupResolver.resolveMenuGroupId(store.getId(), usedDate);
+        // 저널 모드: 중복 판정을 비트맵 선점으로 대신하고, 차감 후 저널 fsync 까지 기다린다
+        boolean journaled = mealUsageJournal.isAvailable() && todayRedemptionBitmap.isAuthoritative(usedDate);
+        if (journaled && !todayRedemptionBitmap.claim(accountId, usedDate)) {
+            throw new CustomException(ErrorCode.CONFLICT, "오늘 이미 이용했습니다.");
+        }
 
-        MealUsage mealUsage = MealUsage.create(
-                account,
-                store,
-                menuGroupId,
-                usedAt,
-                usedDate,
-                deptSnapshot,
-                studentNoSnapshot,
-                nameSnapshot
-        );
-        int updated = menuGroupStockRepository.decrementStockIfAvailable(menuGroupId);
-        if (updated == 0) {
+        // 오픈 러시 시간대에는 인메모리 장부에서 차감, 그 외에는 DB 조건부 차감
+        boolean deducted = hotStockLedger.deduct(menuGroupId, 1)
+                .map(HotStockLedger.Deduction::deducted)
+                .orElseGet(() -> menuGroupStockSlotService.decrementStockIfAvailable(menuGroupId) > 0);
+        if (!deducted) {
             throw new SoldOutException();
         }
+        eventPublisher.publishEvent(StockChangedEvent.ofDeduction(target.storeId(), menuGroupId, 1));
 
-        try {
-            mealUsageRepository.save(mealUsage);
-        } catch (DataIntegrityViolationException e) {
-            throw new CustomException(ErrorCode.CONFLICT, "오늘 이미 이용했습니다.");
+        if (journaled) {
+            appendAfterCommit(new MealUsageJournalRecord(
+                    0L,
+                    accountId,
+                    target.storeId(),
+                    menuGroupId,
+                    usedAt,
+                    usedDate,
+                    deptSnapshot,
+                    studentNoSnapshot,
+                    nameSnapshot,
+                    usedAt
+            ));
+        } else {
+            saveUsage(accountId, usedDate, MealUsage.create(
+                    accountRepository.getReferenceById(accountId),
+                    storeRepository.getReferenceById(target.storeId()),
+                    menuGroupId,
+                    usedAt,
+                    usedDate,
+                    deptSnapshot,
+                    studentNoSnapshot,
+                    nameSnapshot
+            ));
         }
 
         return new QrUsageResponse(
-                store.getId(),
-                store.getName(),
+                target.storeId(),
+                target.storeName(),
                 nowKst.toOffsetDateTime().toString(),
                 usedDate
         );
     }
 
+    /**
+     * 저널 기록은 DB 커밋 후에 한다. (커밋이 실패해 되돌려진 차감/선점이 저널로 되살아나지 않도록)
+     * 커밋 콜백 안에서 fsync 까지 기다리므로 응답은 기록이 끝난 뒤 나간다.
+     * 기록에 실패하면 이미 커밋된 차감과 비트맵 선점을 되돌리고 예외를 그대로 던진다.
+     */
+    private void appendAfterCommit(MealUsageJournalRecord record) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mealUsageJournal.append(record);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    mealUsageJournal.append(record);
+                } catch (RuntimeException e) {
+                    restoreUnrecordedUsage(record);
+                    throw e;
+                }
+            }
+        });
+    }
+
+    private void restoreUnrecordedUsage(MealUsageJournalRecord record) {
+        Long menuGroupId = record.menuGroupId();
+        try {
+            // 커밋 콜백 안이므로 새 트랜잭션으로 재고를 돌려놓는다 (분산 모드여도 그룹 행에)
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            tx.executeWithoutResult(status -> {
+                if (!hotStockLedger.refund(menuGroupId, 1)) {
+                    menuGroupStockRepository.applyStockDelta(menuGroupId, -1);
+                }
+                eventPublisher.publishEvent(StockChangedEvent.ofGroup(record.storeId(), menuGroupId));
+            });
+            log.warn("[QR][JOURNAL][RESTORED] accountId={}, menuGroupId={}", record.accountId(), menuGroupId);
+        } catch (RuntimeException e) {
+            log.error("[QR][JOURNAL][RESTORE_FAILED] accountId={}, menuGroupId={}, error={}",
+                    record.accountId(), menuGroupId, e.getMessage(), e);
+        } finally {
+            todayRedemptionBitmap.release(record.accountId(), record.usedDate());
+        }
+    }
+
+    private void saveUsage(Long accountId, LocalDate usedDate, MealUsage mealUsage) {
+        try {
+            mealUsageRepository.save(mealUsage);
+        } catch (DataIntegrityViolationException e) {
+            todayRedemptionBitmap.markRedeemedNow(accountId, usedDate);
+            throw new CustomException(ErrorCode.CONFLICT, "오늘 이미 이용했습니다.");
+        }
+        todayRedemptionBitmap.markRedeemed(accountId, usedDate);
+    }
+
     public TodayQrUsageResponse getTodayUsage(Long accountId) {
         LocalDate usedDate = LocalDate.now(KST);
+        if (todayRedemptionBitmap.isAuthoritative(usedDate)
+                && !todayRedemptionBitmap.contains(accountId, usedDate)) {
+            return new TodayQrUsageResponse(false, null, null, null, null);
+        }
+
+        // 아직 meal_usage 에 반영되지 않은 저널 기록
+        Optional<MealUsageJournalRecord> pending = mealUsageJournal.findPending(accountId, usedDate);
+        if (pending.isPresent()) {
+            MealUsageJournalRecord record = pending.get();
+            return new TodayQrUsageResponse(
+                    true,
+                    record.storeId(),
+                    storeRepository.findById(record.storeId()).map(Store::getName).orElse(null),
+                    record.usedAt().atZone(KST).toOffsetDateTime().toString(),
+                    record.usedDate().toString()
+            );
+        }
+
         Optional<MealUsage> usage = mealUsageRepository
                 .findTop1ByUserIdAndUsedDateOrderByUsedAtDesc(accountId, usedDate);
 
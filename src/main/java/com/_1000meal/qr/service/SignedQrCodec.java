@@ -0,0 +1,152 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.qr.dto.SignedQrClaims;
+import com._1000meal.qr.dto.SignedQrCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 서명 QR (회전형)
+ * - payload = s1.{storeId}.{menuGroupId}.{slot}.{sig}
+ * - sig = HMAC-SHA256(secret, "{storeId}.{menuGroupId}.{slot}") 앞 16바이트 (base64url)
+ * - slot = epochSecond / slot-seconds 이므로 코드가 주기적으로 바뀌고, 캡처한 화면은 grace-slots 이후 거절된다.
+ * - 검증은 CPU 만 사용한다. (store_qr 조회 없음)
+ */
+@Component
+public class SignedQrCodec {
+
+    public static final String PREFIX = "s1.";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final long slotSeconds;
+    private final long graceSlots;
+    private final ThreadLocal<Mac> macs;
+
+    private final Counter validCounter;
+    private final Counter expiredCounter;
+    private final Counter invalidCounter;
+
+    public SignedQrCodec(
+            @Value("${qr.signed.secret:}") String secret,
+            @Value("${qr.signed.slot-seconds:30}") long slotSeconds,
+            @Value("${qr.signed.grace-slots:1}") long graceSlots,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = secret != null && !secret.isBlank();
+        this.slotSeconds = Math.max(1, slotSeconds);
+        this.graceSlots = Math.max(0, graceSlots);
+        SecretKeySpec key = enabled ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM) : null;
+        // Mac 은 스레드 안전하지 않으므로 스레드별로 초기화해 재사용
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+
+        this.validCounter = meterRegistry.counter("qr.signed.verify", "result", "valid");
+        this.expiredCounter = meterRegistry.counter("qr.signed.verify", "result", "expired");
+        this.invalidCounter = meterRegistry.counter("qr.signed.verify", "result", "invalid");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSigned(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    public long slotSeconds() {
+        return slotSeconds;
+    }
+
+    public SignedQrCode issue(Long storeId, Long menuGroupId, Instant now) {
+        if (!enabled) {
+            throw new IllegalStateException("qr.signed.secret is not configured");
+        }
+        long slot = slotOf(now);
+        String body = storeId + "." + menuGroupId + "." + slot;
+        String payload = PREFIX + body + "." + ENCODER.encodeToString(sign(body));
+        return new SignedQrCode(payload, slot, Instant.ofEpochSecond((slot + 1) * slotSeconds));
+    }
+
+    /**
+     * 서명과 시간 슬롯 검증
+     * @return 위조/형식 오류/만료면 empty
+     */
+    public Optional<SignedQrClaims> verify(String token, Instant now) {
+        if (!enabled || !isSigned(token)) {
+            return Optional.empty();
+        }
+
+        int storeEnd = token.indexOf('.', PREFIX.length());
+        int groupEnd = storeEnd < 0 ? -1 : token.indexOf('.', storeEnd + 1);
+        int slotEnd = groupEnd < 0 ? -1 : token.indexOf('.', groupEnd + 1);
+        if (slotEnd < 0 || token.indexOf('.', slotEnd + 1) >= 0) {
+            invalidCounter.increment();
+            return Optional.empty();
+        }
+
+        long storeId;
+        long menuGroupId;
+        long slot;
+        byte[] signature;
+        try {
+            storeId = Long.parseLong(token, PREFIX.length(), storeEnd, 10);
+            menuGroupId = Long.parseLong(token, storeEnd + 1, groupEnd, 10);
+            slot = Long.parseLong(token, groupEnd + 1, slotEnd, 10);
+            signature = DECODER.decode(token.substring(slotEnd + 1));
+        } catch (IllegalArgumentException e) {
+            invalidCounter.increment();
+            return Optional.empty();
+        }
+
+        byte[] expected = sign(token.substring(PREFIX.length(), slotEnd));
+        if (!MessageDigest.isEqual(expected, signature)) {
+            invalidCounter.increment();
+            return Optional.empty();
+        }
+        if (Math.abs(slotOf(now) - slot) > graceSlots) {
+            expiredCounter.increment();
+            return Optional.empty();
+        }
+
+        validCounter.increment();
+        return Optional.of(new SignedQrClaims(storeId, menuGroupId, slot));
+    }
+
+    private long slotOf(Instant now) {
+        return Math.floorDiv(now.getEpochSecond(), slotSeconds);
+    }
+
+    private byte[] sign(String body) {
+        byte[] full = macs.get().doFinal(body.getBytes(StandardCharsets.US_ASCII));
+        return Arrays.copyOf(full, SIGNATURE_BYTES);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화 실패", e);
+        }
+    }
+}
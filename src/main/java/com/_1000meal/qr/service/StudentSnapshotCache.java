@@ -0,0 +1,77 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.auth.repository.UserProfileRepository;
+import com._1000meal.qr.dto.StudentSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * QR 이용용 학생 스냅샷(학번/학과/이름) 계정별 캐시
+ * - 이용 처리마다 user_profiles JOIN accounts 조회를 반복하지 않는다.
+ * - Account/UserProfile 변경 시(StudentSnapshotChangeListener) 즉시 + 커밋 후 한 번 더 무효화한다.
+ * - 프로필이 없는 계정은 캐시하지 않는다(가입 직후 프로필 생성 대비).
+ */
+@Slf4j
+@Component
+public class StudentSnapshotCache {
+
+    private final UserProfileRepository userProfileRepository;
+    private final Cache<Long, StudentSnapshot> snapshots;
+
+    public StudentSnapshotCache(
+            UserProfileRepository userProfileRepository,
+            MeterRegistry meterRegistry,
+            @Value("${qr.student-snapshot-cache.maximum-size:50000}") long maximumSize,
+            @Value("${qr.student-snapshot-cache.ttl-minutes:60}") long ttlMinutes
+    ) {
+        this.userProfileRepository = userProfileRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "qr.student_snapshot");
+    }
+
+    public Optional<StudentSnapshot> find(Long accountId) {
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        StudentSnapshot cached = snapshots.getIfPresent(accountId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<StudentSnapshot> loaded = userProfileRepository.findStudentSnapshotByAccountId(accountId);
+        loaded.ifPresent(snapshot -> snapshots.put(accountId, snapshot));
+        return loaded;
+    }
+
+    /**
+     * 계정/프로필 변경 알림: 지금 비우고, 트랜잭션 중이면 커밋 후 한 번 더 비운다.
+     * (커밋 전에 다른 요청이 옛 값을 다시 올려 두는 경우 대비)
+     */
+    public void invalidate(Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        snapshots.invalidate(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.invalidate(accountId);
+                }
+            });
+        }
+    }
+}
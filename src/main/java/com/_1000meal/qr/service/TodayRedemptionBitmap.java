@@ -0,0 +1,179 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.qr.repository.MealUsageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 오늘 QR 이용을 마친 계정 id 비트맵
+ * - 기동 시 meal_usage(오늘) 로 채우고, 날짜가 바뀌면 비운다.
+ * - 중복 스캔을 재고 행 락 이전에 거절하기 위한 1차 필터이며, 최종 보장은 uk_meal_usage_user_date 이다.
+ * - 단일 인스턴스 운영 기준으로 "오늘 미이용" 응답도 메모리에서 답한다(isAuthoritative).
+ */
+@Slf4j
+@Component
+public class TodayRedemptionBitmap {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final MealUsageRepository mealUsageRepository;
+
+    private final BitSet redeemed = new BitSet();
+    // int 범위를 벗어나는 id 대비
+    private final Set<Long> overflow = new HashSet<>();
+    private LocalDate day = LocalDate.now(KST);
+    private boolean seeded = false;
+
+    public TodayRedemptionBitmap(MealUsageRepository mealUsageRepository) {
+        this.mealUsageRepository = mealUsageRepository;
+    }
+
+    /**
+     * 오늘 이용 계정을 비트맵에 합친다(OR).
+     * 조회와 반영 사이에 들어온 표시/선점을 지우지 않도록 비우지 않고 더하기만 한다.
+     * (그 사이 날짜가 넘어갔으면 어제 기준 조회 결과는 버린다)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        LocalDate today = LocalDate.now(KST);
+        List<Long> accountIds = mealUsageRepository.findDistinctAccountIdsByUsedDate(today);
+        synchronized (this) {
+            if (today.isAfter(day)) {
+                resetTo(today);
+            }
+            if (today.equals(day)) {
+                accountIds.forEach(this::set);
+            }
+            seeded = true;
+        }
+        log.info("[QR][REDEEMED_BITMAP] seeded. date={}, accounts={}", today, accountIds.size());
+    }
+
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
+    public synchronized void rollover() {
+        resetTo(LocalDate.now(KST));
+        log.info("[QR][REDEEMED_BITMAP] rollover. date={}", day);
+    }
+
+    public synchronized boolean contains(Long accountId, LocalDate usedDate) {
+        if (accountId == null || !usedDate.equals(day)) {
+            return false;
+        }
+        return accountId <= Integer.MAX_VALUE
+                ? redeemed.get(accountId.intValue())
+                : overflow.contains(accountId);
+    }
+
+    /**
+     * 시딩 이후 같은 날짜라면 비트가 없다는 것만으로 "오늘 미이용"을 답할 수 있다.
+     */
+    public synchronized boolean isAuthoritative(LocalDate usedDate) {
+        return seeded && usedDate.equals(day);
+    }
+
+    public synchronized int count() {
+        return redeemed.cardinality() + overflow.size();
+    }
+
+    /**
+     * 이용 기록 반영: 트랜잭션 중이면 커밋 이후에만 표시한다(롤백된 이용은 표시하지 않음).
+     */
+    public void markRedeemed(Long accountId, LocalDate usedDate) {
+        if (accountId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mark(accountId, usedDate);
+                }
+            });
+            return;
+        }
+        mark(accountId, usedDate);
+    }
+
+    /**
+     * DB 가 이미 이용했다고 판단한 경우(유니크 제약 위반) 즉시 표시
+     */
+    public void markRedeemedNow(Long accountId, LocalDate usedDate) {
+        if (accountId != null) {
+            mark(accountId, usedDate);
+        }
+    }
+
+    /**
+     * 이용 선점 (write-behind 모드: DB 유니크 제약 대신 비트맵으로 중복을 막는다)
+     * 트랜잭션이 롤백되면 선점을 해제한다.
+     * @return 이미 이용(선점)한 계정이면 false
+     */
+    public boolean claim(Long accountId, LocalDate usedDate) {
+        synchronized (this) {
+            if (accountId == null || !isAuthoritative(usedDate) || contains(accountId, usedDate)) {
+                return false;
+            }
+            set(accountId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(accountId, usedDate);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * 선점 해제 (선점 후 품절 등으로 이용이 성립하지 않은 경우)
+     */
+    public synchronized void release(Long accountId, LocalDate usedDate) {
+        if (accountId == null || !usedDate.equals(day)) {
+            return;
+        }
+        if (accountId <= Integer.MAX_VALUE) {
+            redeemed.clear(accountId.intValue());
+        } else {
+            overflow.remove(accountId);
+        }
+    }
+
+    private synchronized void mark(Long accountId, LocalDate usedDate) {
+        if (usedDate.isAfter(day)) {
+            resetTo(usedDate);
+        }
+        if (usedDate.equals(day)) {
+            set(accountId);
+        }
+    }
+
+    private void set(Long accountId) {
+        if (accountId <= Integer.MAX_VALUE) {
+            redeemed.set(accountId.intValue());
+        } else {
+            overflow.add(accountId);
+        }
+    }
+
+    private void resetTo(LocalDate date) {
+        redeemed.clear();
+        overflow.clear();
+        day = date;
+    }
+}
@@ -48,8 +48,9 @@ public class StoreController {
             description = """
                     모든 매장의 기본 정보를 조회합니다.
 
-                    - view=live (기본값): 실시간 조회
-                    - view=cached: 캐시된 목록 + 실시간 재고 덮어쓰기
+                    - view=snapshot (기본값): 오늘 메뉴 스냅샷 + 실시간 재고 덮어쓰기 (매장/메뉴 변경 시 갱신)
+                    - view=cached: 목록 전체 캐시 + 실시간 재고 덮어쓰기 (메뉴 구성은 최대 수 초 지연 / 만료 전 백그라운드 갱신)
+                    - view=live: 매 요청 DB 실시간 조회
                     """
     )
     @ApiResponses({
@@ -57,12 +58,14 @@ public class StoreController {
     })
     @GetMapping
     public ApiResponse<List<StoreResponse>> getAllStores(
-            @RequestParam(name = "view", required = false, defaultValue = "live")
+            @RequestParam(name = "view", required = false, defaultValue = "snapshot")
             String view
     ) {
-        List<StoreResponse> response = "cached".equalsIgnoreCase(view)
-                ? storeViewService.getAllStoresView()
-                : storeService.getAllStores();
+        List<StoreResponse> response = switch (view.toLowerCase()) {
+            case "live" -> storeService.getAllStores();
+            case "cached" -> storeViewService.getAllStoresCached();
+            default -> storeViewService.getAllStoresView();
+        };
         return ApiResponse.success(response, SuccessCode.OK);
     }
 
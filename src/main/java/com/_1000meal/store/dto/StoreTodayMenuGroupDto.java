@@ -5,10 +5,11 @@ import com._1000meal.menu.dto.MenuResponseDto;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class StoreTodayMenuGroupDto {
     private Long id;
     private String name;
@@ -16,6 +17,8 @@ public class StoreTodayMenuGroupDto {
     private boolean isDefault;
     private Integer capacity;
     private Integer stock;
+    // 오늘 차감 속도 기준 예상 소진 시각 (예측 불가 시 null)
+    private LocalDateTime predictedSellOutAt;
     @Builder.Default
     private List<MenuResponseDto> menus = List.of();
 
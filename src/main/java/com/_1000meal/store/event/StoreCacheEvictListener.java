@@ -0,0 +1,72 @@
+package com._1000meal.store.event;
+
+import com._1000meal.global.config.CacheConfig;
+import com._1000meal.menu.event.WeeklyMenuChangedEvent;
+import com._1000meal.menu.event.WeeklyMenuUploadedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 매장 조회 캐시 무효화
+ * - 매장 영업/종료, 주간 메뉴 업로드/변경, 화면 데이터 변경(그룹/메뉴/기본 메뉴/프리셋) 이 커밋되면
+ *   목록 캐시는 비우고, 상세 캐시는 해당 매장 키만 지운다.
+ * - 목록 캐시에 담긴 재고는 로드 시점 값이지만 응답 때마다 현재 재고로 덮어쓰므로(StoreViewService.getAllStoresCached)
+ *   StockChangedEvent 로는 비우지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoreCacheEvictListener {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreOpened(StoreOpenedEvent event) {
+        evict(List.of(event.storeId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreClosed(StoreClosedEvent event) {
+        evict(List.of(event.storeId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWeeklyMenuUploaded(WeeklyMenuUploadedEvent event) {
+        evict(List.of(event.storeId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWeeklyMenuChanged(WeeklyMenuChangedEvent event) {
+        evict(List.of(event.storeId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreViewChanged(StoreViewChangedEvent event) {
+        evict(event.storeIds());
+    }
+
+    // storeIds 가 비어 있으면 전체 매장
+    private void evict(List<Long> storeIds) {
+        Cache list = cacheManager.getCache(CacheConfig.STORES_LIST);
+        if (list != null) {
+            list.clear();
+        }
+
+        Cache detail = cacheManager.getCache(CacheConfig.STORES_DETAIL);
+        if (detail != null) {
+            if (storeIds.isEmpty()) {
+                detail.clear();
+            } else {
+                storeIds.forEach(detail::evict);
+            }
+        }
+        log.debug("[CACHE][STORE] evicted. storeIds={}", storeIds.isEmpty() ? "ALL" : storeIds);
+    }
+}
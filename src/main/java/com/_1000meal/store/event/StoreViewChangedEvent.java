@@ -0,0 +1,29 @@
+package com._1000meal.store.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 매장 목록/상세 화면 데이터 변경 이벤트 (오늘 스냅샷 갱신, 매장 조회 캐시 무효화용)
+ * - 매장 정보, 메뉴 그룹 구성, 그룹 메뉴, 기본 메뉴 규칙, 메뉴 프리셋이 바뀌면 발행한다.
+ * - 재고 변경은 StockChangedEvent 로 따로 알린다. (스냅샷은 재고를 조회 시점에 덮어씀)
+ * storeIds 가 비어 있으면 전체 매장
+ */
+public record StoreViewChangedEvent(List<Long> storeIds) {
+
+    public static StoreViewChangedEvent ofStore(Long storeId) {
+        return new StoreViewChangedEvent(List.of(storeId));
+    }
+
+    public static StoreViewChangedEvent ofStores(Collection<Long> storeIds) {
+        return new StoreViewChangedEvent(List.copyOf(storeIds));
+    }
+
+    public static StoreViewChangedEvent ofAll() {
+        return new StoreViewChangedEvent(List.of());
+    }
+
+    public boolean isAll() {
+        return storeIds.isEmpty();
+    }
+}
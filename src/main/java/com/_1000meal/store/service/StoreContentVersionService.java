@@ -0,0 +1,111 @@
+package com._1000meal.store.service;
+
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.event.WeeklyMenuChangedEvent;
+import com._1000meal.menu.event.WeeklyMenuUploadedEvent;
+import com._1000meal.store.event.StoreClosedEvent;
+import com._1000meal.store.event.StoreOpenedEvent;
+import com._1000meal.store.event.StoreViewChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 매장별 화면 데이터 버전 (조건부 GET ETag 용)
+ * - 매장/메뉴/재고 쓰기 경로가 발행하는 이벤트(커밋 후)로 매장 버전을 올린다. DB 를 읽지 않는다.
+ * - 목록 버전은 어느 매장이든 바뀌면 오르는 전체 시퀀스
+ * - 시퀀스는 기동 시각(ms)에서 시작하고 ETag 에 기동 시각을 함께 넣어, 재시작/다른 인스턴스의 ETag 와 겹치지 않는다.
+ * - 이벤트는 같은 인스턴스 안에서만 전달되므로, 다른 인스턴스에서 일어난 변경은 이 버전을 올리지 못한다.
+ *   그래서 ETag 에 max-stale 길이의 시간 구간(staleWindow)을 함께 넣는다. 구간이 바뀌면 ETag 도 바뀌어 200 을 다시 받는다.
+ *   다른 인스턴스 변경에 대한 304 는 최대 max-stale 동안만 나간다. 같은 인스턴스 변경은 커밋 즉시 반영된다.
+ */
+@Component
+public class StoreContentVersionService {
+
+    private final Clock clock;
+    private final long maxStaleMillis;
+    private final long epoch;
+    private final AtomicLong sequence;
+    private final Map<Long, Long> storeVersions = new ConcurrentHashMap<>();
+    private volatile long allVersion;
+
+    @Autowired
+    public StoreContentVersionService(@Value("${store.etag.max-stale-seconds:30}") long maxStaleSeconds) {
+        this(maxStaleSeconds, Clock.systemUTC());
+    }
+
+    public StoreContentVersionService(long maxStaleSeconds, Clock clock) {
+        this.clock = clock;
+        this.maxStaleMillis = Math.max(1, maxStaleSeconds) * 1000;
+        this.epoch = clock.millis();
+        this.sequence = new AtomicLong(epoch);
+        this.allVersion = epoch;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    // 현재 시간 구간 번호 (max-stale 마다 1 씩 오른다)
+    public long staleWindow() {
+        return clock.millis() / maxStaleMillis;
+    }
+
+    public long storeVersion(Long storeId) {
+        return Math.max(storeVersions.getOrDefault(storeId, 0L), allVersion);
+    }
+
+    public long listVersion() {
+        return sequence.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        bump(event.scope() == StockChangedEvent.Scope.ALL ? List.of() : event.storeIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreViewChanged(StoreViewChangedEvent event) {
+        bump(event.storeIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreOpened(StoreOpenedEvent event) {
+        bump(List.of(event.storeId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreClosed(StoreClosedEvent event) {
+        bump(List.of(event.storeId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWeeklyMenuUploaded(WeeklyMenuUploadedEvent event) {
+        bump(List.of(event.storeId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWeeklyMenuChanged(WeeklyMenuChangedEvent event) {
+        bump(List.of(event.storeId()));
+    }
+
+    // storeIds 가 비어 있으면 전체 매장
+    private void bump(Collection<Long> storeIds) {
+        if (storeIds.isEmpty()) {
+            allVersion = sequence.incrementAndGet();
+            return;
+        }
+        for (Long storeId : storeIds) {
+            storeVersions.merge(storeId, sequence.incrementAndGet(), Math::max);
+        }
+    }
+}
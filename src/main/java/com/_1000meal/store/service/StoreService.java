@@ -13,6 +13,7 @@ import com._1000meal.store.dto.StoreResponse;
 import com._1000meal.store.dto.StoreTodayMenuDto;
 import com._1000meal.store.event.StoreClosedEvent;
 import com._1000meal.store.event.StoreOpenedEvent;
+import com._1000meal.store.event.StoreViewChangedEvent;
 import com._1000meal.store.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
@@ -49,8 +50,14 @@ public class StoreService {
 
     @Transactional(readOnly = true)
     public List<StoreResponse> getAllStores() {
+        return getStores(storeRepository.findAllStoreIds());
+    }
 
-        List<Long> storeIds = storeRepository.findAllStoreIds();
+    /**
+     * 지정 매장들의 목록 응답 (오늘 메뉴 포함, storeIds 순서 유지)
+     */
+    @Transactional(readOnly = true)
+    public List<StoreResponse> getStores(List<Long> storeIds) {
         LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
 
         var todayMenus = menuGroupService.getTodayMenuForStores(storeIds, today);
@@ -119,6 +126,7 @@ public class StoreService {
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new CustomException(StoreErrorCode.STORE_NOT_FOUND));
         store.updateImageUrl(imageUrl); // Dirty Checking으로 저장
+        eventPublisher.publishEvent(StoreViewChangedEvent.ofStore(storeId));
         return store.getImageUrl();
     }
 
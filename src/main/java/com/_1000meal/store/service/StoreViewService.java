@@ -1,49 +1,39 @@
 package com._1000meal.store.service;
 
-import com._1000meal.menu.service.MenuGroupService;
+import com._1000meal.global.config.CacheConfig;
 import com._1000meal.store.dto.StoreResponse;
-import com._1000meal.store.dto.StoreTodayMenuDto;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class StoreViewService {
 
-    private final StoreService storeService;              // 원본 서비스 읽기 사용
-    private final MenuGroupService menuGroupService;
+    private static final String STORES_LIST_KEY = "v1";
 
-    /** 1) 전체 목록 캐시(틀만 캐시) */
-    @Cacheable(cacheNames = "stores:list", key = "'v1'", unless = "#result == null || #result.isEmpty()")
+    private final TodayStoreSnapshot todayStoreSnapshot;
+    private final CacheManager cacheManager;
+
+    /**
+     * 1) 전체 목록 캐시 + 재고만 실시간 덮어쓰기
+     * 목록은 StoresListCacheLoader 가 로드한다. (동시 미스는 한 번만 로드하고 만료 전에 미리 갱신)
+     * 캐시된 목록의 재고는 로드 시점 값이라 그대로 내보내지 않는다.
+     */
     public List<StoreResponse> getAllStoresCached() {
-        return storeService.getAllStores(); // 원본 호출(캐시 저장)
+        Cache cache = cacheManager.getCache(CacheConfig.STORES_LIST);
+        List<?> cached = cache == null ? null : cache.get(STORES_LIST_KEY, List.class);
+        if (cached == null) {
+            return List.of();
+        }
+        return todayStoreSnapshot.overlayStock(cached.stream().map(StoreResponse.class::cast).toList());
     }
 
-    /** 2) 뷰 응답: 캐시된 목록 + 재고만 실시간 DB로 덮어쓰기 */
-    @Transactional(readOnly = true)
+    /** 2) 뷰 응답: 오늘 스냅샷 + 재고만 (groupId, stock) 한 번 조회로 덮어쓰기 */
     public List<StoreResponse> getAllStoresView() {
-        var base = getAllStoresCached();
-        var today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-        var storeIds = base.stream().map(StoreResponse::getId).toList();
-        var todayMenus = menuGroupService.getTodayMenuForStores(storeIds, today);
-
-        return base.stream().map(sr -> {
-            StoreTodayMenuDto todayMenu = todayMenus.get(sr.getId());
-            StoreTodayMenuDto mergedTodayMenu = todayMenu != null ? todayMenu : sr.getTodayMenu();
-            boolean isOpen = sr.isOpen();
-            boolean isHoliday = todayMenu != null && todayMenu.isHoliday();
-
-            return sr.toBuilder()
-                    .isOpen(isOpen)
-                    .isHoliday(isHoliday)
-                    .todayMenu(mergedTodayMenu)
-                    .build();
-        }).toList();
+        return todayStoreSnapshot.getStores();
     }
 }
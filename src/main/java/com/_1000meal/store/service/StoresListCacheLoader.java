@@ -0,0 +1,30 @@
+package com._1000meal.store.service;
+
+import com._1000meal.store.dto.StoreResponse;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * stores:list 캐시 로더
+ * - 같은 키로 동시에 미스가 나면 Caffeine 이 로더를 한 번만 돌리고 나머지 요청은 그 결과를 기다린다. (single-flight)
+ * - refreshAfterWrite 가 지난 뒤 조회는 기존 값을 바로 돌려주고 백그라운드에서 다시 읽는다. (refresh-ahead, 실패 시 기존 값 유지)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoresListCacheLoader implements CacheLoader<Object, Object> {
+
+    private final StoreService storeService;
+
+    // 빈 목록은 캐시하지 않는다 (null 이면 Caffeine 이 저장하지 않음)
+    @Override
+    public Object load(Object key) {
+        List<StoreResponse> stores = storeService.getAllStores();
+        log.debug("[CACHE][STORE] stores:list loaded. key={}, stores={}", key, stores.size());
+        return stores.isEmpty() ? null : stores;
+    }
+}
@@ -0,0 +1,232 @@
+package com._1000meal.store.service;
+
+import com._1000meal.menu.dto.GroupStock;
+import com._1000meal.menu.event.WeeklyMenuChangedEvent;
+import com._1000meal.menu.event.WeeklyMenuUploadedEvent;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.service.HotStockLedger;
+import com._1000meal.menu.service.SellOutPredictor;
+import com._1000meal.store.dto.StoreResponse;
+import com._1000meal.store.dto.StoreTodayMenuDto;
+import com._1000meal.store.dto.StoreTodayMenuGroupDto;
+import com._1000meal.store.event.StoreClosedEvent;
+import com._1000meal.store.event.StoreOpenedEvent;
+import com._1000meal.store.event.StoreViewChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 매장 목록용 "오늘" 스냅샷
+ * - 모든 매장의 오늘 메뉴(그룹 구성, 메뉴 이름, 영업/휴무 상태)를 불변 목록으로 들고 있다.
+ * - 매장/메뉴 쓰기 이벤트는 커밋 후 "바뀐 매장" 표시만 하고, 다음 조회 때 그 매장만 다시 읽어 새 스냅샷으로 교체한다.
+ *   (날짜가 바뀌었거나 refresh-ms 가 지나면 전체를 다시 읽음)
+ * - 조회 때는 재고만 (groupId, stock) 한 번의 조회로 덮어쓴다. (장부 시간대면 장부 값, 예상 소진 시각은 메모리 계산)
+ *   목록 캐시(view=cached)도 같은 덮어쓰기를 쓴다. ({@link #overlayStock(List)})
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodayStoreSnapshot {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final StoreService storeService;
+    private final MenuGroupStockRepository menuGroupStockRepository;
+    private final HotStockLedger hotStockLedger;
+    private final SellOutPredictor sellOutPredictor;
+
+    private volatile Snapshot snapshot;
+    private final Set<Long> dirtyStores = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dirtyAll = new AtomicBoolean();
+
+    /**
+     * 전체 매장 목록 (스냅샷 + 현재 재고)
+     * 스냅샷 객체는 밖으로 내보내지 않고 항상 복사본을 돌려준다.
+     */
+    public List<StoreResponse> getStores() {
+        Snapshot current = current(LocalDate.now(KST));
+        if (current.groupIds().isEmpty()) {
+            return current.stores().stream().map(store -> store.toBuilder().build()).toList();
+        }
+
+        return overlay(current.stores(), current.groupIds());
+    }
+
+    /**
+     * 다른 경로(목록 캐시 등)에서 읽은 매장 목록에 현재 재고를 덮어쓴다. (원본 목록은 바꾸지 않음)
+     */
+    public List<StoreResponse> overlayStock(List<StoreResponse> stores) {
+        List<Long> groupIds = Snapshot.groupIdsOf(stores);
+        if (groupIds.isEmpty()) {
+            return stores.stream().map(store -> store.toBuilder().build()).toList();
+        }
+        return overlay(stores, groupIds);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreViewChanged(StoreViewChangedEvent event) {
+        if (event.isAll()) {
+            dirtyAll.set(true);
+        } else {
+            dirtyStores.addAll(event.storeIds());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreOpened(StoreOpenedEvent event) {
+        dirtyStores.add(event.storeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoreClosed(StoreClosedEvent event) {
+        dirtyStores.add(event.storeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWeeklyMenuUploaded(WeeklyMenuUploadedEvent event) {
+        dirtyStores.add(event.storeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWeeklyMenuChanged(WeeklyMenuChangedEvent event) {
+        dirtyStores.add(event.storeId());
+    }
+
+    // 이벤트 없이 바뀐 데이터(다른 인스턴스의 쓰기 등)를 위한 안전망
+    @Scheduled(fixedDelayString = "${store.snapshot.refresh-ms:300000}")
+    public void expire() {
+        dirtyAll.set(true);
+    }
+
+    /**
+     * 오늘 스냅샷 (바뀐 매장이 있으면 다시 읽어 교체, 동시에 한 스레드만 읽음)
+     */
+    private Snapshot current(LocalDate today) {
+        Snapshot current = snapshot;
+        if (isFresh(current, today)) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current, today)) {
+                return current;
+            }
+
+            boolean all = dirtyAll.getAndSet(false);
+            Set<Long> stores = drain(dirtyStores);
+            try {
+                if (all || current == null || !today.equals(current.date()) || !current.containsAll(stores)) {
+                    current = Snapshot.of(today, storeService.getAllStores());
+                    log.info("[STORE][SNAPSHOT] rebuilt. date={}, stores={}", today, current.stores().size());
+                } else {
+                    current = current.replace(storeService.getStores(new ArrayList<>(stores)));
+                    log.debug("[STORE][SNAPSHOT] refreshed stores={}", stores);
+                }
+            } catch (RuntimeException e) {
+                // 다시 읽지 못한 표시는 되돌려 다음 조회 때 재시도
+                dirtyAll.compareAndSet(false, all);
+                dirtyStores.addAll(stores);
+                throw e;
+            }
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private boolean isFresh(Snapshot current, LocalDate today) {
+        return current != null
+                && today.equals(current.date())
+                && !dirtyAll.get()
+                && dirtyStores.isEmpty();
+    }
+
+    private List<StoreResponse> overlay(List<StoreResponse> stores, List<Long> groupIds) {
+        Map<Long, Integer> stockByGroup = new HashMap<>();
+        for (GroupStock stock : menuGroupStockRepository.findGroupStocks(groupIds)) {
+            stockByGroup.put(stock.groupId(), hotStockLedger.peek(stock.groupId()).orElse(stock.stock()));
+        }
+        return stores.stream()
+                .map(store -> overlay(store, stockByGroup))
+                .toList();
+    }
+
+    private StoreResponse overlay(StoreResponse store, Map<Long, Integer> stockByGroup) {
+        StoreTodayMenuDto todayMenu = store.getTodayMenu();
+        if (todayMenu == null) {
+            return store.toBuilder().build();
+        }
+
+        List<StoreTodayMenuGroupDto> groups = todayMenu.getMenuGroups().stream()
+                .map(group -> {
+                    Integer stock = stockByGroup.getOrDefault(group.getId(), group.getStock());
+                    return group.toBuilder()
+                            .stock(stock)
+                            .predictedSellOutAt(sellOutPredictor.predictSellOutAt(group.getId(), stock).orElse(null))
+                            .build();
+                })
+                .toList();
+        return store.toBuilder()
+                .todayMenu(todayMenu.toBuilder().menuGroups(groups).build())
+                .build();
+    }
+
+    private static Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : dirty) {
+            if (dirty.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    // 불변 스냅샷 (교체만 하고 고치지 않음)
+    private record Snapshot(LocalDate date, List<StoreResponse> stores, List<Long> groupIds) {
+
+        private static Snapshot of(LocalDate date, List<StoreResponse> stores) {
+            return new Snapshot(date, List.copyOf(stores), groupIdsOf(stores));
+        }
+
+        private static List<Long> groupIdsOf(List<StoreResponse> stores) {
+            return stores.stream()
+                    .filter(store -> store.getTodayMenu() != null)
+                    .flatMap(store -> store.getTodayMenu().getMenuGroups().stream())
+                    .map(StoreTodayMenuGroupDto::getId)
+                    .toList();
+        }
+
+        private boolean containsAll(Collection<Long> storeIds) {
+            Set<Long> known = stores.stream().map(StoreResponse::getId).collect(Collectors.toSet());
+            return known.containsAll(storeIds);
+        }
+
+        // 다시 읽은 매장만 바꿔 끼운 새 스냅샷 (순서 유지)
+        private Snapshot replace(List<StoreResponse> refreshed) {
+            Map<Long, StoreResponse> byId = refreshed.stream()
+                    .collect(Collectors.toMap(StoreResponse::getId, Function.identity()));
+            List<StoreResponse> merged = stores.stream()
+                    .map(store -> byId.getOrDefault(store.getId(), store))
+                    .toList();
+            return of(date, merged);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- 재고 분산(슬롯) 모드
+--   - slot_count <= 1 : 기존처럼 menu_group_stock.stock 단일 행
+--   - slot_count  > 1 : menu_group_stock.stock 이 슬롯 0, menu_group_stock_slot 이 슬롯 1 ~ (slot_count - 1)
+--   - 그룹 재고 = menu_group_stock.stock + SUM(menu_group_stock_slot.stock)
+ALTER TABLE menu_group_stock
+  ADD COLUMN slot_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE menu_group_stock_slot (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    menu_group_id BIGINT NOT NULL,
+    slot_no INT NOT NULL,
+    stock INT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_menu_group_stock_slot (menu_group_id, slot_no),
+    CONSTRAINT fk_menu_group_stock_slot_group FOREIGN KEY (menu_group_id)
+        REFERENCES menu_group (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
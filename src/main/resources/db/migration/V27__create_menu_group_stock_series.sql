@@ -0,0 +1,15 @@
+-- 그룹별 하루 재고 시계열 (영업 종료 시 인메모리 링 버퍼를 한 행으로 저장)
+--   samples : (자정 기준 초 INT, 재고 INT) 빅엔디언 8바이트 쌍의 연속, sample_count 개
+CREATE TABLE menu_group_stock_series (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    menu_group_id BIGINT NOT NULL,
+    store_id BIGINT NOT NULL,
+    series_date DATE NOT NULL,
+    sample_count INT NOT NULL,
+    samples BLOB NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_menu_group_stock_series (menu_group_id, series_date),
+    KEY idx_menu_group_stock_series_store_date (store_id, series_date),
+    CONSTRAINT fk_menu_group_stock_series_group FOREIGN KEY (menu_group_id)
+        REFERENCES menu_group (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
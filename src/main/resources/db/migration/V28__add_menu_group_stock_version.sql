@@ -0,0 +1,4 @@
+-- 관리자 재고 수정 낙관적 동시성 제어(CAS)용 버전
+-- 재고를 바꾸는 모든 UPDATE 문장이 1씩 올린다.
+ALTER TABLE menu_group_stock
+  ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
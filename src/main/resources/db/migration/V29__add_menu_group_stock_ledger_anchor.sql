@@ -0,0 +1,7 @@
+-- 인메모리 재고 장부(hot stock mode) 복구 기준
+--   ledger_date        : 기준이 유효한 날짜 (그날 처음 적재할 때 설정)
+--   ledger_usage_count : 이 행의 stock 에 이미 반영된 그날 이용 건수 (체크포인트마다 반영분만큼 증가)
+-- 재시작 시 재고 = stock - (그날 이용 건수 - ledger_usage_count)
+ALTER TABLE menu_group_stock
+  ADD COLUMN ledger_date DATE NULL,
+  ADD COLUMN ledger_usage_count INT NOT NULL DEFAULT 0;
@@ -0,0 +1,79 @@
+package com._1000meal.favorite.service;
+
+import com._1000meal.favorite.dto.FavoriteStorePair;
+import com._1000meal.favorite.event.FavoriteStoreChangedEvent;
+import com._1000meal.favorite.repository.FavoriteStoreRepository;
+import com._1000meal.fcm.event.NotificationPreferenceChangedEvent;
+import com._1000meal.fcm.repository.NotificationPreferenceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FavoriteSubscriberViewTest {
+
+    @Mock
+    FavoriteStoreRepository favoriteStoreRepository;
+
+    @Mock
+    NotificationPreferenceRepository notificationPreferenceRepository;
+
+    @InjectMocks
+    FavoriteSubscriberView view;
+
+    @Test
+    @DisplayName("한 번 적재한 뒤에는 즐겨찾기/알림 설정 이벤트만으로 매장 구독자를 갱신한다")
+    void subscribers_followsFavoriteAndPreferenceEvents() {
+        when(favoriteStoreRepository.findAllPairs()).thenReturn(List.of(
+                new FavoriteStorePair(1L, 4L),
+                new FavoriteStorePair(2L, 4L),
+                new FavoriteStorePair(2L, 5L)
+        ));
+        when(notificationPreferenceRepository.findEnabledAccountIds()).thenReturn(List.of(1L));
+        view.rebuild();
+
+        assertEquals(Set.of(1L), new HashSet<>(view.subscribers(4L)));
+
+        view.onPreferenceChanged(new NotificationPreferenceChangedEvent(2L, true));
+        assertEquals(Set.of(1L, 2L), new HashSet<>(view.subscribers(4L)));
+        assertEquals(Set.of(2L), new HashSet<>(view.subscribers(5L)));
+
+        view.onFavoriteChanged(new FavoriteStoreChangedEvent(1L, 4L, false));
+        view.onFavoriteChanged(new FavoriteStoreChangedEvent(1L, 5L, true));
+        view.onPreferenceChanged(new NotificationPreferenceChangedEvent(2L, false));
+
+        assertEquals(Set.of(), new HashSet<>(view.subscribers(4L)));
+        assertEquals(Set.of(1L), new HashSet<>(view.subscribers(5L)));
+        verify(favoriteStoreRepository, never()).findFavoriteSubscriberAccountIdsByStoreId(4L);
+    }
+
+    @Test
+    @DisplayName("재적재가 DB 를 읽는 동안 커밋된 이벤트는 새 뷰에 다시 적용되어 사라지지 않는다")
+    void rebuild_replaysEventsCommittedWhileReading() {
+        when(favoriteStoreRepository.findAllPairs()).thenAnswer(inv -> {
+            // 조회 직후 커밋된 즐겨찾기 추가/알림 ON (조회 결과에는 없음)
+            view.onFavoriteChanged(new FavoriteStoreChangedEvent(3L, 4L, true));
+            return List.of(new FavoriteStorePair(1L, 4L));
+        });
+        when(notificationPreferenceRepository.findEnabledAccountIds()).thenAnswer(inv -> {
+            view.onPreferenceChanged(new NotificationPreferenceChangedEvent(3L, true));
+            return List.of(1L);
+        });
+
+        view.rebuild();
+
+        assertEquals(Set.of(1L, 3L), new HashSet<>(view.subscribers(4L)));
+    }
+}
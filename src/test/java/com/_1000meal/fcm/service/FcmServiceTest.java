@@ -13,6 +13,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -24,6 +25,7 @@ class FcmServiceTest {
 
     @Mock FcmTokenRepository tokenRepository;
     @Mock NotificationPreferenceRepository preferenceRepository;
+    @Mock ApplicationEventPublisher eventPublisher;
 
     @InjectMocks FcmService service;
 
@@ -1,7 +1,10 @@
 package com._1000meal.fcm.service;
 
-import com._1000meal.favorite.repository.FavoriteStoreRepository;
-import com._1000meal.fcm.dto.StockDeadlineCandidate;
+import com._1000meal.favorite.service.FavoriteSubscriberView;
+import com._1000meal.fcm.dto.StockDeadlineTarget;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.qr.repository.MealUsageRepository;
+import com._1000meal.qr.service.TodayRedemptionBitmap;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 
@@ -18,10 +22,16 @@ import static org.mockito.Mockito.*;
 class StockDeadlineNotificationServiceTest {
 
     @Mock
-    FavoriteStoreRepository favoriteStoreRepository;
+    FavoriteSubscriberView favoriteSubscriberView;
 
     @Mock
-    StockDeadlineNotificationPolicy policy;
+    MenuGroupRepository menuGroupRepository;
+
+    @Mock
+    MealUsageRepository mealUsageRepository;
+
+    @Mock
+    TodayRedemptionBitmap todayRedemptionBitmap;
 
     @Mock
     NotificationHistoryService historyService;
@@ -33,43 +43,39 @@ class StockDeadlineNotificationServiceTest {
     StockDeadlineNotificationService service;
 
     @Test
-    @DisplayName("그룹 재고가 있으면 그룹별로 발송한다")
-    void sendsPerGroupWhenStockExists() {
+    @DisplayName("임박 그룹 매장의 구독자에게 발송하고, 오늘 QR 이용자는 비트맵으로 걸러낸다")
+    void sendsToSubscribersExceptUsedToday() {
         LocalDate date = LocalDate.of(2026, 2, 11);
-        StockDeadlineCandidate g1 = new StockDeadlineCandidate(
-                1L, 4L, "향설2관", "img", 10L, "A", 1, 30, 99
-        );
-        StockDeadlineCandidate g2 = new StockDeadlineCandidate(
-                1L, 4L, "향설2관", "img", 11L, "B", 2, 20, 99
-        );
-
-        when(favoriteStoreRepository.findStockDeadlineCandidates()).thenReturn(List.of(g1, g2));
-        when(policy.canSend(anyInt())).thenReturn(true);
+        when(favoriteSubscriberView.subscribers(4L)).thenReturn(List.of(1L, 2L));
+        when(menuGroupRepository.findStockDeadlineTarget(10L))
+                .thenReturn(Optional.of(new StockDeadlineTarget(4L, "향설2관", "img", 10L, "A")));
+        when(todayRedemptionBitmap.isAuthoritative(date)).thenReturn(true);
+        when(todayRedemptionBitmap.contains(anyLong(), eq(date))).thenAnswer(inv -> inv.getArgument(0).equals(2L));
         when(historyService.tryMarkSent(any(), any(), any(), any(), any(), any())).thenReturn(true);
 
-        service.sendStockDeadlineNotifications(date);
+        service.sendStockDeadlineNotifications(date, 4L, 10L, 12);
 
         verify(fcmPushService).sendStockDeadlineNotification(
-                1L, 4L, "향설2관", "img", 10L, "A", 30
+                1L, 4L, "향설2관", "img", 10L, "A", 12
         );
-        verify(fcmPushService).sendStockDeadlineNotification(
-                1L, 4L, "향설2관", "img", 11L, "B", 20
+        verify(fcmPushService, never()).sendStockDeadlineNotification(
+                eq(2L), anyLong(), anyString(), anyString(), anyLong(), anyString(), anyInt()
         );
+        verifyNoInteractions(mealUsageRepository);
     }
 
     @Test
     @DisplayName("dedup 충돌 시 마감임박 푸시를 건너뛴다")
     void skipsWhenDedupRejected() {
         LocalDate date = LocalDate.of(2026, 2, 11);
-        StockDeadlineCandidate g1 = new StockDeadlineCandidate(
-                1L, 4L, "향설2관", "img", 10L, "A", 1, 30, 99
-        );
-
-        when(favoriteStoreRepository.findStockDeadlineCandidates()).thenReturn(List.of(g1));
-        when(policy.canSend(anyInt())).thenReturn(true);
+        when(favoriteSubscriberView.subscribers(4L)).thenReturn(List.of(1L));
+        when(menuGroupRepository.findStockDeadlineTarget(10L))
+                .thenReturn(Optional.of(new StockDeadlineTarget(4L, "향설2관", "img", 10L, "A")));
+        when(mealUsageRepository.findDistinctAccountIdsByUsedDateAndAccountIdIn(date, List.of(1L)))
+                .thenReturn(List.of());
         when(historyService.tryMarkSent(any(), any(), any(), any(), any(), any())).thenReturn(false);
 
-        service.sendStockDeadlineNotifications(date);
+        service.sendStockDeadlineNotifications(date, 4L, 10L, 30);
 
         verify(fcmPushService, never()).sendStockDeadlineNotification(
                 anyLong(), anyLong(), anyString(), anyString(), anyLong(), anyString(), anyInt()
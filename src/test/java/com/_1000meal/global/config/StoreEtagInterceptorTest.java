@@ -0,0 +1,132 @@
+package com._1000meal.global.config;
+
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.store.service.StoreContentVersionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoreEtagInterceptorTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T01:00:00Z"));
+    private final StoreContentVersionService versionService = new StoreContentVersionService(30, clock);
+    private final StoreEtagInterceptor interceptor = new StoreEtagInterceptor(versionService);
+
+    @Test
+    @DisplayName("같은 ETag 로 다시 요청하면 컨트롤러 전에 304 로 끝내고, 해당 매장이 바뀌면 다시 200 을 준다")
+    void storeDetail_notModifiedUntilStoreChanges() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(storeRequest(1L, null), first, null));
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(storeRequest(1L, etag), second, null));
+        assertEquals(304, second.getStatus());
+
+        // 다른 매장 변경은 영향 없음
+        versionService.onStockChanged(StockChangedEvent.ofGroup(2L, 20L));
+        assertFalse(interceptor.preHandle(storeRequest(1L, etag), new MockHttpServletResponse(), null));
+
+        versionService.onStockChanged(StockChangedEvent.ofGroup(1L, 10L));
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(storeRequest(1L, etag), changed, null));
+        assertEquals(200, changed.getStatus());
+        assertNotEquals(etag, changed.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("목록 ETag 는 어느 매장이 바뀌어도 달라지고, 캐시 목록(view=cached)에는 붙이지 않는다")
+    void storeList_changesOnAnyStore_andSkipsCachedView() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(listRequest(null), first, null);
+        String etag = first.getHeader("ETag");
+
+        versionService.onStockChanged(StockChangedEvent.ofGroup(2L, 20L));
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(listRequest(etag), changed, null));
+        assertNotEquals(etag, changed.getHeader("ETag"));
+
+        MockHttpServletRequest cached = listRequest(changed.getHeader("ETag"));
+        cached.setParameter("view", "cached");
+        MockHttpServletResponse cachedResponse = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(cached, cachedResponse, null));
+        assertNull(cachedResponse.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("이 인스턴스가 모르는 변경(다른 인스턴스)이 있어도 max-stale 이 지나면 ETag 가 바뀌어 200 을 준다")
+    void storeDetail_staleWindowBoundsNotModified() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(storeRequest(1L, null), first, null);
+        String etag = first.getHeader("ETag");
+
+        clock.advanceSeconds(29);
+        assertFalse(interceptor.preHandle(storeRequest(1L, etag), new MockHttpServletResponse(), null));
+
+        clock.advanceSeconds(1);
+        MockHttpServletResponse expired = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(storeRequest(1L, etag), expired, null));
+        assertNotEquals(etag, expired.getHeader("ETag"));
+    }
+
+    private static MockHttpServletRequest storeRequest(Long storeId, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stores/" + storeId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("storeId", String.valueOf(storeId)));
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static MockHttpServletRequest listRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stores");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com._1000meal.menu.repository;
+
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.dto.StockDeductOutcome;
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class MenuGroupStockRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("Asia/Seoul"));
+
+    @Autowired MenuGroupStockRepository menuGroupStockRepository;
+    @Autowired MenuGroupRepository menuGroupRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired EntityManager entityManager;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("원자 차감은 재고가 부족하면 아무것도 바꾸지 않고, 직후 조회는 차감 후 재고와 알림 기록을 돌려준다")
+    void deductStockIfAvailable_readsOutcomeInSameTransaction() {
+        Long groupId = seedGroup(35);
+        menuGroupStockRepository.markThresholdNotified(groupId, 30, TODAY);
+
+        assertEquals(1, menuGroupStockRepository.deductStockIfAvailable(groupId, 5));
+        assertEquals(new StockDeductOutcome(30, 30, TODAY),
+                menuGroupStockRepository.findDeductOutcome(groupId).orElseThrow());
+
+        assertEquals(0, menuGroupStockRepository.deductStockIfAvailable(groupId, 31));
+        long version = menuGroupStockRepository.findVersionSnapshot(groupId).orElseThrow().version();
+        menuGroupStockRepository.recordDeductThreshold(groupId, 10, TODAY);
+        MenuGroupStock stock = reload(groupId);
+        assertEquals(30, stock.getStock());
+        assertEquals(10, stock.getLastNotifiedThreshold());
+        assertEquals(version + 1, stock.getVersion());
+    }
+
+    @Test
+    @DisplayName("재고 스트림 조회는 분산 슬롯 재고까지 합친 그룹 재고를 매장 ID 와 함께 돌려준다")
+    void findStockDeltas_includesSlotStock() {
+        Long single = seedGroup(12);
+        Long striped = seedGroup(7);
+        jdbcTemplate.update("UPDATE menu_group_stock SET slot_count = 2 WHERE menu_group_id = ?", striped);
+        jdbcTemplate.update(
+                "INSERT INTO menu_group_stock_slot (menu_group_id, slot_no, stock) VALUES (?, 1, 5)", striped);
+
+        Map<Long, Integer> stocks = menuGroupStockRepository.findStockDeltasByGroupIds(List.of(single, striped))
+                .stream()
+                .collect(Collectors.toMap(StockDelta::groupId, StockDelta::stock));
+
+        assertEquals(Map.of(single, 12, striped, 12), stocks);
+    }
+
+    @Test
+    @DisplayName("차감은 버전을 올리므로, 차감 전에 읽은 버전으로 한 CAS 는 아무것도 바꾸지 않는다")
+    void compareAndSetStock_failsAfterConcurrentDeduction() {
+        Long groupId = seedGroup(50);
+        long readVersion = menuGroupStockRepository.findVersionSnapshot(groupId).orElseThrow().version();
+
+        assertEquals(1, menuGroupStockRepository.decrementStockIfAvailable(groupId));
+        assertEquals(0, menuGroupStockRepository.compareAndSetStock(groupId, readVersion, 60, null));
+        assertEquals(1, menuGroupStockRepository.compareAndSetStock(groupId, readVersion + 1, 59, null));
+
+        MenuGroupStock stock = reload(groupId);
+        assertEquals(59, stock.getStock());
+        assertEquals(readVersion + 2, stock.getVersion());
+    }
+
+    private MenuGroupStock reload(Long groupId) {
+        entityManager.flush();
+        entityManager.clear();
+        return menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow();
+    }
+
+    private Long seedGroup(int capacity) {
+        Store store = storeRepository.save(Store.builder()
+                .name("store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build());
+        MenuGroup group = MenuGroup.builder()
+                .store(store)
+                .name("group")
+                .sortOrder(1)
+                .isDefault(true)
+                .build();
+        group.initializeStock(capacity);
+        menuGroupRepository.save(group);
+        entityManager.flush();
+        return group.getId();
+    }
+}
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.time.LocalDate;
@@ -51,6 +52,9 @@ class DefaultGroupMenuServiceTest {
     @Mock
     CurrentAccountProvider currentAccountProvider;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     DefaultGroupMenuService service;
 
@@ -0,0 +1,271 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.auth.model.Account;
+import com._1000meal.auth.model.AccountStatus;
+import com._1000meal.auth.repository.AccountRepository;
+import com._1000meal.global.constant.Role;
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.event.LowStock30Event;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.qr.domain.MealUsage;
+import com._1000meal.qr.journal.MealUsageJournal;
+import com._1000meal.qr.repository.MealUsageRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotStockLedgerTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final AtomicInteger ACCOUNT_NO = new AtomicInteger();
+
+    @Autowired MenuGroupStockRepository menuGroupStockRepository;
+    @Autowired MealUsageRepository mealUsageRepository;
+    @Autowired MenuGroupRepository menuGroupRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("오늘 장부가 돌던 중 죽으면 체크포인트되지 않은 이용(저널 대기분 포함)만큼 DB 재고에서 빼서 복구한다")
+    void activate_recoversUnappliedUsages() {
+        Long groupId = seedGroup(50);
+        LocalDate today = LocalDate.now(KST);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                menuGroupStockRepository.anchorLedger(groupId, today, 0));
+        seedUsages(groupId, 3);
+        MealUsageJournal journal = replayedJournal();
+        when(journal.pendingUsageCounts(today)).thenReturn(Map.of(groupId, 2L));
+        HotStockLedger ledger = ledger(mock(ApplicationEventPublisher.class), journal);
+
+        ledger.tick();
+        assertTrue(ledger.isActive());
+        ledger.tick();
+
+        assertEquals(45, stockOf(groupId));
+        assertEquals(5, menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow().getLedgerUsageCount());
+        ledger.deactivate();
+    }
+
+    @Test
+    @DisplayName("관리자 수정/차감은 바로 DB 에 반영되어 체크포인트 전에 죽어도 복구 후 유지된다")
+    void adminChanges_surviveCrashBeforeCheckpoint() {
+        Long groupId = seedGroup(50);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        HotStockLedger crashed = ledger(mock(ApplicationEventPublisher.class));
+        crashed.tick();
+
+        tx.executeWithoutResult(status -> crashed.update(groupId, 60));
+        tx.executeWithoutResult(status -> crashed.adminDeduct(groupId, 5));
+        tx.executeWithoutResult(status -> crashed.deduct(groupId, 1));
+        seedUsages(groupId, 1);
+
+        HotStockLedger restarted = ledger(mock(ApplicationEventPublisher.class));
+        restarted.tick();
+
+        assertEquals(54, restarted.peek(groupId).orElseThrow());
+        restarted.deactivate();
+        assertEquals(54, stockOf(groupId));
+    }
+
+    @Test
+    @DisplayName("동시 차감에서도 재고 이상 판매되지 않고 30 임계치 알림은 한 번만 발행된다")
+    void deduct_concurrentlyNoOversellAndNotifiesOnce() throws Exception {
+        Long groupId = seedGroup(40);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        HotStockLedger ledger = ledger(publisher);
+        ledger.tick();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            futures.add(CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+                if (ledger.deduct(groupId, 1).orElseThrow().deducted()) {
+                    succeeded.incrementAndGet();
+                }
+            }), pool));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        pool.shutdown();
+        ledger.deactivate();
+
+        assertEquals(40, succeeded.get());
+        assertEquals(0, stockOf(groupId));
+        verify(publisher, times(1)).publishEvent(any(LowStock30Event.class));
+        MenuGroupStock stock = menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow();
+        assertEquals(LocalDate.now(KST), stock.getLastNotifiedDate());
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 장부 차감과 알림 기록이 되돌려진다")
+    void deduct_rollbackRefunds() {
+        Long groupId = seedGroup(31);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        HotStockLedger ledger = ledger(publisher);
+        ledger.tick();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        assertThrows(IllegalStateException.class, () -> tx.executeWithoutResult(status -> {
+            ledger.deduct(groupId, 1);
+            throw new IllegalStateException("rollback");
+        }));
+        tx.executeWithoutResult(status -> assertEquals(30, ledger.deduct(groupId, 1).orElseThrow().after()));
+        ledger.deactivate();
+
+        assertEquals(30, stockOf(groupId));
+        verify(publisher, times(2)).publishEvent(any(LowStock30Event.class));
+        assertFalse(ledger.isActive());
+    }
+
+    @Test
+    @DisplayName("해제는 진행 중 트랜잭션이 끝나길 모니터 없이 기다리고, 끝나면 그 차감까지 체크포인트한다")
+    void deactivate_waitsForInflightWithoutBlockingTick() throws Exception {
+        Long groupId = seedGroup(50);
+        HotStockLedger ledger = ledger(mock(ApplicationEventPublisher.class));
+        ledger.tick();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch deducted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        CompletableFuture<Void> redemption = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            ledger.deduct(groupId, 1);
+            deducted.countDown();
+            await(release);
+        }), pool);
+        assertTrue(deducted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> deactivation = CompletableFuture.runAsync(ledger::deactivate, pool);
+        while (ledger.isActive()) {
+            Thread.sleep(1);
+        }
+
+        // 해제가 기다리는 중에도 다른 호출은 막히지 않는다
+        CompletableFuture.runAsync(ledger::tick).get(1, TimeUnit.SECONDS);
+        assertFalse(deactivation.isDone());
+
+        release.countDown();
+        redemption.get(5, TimeUnit.SECONDS);
+        deactivation.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(49, stockOf(groupId));
+    }
+
+    private HotStockLedger ledger(ApplicationEventPublisher publisher) {
+        return ledger(publisher, replayedJournal());
+    }
+
+    private HotStockLedger ledger(ApplicationEventPublisher publisher, MealUsageJournal journal) {
+        return new HotStockLedger(
+                menuGroupStockRepository,
+                mealUsageRepository,
+                journal,
+                publisher,
+                transactionManager,
+                true,
+                "00:00",
+                "23:59:59.999999999"
+        );
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MealUsageJournal replayedJournal() {
+        MealUsageJournal journal = mock(MealUsageJournal.class);
+        when(journal.isReplayed()).thenReturn(true);
+        return journal;
+    }
+
+    private int stockOf(Long groupId) {
+        return menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow().getStock();
+    }
+
+    private Long seedGroup(int capacity) {
+        Store store = storeRepository.save(Store.builder()
+                .name("store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build());
+        MenuGroup group = MenuGroup.builder()
+                .store(store)
+                .name("group")
+                .sortOrder(1)
+                .isDefault(true)
+                .build();
+        group.initializeStock(capacity);
+        return menuGroupRepository.save(group).getId();
+    }
+
+    private void seedUsages(Long groupId, int count) {
+        MenuGroup group = menuGroupRepository.findById(groupId).orElseThrow();
+        Store store = storeRepository.findById(group.getStore().getId()).orElseThrow();
+        for (int n = 0; n < count; n++) {
+            int i = ACCOUNT_NO.incrementAndGet();
+            Account account = accountRepository.save(new Account(
+                    null,
+                    "2024" + String.format("%04d", i),
+                    "ledger" + i + "@sch.ac.kr",
+                    "hash",
+                    Role.STUDENT,
+                    AccountStatus.ACTIVE
+            ));
+            mealUsageRepository.save(MealUsage.create(account, store, groupId,
+                    LocalDateTime.now(KST), LocalDate.now(KST), "CS", account.getUserId(), "student" + i));
+        }
+    }
+}
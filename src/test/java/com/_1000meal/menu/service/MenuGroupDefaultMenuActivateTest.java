@@ -20,6 +20,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -36,6 +37,7 @@ class MenuGroupDefaultMenuActivateTest {
     @Mock MenuGroupRepository menuGroupRepository;
     @Mock GroupDailyMenuRepository groupDailyMenuRepository;
     @Mock CurrentAccountProvider currentAccountProvider;
+    @Mock ApplicationEventPublisher eventPublisher;
 
     @InjectMocks DefaultGroupMenuService service;
 
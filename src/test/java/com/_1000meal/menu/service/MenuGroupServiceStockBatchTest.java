@@ -0,0 +1,141 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.dto.MenuGroupStockResponse;
+import com._1000meal.menu.dto.StockDeductItem;
+import com._1000meal.menu.dto.StockDeductOutcome;
+import com._1000meal.menu.dto.StockUpdateRequest;
+import com._1000meal.menu.enums.DeductionUnit;
+import com._1000meal.menu.event.LowStock30Event;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.store.domain.Store;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuGroupServiceStockBatchTest {
+
+    private static final Long STORE_ID = 1L;
+
+    @Mock MenuGroupRepository menuGroupRepository;
+    @Mock MenuGroupStockRepository stockRepository;
+    @Mock MenuGroupStockSlotService stockSlotService;
+    @Mock HotStockLedger hotStockLedger;
+    @Mock ApplicationEventPublisher eventPublisher;
+    @Mock MenuGroupStockCasUpdater stockCasUpdater;
+    @Mock PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    MenuGroupService service;
+
+    @Test
+    @DisplayName("일괄 차감은 groupId 오름차순으로 차감하고, 같은 그룹은 합쳐서 한 번만 임계치를 판정한다")
+    void deductStocksForStore_locksInIdOrderAndNotifiesOncePerGroup() {
+        stubGroups(30L, 20L);
+        when(stockRepository.deductStockIfAvailable(anyLong(), anyInt())).thenReturn(1);
+        when(stockRepository.findDeductOutcome(20L))
+                .thenReturn(Optional.of(new StockDeductOutcome(50, null, null)));
+        when(stockRepository.findDeductOutcome(30L))
+                .thenReturn(Optional.of(new StockDeductOutcome(28, 30, LocalDate.now().minusDays(1))));
+
+        List<MenuGroupStockResponse> responses = service.deductStocksForStore(STORE_ID, List.of(
+                new StockDeductItem(30L, DeductionUnit.MULTI_FIVE),
+                new StockDeductItem(20L, DeductionUnit.SINGLE),
+                new StockDeductItem(30L, DeductionUnit.MULTI_TEN)
+        ));
+
+        InOrder order = inOrder(stockRepository);
+        order.verify(stockRepository).deductStockIfAvailable(20L, 1);
+        order.verify(stockRepository).deductStockIfAvailable(30L, 15);
+        verify(stockRepository).recordDeductThreshold(eq(30L), eq(30), any());
+        verify(stockRepository, never()).recordDeductThreshold(eq(20L), anyInt(), any());
+
+        assertEquals(List.of(30L, 20L), responses.stream().map(MenuGroupStockResponse::getGroupId).toList());
+        assertEquals(List.of(28, 50), responses.stream().map(MenuGroupStockResponse::getStock).toList());
+
+        ArgumentCaptor<LowStock30Event> captor = ArgumentCaptor.forClass(LowStock30Event.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(30L, captor.getValue().groupId());
+        assertEquals(28, captor.getValue().remainingStock());
+    }
+
+    @Test
+    @DisplayName("한 그룹이라도 재고가 부족하면 예외로 전체를 롤백하고 알림을 발행하지 않는다")
+    void deductStocksForStore_insufficientStockAbortsBatch() {
+        stubGroups(20L, 30L);
+        when(stockRepository.deductStockIfAvailable(eq(20L), anyInt())).thenReturn(1);
+        when(stockRepository.findDeductOutcome(20L))
+                .thenReturn(Optional.of(new StockDeductOutcome(25, null, null)));
+        when(stockRepository.deductStockIfAvailable(eq(30L), anyInt())).thenReturn(0);
+
+        assertThrows(CustomException.class, () -> service.deductStocksForStore(STORE_ID, List.of(
+                new StockDeductItem(20L, DeductionUnit.MULTI_FIVE),
+                new StockDeductItem(30L, DeductionUnit.MULTI_TEN)
+        )));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("단일 행 그룹의 관리자 재고 수정은 버전 CAS 로만 반영하고 행 잠금 경로를 타지 않는다")
+    void updateStockForStore_singleRowUsesCasWithoutRowLock() {
+        Store store = mock(Store.class);
+        when(store.getId()).thenReturn(STORE_ID);
+        MenuGroup group = mock(MenuGroup.class);
+        when(group.getId()).thenReturn(20L);
+        when(group.getStore()).thenReturn(store);
+        when(menuGroupRepository.findByIdAndStoreId(20L, STORE_ID)).thenReturn(Optional.of(group));
+        when(stockCasUpdater.update(eq(20L), any(), eq(null)))
+                .thenReturn(Optional.of(new MenuGroupStockCasUpdater.Applied(49, 59, 9L)));
+
+        MenuGroupStockResponse response = service.updateStockForStore(STORE_ID, 20L, new StockUpdateRequest(60, 50, null));
+
+        assertEquals(59, response.getStock());
+        verify(stockSlotService, never()).lockGroupStock(anyLong());
+        verify(stockRepository, never()).findByMenuGroupIdForUpdate(anyLong());
+        verify(eventPublisher).publishEvent(any(StockChangedEvent.class));
+    }
+
+    private void stubGroups(Long... groupIds) {
+        Store store = mock(Store.class);
+        when(store.getId()).thenReturn(STORE_ID);
+        lenient().when(store.getName()).thenReturn("store");
+        List<MenuGroup> groups = Arrays.stream(groupIds).map(groupId -> {
+            MenuGroup group = mock(MenuGroup.class);
+            when(group.getId()).thenReturn(groupId);
+            lenient().when(group.getName()).thenReturn("group" + groupId);
+            when(group.getStore()).thenReturn(store);
+            return group;
+        }).toList();
+        when(menuGroupRepository.findByIdIn(any())).thenReturn(groups);
+    }
+}
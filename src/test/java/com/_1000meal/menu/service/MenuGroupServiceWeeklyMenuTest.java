@@ -3,8 +3,12 @@ package com._1000meal.menu.service;
 import com._1000meal.auth.service.CurrentAccountProvider;
 import com._1000meal.fcm.domain.WeeklyMenuNotificationStatus;
 import com._1000meal.fcm.service.WeeklyMenuNotificationStateService;
+import com._1000meal.menu.domain.DailyMenu;
+import com._1000meal.menu.domain.DefaultGroupMenu;
 import com._1000meal.menu.domain.GroupDailyMenu;
 import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.dto.DailyMenuWithGroupsDto;
+import com._1000meal.menu.dto.MenuGroupDto;
 import com._1000meal.menu.repository.DefaultGroupMenuRepository;
 import com._1000meal.menu.repository.DailyMenuRepository;
 import com._1000meal.menu.repository.GroupDailyMenuRepository;
@@ -25,10 +29,14 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -200,6 +208,53 @@ class MenuGroupServiceWeeklyMenuTest {
         }
     }
 
+    @Test
+    @DisplayName("기간 로더는 저장소마다 한 번씩만 조회하고 날짜별로 그룹/메뉴/기본 메뉴를 조립한다")
+    void getMenuGroupsForRange_loadsOncePerRepository() {
+        Long storeId = 1L;
+        LocalDate monday = LocalDate.of(2026, 2, 9);
+        LocalDate friday = monday.plusDays(4);
+
+        DailyMenu mondayMenu = mock(DailyMenu.class);
+        when(mondayMenu.getId()).thenReturn(100L);
+        when(mondayMenu.getDate()).thenReturn(monday);
+        when(mondayMenu.isOpen()).thenReturn(true);
+        when(dailyMenuRepository.findByStoreIdAndDateBetween(storeId, monday, friday)).thenReturn(List.of(mondayMenu));
+
+        MenuGroup mondayGroup = mock(MenuGroup.class);
+        when(mondayGroup.getId()).thenReturn(10L);
+        when(mondayGroup.getDailyMenu()).thenReturn(mondayMenu);
+        MenuGroup storeGroup = mock(MenuGroup.class);
+        when(storeGroup.getId()).thenReturn(20L);
+        when(menuGroupRepository.findByStoreIdWithStock(storeId)).thenReturn(List.of(mondayGroup, storeGroup));
+
+        when(groupDailyMenuRepository.findByMenuGroupIdInAndDateBetween(List.of(10L, 20L), monday, friday))
+                .thenReturn(List.of(menuOf(mondayGroup, monday, "김밥"), menuOf(storeGroup, monday.plusDays(1), "라면")));
+
+        DefaultGroupMenu rule = DefaultGroupMenu.builder()
+                .menuGroup(storeGroup)
+                .menuName("우동")
+                .active(true)
+                .startDate(monday.plusDays(2))
+                .build();
+        when(defaultGroupMenuRepository.findApplicableByMenuGroupIdsAndDateRange(List.of(10L, 20L), monday, friday))
+                .thenReturn(List.of(rule));
+
+        List<DailyMenuWithGroupsDto> week = menuGroupService.getMenuGroupsForRange(storeId, monday, friday);
+
+        assertEquals(5, week.size());
+        assertEquals(List.of(10L), week.get(0).getGroups().stream().map(MenuGroupDto::getId).toList());
+        assertEquals(List.of("김밥"), week.get(0).getGroups().get(0).getMenus());
+        assertEquals(List.of("라면"), week.get(1).getGroups().get(1).getMenus());
+        assertEquals(List.of("우동"), week.get(2).getGroups().get(1).getMenus());
+        assertEquals(List.of(), week.get(2).getGroups().get(0).getMenus());
+
+        // 수~금 기본 메뉴 지연 생성
+        verify(groupDailyMenuRepository, times(3)).save(any(GroupDailyMenu.class));
+        verify(dailyMenuRepository, never()).findDailyMenuByStoreIdAndDate(any(), any());
+        verify(groupDailyMenuRepository, never()).findByMenuGroupIdInAndDate(any(), any());
+    }
+
     private GroupDailyMenu filled(LocalDate date) {
         GroupDailyMenu gdm = GroupDailyMenu.builder()
                 .menuGroup(null)
@@ -209,6 +264,15 @@ class MenuGroupServiceWeeklyMenuTest {
         return gdm;
     }
 
+    private GroupDailyMenu menuOf(MenuGroup group, LocalDate date, String menu) {
+        GroupDailyMenu gdm = GroupDailyMenu.builder()
+                .menuGroup(group)
+                .date(date)
+                .build();
+        gdm.replaceMenus(List.of(menu));
+        return gdm;
+    }
+
     private GroupDailyMenu filledWithGroup(Long groupId, LocalDate date) {
         MenuGroup group = mock(MenuGroup.class);
         when(group.getId()).thenReturn(groupId);
@@ -0,0 +1,74 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.menu.dto.StockVersionSnapshot;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuGroupStockCasUpdaterTest {
+
+    @Mock MenuGroupStockRepository stockRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("읽은 뒤 QR 차감이 먼저 커밋되면 새 트랜잭션에서 다시 읽어 반영하고, 행 잠금은 잡지 않는다")
+    void update_retriesInFreshTransactionAfterConcurrentRedemption() {
+        MenuGroupStockCasUpdater updater = new MenuGroupStockCasUpdater(stockRepository, transactionManager, 3, 0);
+        when(stockRepository.findVersionSnapshot(1L))
+                .thenReturn(Optional.of(new StockVersionSnapshot(50, 7L, null)))
+                .thenReturn(Optional.of(new StockVersionSnapshot(49, 8L, null)));
+        // 첫 시도의 CAS 직전에 QR 차감이 버전을 올려 경합에서 진다
+        when(stockRepository.compareAndSetStock(1L, 7L, 60, null)).thenReturn(0);
+        when(stockRepository.compareAndSetStock(1L, 8L, 59, null)).thenReturn(1);
+
+        // 관리자는 50 을 보고 60 으로 (+10) 수정
+        MenuGroupStockCasUpdater.Applied applied = updater.update(1L, current -> current + (60 - 50), null)
+                .orElseThrow();
+
+        assertEquals(49, applied.before());
+        assertEquals(59, applied.after());
+        assertEquals(9L, applied.version());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(stockRepository, times(2)).findVersionSnapshot(1L);
+        verify(stockRepository).compareAndSetStock(1L, 7L, 60, null);
+        verify(stockRepository).compareAndSetStock(1L, 8L, 59, null);
+        verifyNoMoreInteractions(stockRepository);
+    }
+
+    @Test
+    @DisplayName("expectedVersion 이 다르면 재시도 없이 CONFLICT, 재시도를 모두 잃어도 CONFLICT")
+    void update_conflictsOnStaleVersionOrExhaustedRetries() {
+        MenuGroupStockCasUpdater updater = new MenuGroupStockCasUpdater(stockRepository, transactionManager, 2, 0);
+        when(stockRepository.findVersionSnapshot(1L)).thenReturn(Optional.of(new StockVersionSnapshot(50, 7L, 30)));
+
+        CustomException stale = assertThrows(CustomException.class, () -> updater.update(1L, current -> 40, 6L));
+        assertEquals(ErrorCode.CONFLICT, stale.getErrorCodeIfs());
+        verify(stockRepository, never()).compareAndSetStock(anyLong(), anyLong(), anyInt(), any());
+
+        when(stockRepository.compareAndSetStock(1L, 7L, 40, null)).thenReturn(0);
+        CustomException exhausted = assertThrows(CustomException.class, () -> updater.update(1L, current -> 40, null));
+        assertEquals(ErrorCode.CONFLICT, exhausted.getErrorCodeIfs());
+        verify(stockRepository, times(2)).compareAndSetStock(1L, 7L, 40, null);
+    }
+}
@@ -0,0 +1,310 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.auth.service.CurrentAccountProvider;
+import com._1000meal.fcm.service.WeeklyMenuNotificationStateService;
+import com._1000meal.global.error.code.ErrorCode;
+import com._1000meal.global.error.code.MenuErrorCode;
+import com._1000meal.global.error.exception.CustomException;
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.dto.MenuGroupStockResponse;
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.dto.StockUpdateRequest;
+import com._1000meal.menu.enums.DeductionUnit;
+import com._1000meal.menu.event.LowStock30Event;
+import com._1000meal.menu.repository.DailyMenuRepository;
+import com._1000meal.menu.repository.DefaultGroupMenuRepository;
+import com._1000meal.menu.repository.GroupDailyMenuRepository;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSlotRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 재고/임계치 동시성 스트레스 (H2 인메모리)
+ * - 관리자 차감(deductStockForStore), QR 차감(decrementStockIfAvailable), 관리자 재고 수정(updateStockForStore, +1 입고)을
+ *   여러 스레드에서 동시에 돌려 재고가 바닥날 때까지 두드린다.
+ * - 검증: 초과 판매 없음 (초기 + 입고 = 남은 재고 + 차감 합계), 그룹당 LowStock30Event 정확히 1건
+ * - 단일 행(조건부 원자 UPDATE + 버전 CAS)과 분산 모드(행/슬롯 잠금) 각각의 처리량을 출력한다.
+ * 실행: ./gradlew benchmark --tests '*MenuGroupStockConcurrencyBenchmark'
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MenuGroupStockConcurrencyBenchmark {
+
+    private static final int GROUPS = 3;
+    private static final int INITIAL_STOCK = 300;
+    private static final int SLOTS = 4;
+    private static final int DEDUCT_THREADS = 4;
+    private static final int QR_THREADS = 4;
+    private static final int ADMIN_THREADS = 2;
+    // 이 재고 밑으로 내려가면 입고를 멈춘다 (30 을 넘은 뒤 다시 30 위로 올라가 임계치가 재무장되지 않도록)
+    private static final int RESTOCK_FLOOR = 60;
+
+    @Autowired MenuGroupRepository menuGroupRepository;
+    @Autowired MenuGroupStockRepository menuGroupStockRepository;
+    @Autowired MenuGroupStockSlotRepository menuGroupStockSlotRepository;
+    @Autowired DailyMenuRepository dailyMenuRepository;
+    @Autowired GroupDailyMenuRepository groupDailyMenuRepository;
+    @Autowired DefaultGroupMenuRepository defaultGroupMenuRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager entityManager;
+
+    @Test
+    @DisplayName("동시 차감/QR/재고 수정: 초과 판매 없음, 그룹당 LowStock30Event 1건, 잠금 방식별 처리량")
+    void deductQrAndUpdateUnderContention() throws Exception {
+        jdbcTemplate.execute("SET DEFAULT_LOCK_TIMEOUT 10000");
+
+        Result single = run("single-row (atomic UPDATE + version CAS)", false);
+        Result striped = run("striped (row/slot lock)", true);
+
+        for (Result result : List.of(single, striped)) {
+            System.out.printf("[BENCH][STOCK] %s: %.0f ops/s (deduct=%d, qr=%d, update=%d, updateConflicts=%d, lockFailures=%d, %dms)%n",
+                    result.label(), result.opsPerSecond(), result.deductOps(), result.qrOps(),
+                    result.updateOps(), result.updateConflicts(), result.lockFailures(), result.elapsedMillis());
+        }
+    }
+
+    private Result run(String label, boolean striped) throws Exception {
+        Map<Long, AtomicInteger> lowStock30 = new ConcurrentHashMap<>();
+        MenuGroupStockSlotService stockSlotService =
+                new MenuGroupStockSlotService(menuGroupStockRepository, menuGroupStockSlotRepository, entityManager);
+        MenuGroupService menuGroupService = new MenuGroupService(
+                menuGroupRepository,
+                menuGroupStockRepository,
+                dailyMenuRepository,
+                groupDailyMenuRepository,
+                defaultGroupMenuRepository,
+                storeRepository,
+                mock(WeeklyMenuNotificationStateService.class),
+                event -> {
+                    if (event instanceof LowStock30Event e) {
+                        lowStock30.computeIfAbsent(e.groupId(), id -> new AtomicInteger()).incrementAndGet();
+                    }
+                },
+                mock(CurrentAccountProvider.class),
+                stockSlotService,
+                mock(HotStockLedger.class),
+                mock(SellOutPredictor.class),
+                new MenuGroupStockCasUpdater(menuGroupStockRepository, transactionManager, 5, 10),
+                transactionManager
+        );
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Long storeId = seedStore();
+        List<Long> groupIds = new ArrayList<>();
+        for (int i = 0; i < GROUPS; i++) {
+            Long groupId = seedGroup(storeId);
+            if (striped) {
+                tx.executeWithoutResult(status -> stockSlotService.changeSlotCount(
+                        menuGroupStockRepository.findByMenuGroupIdForUpdate(groupId).orElseThrow(), SLOTS));
+            }
+            groupIds.add(groupId);
+        }
+
+        OpenGroups openGroups = new OpenGroups(groupIds);
+        LongAdder deducted = new LongAdder();
+        LongAdder deductOps = new LongAdder();
+        LongAdder qrOps = new LongAdder();
+        LongAdder restocked = new LongAdder();
+        LongAdder updateConflicts = new LongAdder();
+        LongAdder lockFailures = new LongAdder();
+        Map<Long, Boolean> restocking = new ConcurrentHashMap<>();
+        groupIds.forEach(id -> restocking.put(id, true));
+
+        ExecutorService pool = Executors.newFixedThreadPool(DEDUCT_THREADS + QR_THREADS + ADMIN_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < DEDUCT_THREADS; t++) {
+            futures.add(pool.submit(() -> loop(start, openGroups, lockFailures, groupId -> {
+                DeductionUnit unit = ThreadLocalRandom.current().nextBoolean() ? DeductionUnit.MULTI_FIVE : DeductionUnit.SINGLE;
+                try {
+                    tx.executeWithoutResult(status -> menuGroupService.deductStockForStore(storeId, groupId, unit));
+                    deducted.add(unit.getValue());
+                    deductOps.increment();
+                } catch (CustomException e) {
+                    if (e.getErrorCodeIfs() != MenuErrorCode.INSUFFICIENT_STOCK) {
+                        throw e;
+                    }
+                    if (unit == DeductionUnit.SINGLE) {
+                        openGroups.remove(groupId);
+                    }
+                }
+            })));
+        }
+        for (int t = 0; t < QR_THREADS; t++) {
+            futures.add(pool.submit(() -> loop(start, openGroups, lockFailures, groupId -> {
+                Integer updated = tx.execute(status -> stockSlotService.decrementStockIfAvailable(groupId));
+                if (updated != null && updated > 0) {
+                    deducted.increment();
+                    qrOps.increment();
+                } else {
+                    openGroups.remove(groupId);
+                }
+            })));
+        }
+        for (int t = 0; t < ADMIN_THREADS; t++) {
+            futures.add(pool.submit(() -> loop(start, openGroups, lockFailures, groupId -> {
+                if (!restocking.get(groupId)) {
+                    Thread.onSpinWait();
+                    return;
+                }
+                try {
+                    // 화면에서 0 을 보고 1 로 수정 = +1 입고 (그 사이 차감분은 유지)
+                    MenuGroupStockResponse response = tx.execute(status ->
+                            menuGroupService.updateStockForStore(storeId, groupId, new StockUpdateRequest(1, 0, null)));
+                    restocked.increment();
+                    if (response.getStock() < RESTOCK_FLOOR) {
+                        restocking.put(groupId, false);
+                    }
+                } catch (CustomException e) {
+                    if (e.getErrorCodeIfs() != ErrorCode.CONFLICT) {
+                        throw e;
+                    }
+                    updateConflicts.increment();
+                }
+            })));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        pool.shutdown();
+
+        int remaining = menuGroupStockRepository.findStockDeltasByGroupIds(groupIds).stream()
+                .mapToInt(StockDelta::stock)
+                .sum();
+        assertTrue(remaining >= 0);
+        assertEquals(GROUPS * INITIAL_STOCK + restocked.sum(), remaining + deducted.sum(),
+                label + ": stock must be conserved (no oversell, no lost update)");
+        Map<Long, Integer> events = lowStock30.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+        assertEquals(groupIds.stream().collect(Collectors.toMap(id -> id, id -> 1)), events,
+                label + ": exactly one LowStock30Event per group");
+
+        long ops = deductOps.sum() + qrOps.sum() + restocked.sum();
+        return new Result(label, ops * 1000.0 / Math.max(1, elapsedMillis), deductOps.sum(), qrOps.sum(),
+                restocked.sum(), updateConflicts.sum(), lockFailures.sum(), elapsedMillis);
+    }
+
+    /**
+     * 남은 그룹 중 하나를 골라 반복 (모든 그룹이 바닥나면 종료)
+     * 교착/잠금 대기 초과로 롤백된 시도는 세고 다시 시도한다. (분산 모드에서 QR 슬롯 순회와 관리자 슬롯 잠금이 엇갈릴 때)
+     */
+    private static void loop(CountDownLatch start, OpenGroups openGroups, LongAdder lockFailures, LongConsumer op) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        while (true) {
+            List<Long> open = openGroups.open();
+            if (open.isEmpty()) {
+                return;
+            }
+            try {
+                op.accept(open.get(ThreadLocalRandom.current().nextInt(open.size())));
+            } catch (PessimisticLockingFailureException e) {
+                lockFailures.increment();
+            }
+        }
+    }
+
+    private Long seedStore() {
+        return storeRepository.save(Store.builder()
+                .name("stress-store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build()).getId();
+    }
+
+    private Long seedGroup(Long storeId) {
+        MenuGroup group = MenuGroup.builder()
+                .store(storeRepository.getReferenceById(storeId))
+                .name("stress-group")
+                .sortOrder(1)
+                .isDefault(true)
+                .build();
+        group.initializeStock(INITIAL_STOCK);
+        MenuGroupStock stock = menuGroupRepository.save(group).getStock();
+        return stock.getMenuGroup().getId();
+    }
+
+    // 아직 재고가 남은 그룹 (QR/단건 차감이 실패하면 빠진다)
+    private static final class OpenGroups {
+
+        private final Set<Long> open = ConcurrentHashMap.newKeySet();
+
+        private OpenGroups(List<Long> groupIds) {
+            open.addAll(groupIds);
+        }
+
+        private List<Long> open() {
+            return List.copyOf(open);
+        }
+
+        private void remove(Long groupId) {
+            open.remove(groupId);
+        }
+    }
+
+    private record Result(String label, double opsPerSecond, long deductOps, long qrOps,
+                          long updateOps, long updateConflicts, long lockFailures, long elapsedMillis) {
+    }
+}
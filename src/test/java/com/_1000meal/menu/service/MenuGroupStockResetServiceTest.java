@@ -2,133 +2,179 @@ package com._1000meal.menu.service;
 
 import com._1000meal.menu.domain.MenuGroup;
 import com._1000meal.menu.domain.MenuGroupStock;
-import com._1000meal.menu.repository.MenuGroupDayCapacityRepository;
+import com._1000meal.menu.domain.MenuGroupStockSlot;
+import com._1000meal.menu.repository.MenuGroupRepository;
 import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSlotRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.lang.reflect.Field;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({MenuGroupStockResetService.class, MenuGroupStockSlotService.class})
 class MenuGroupStockResetServiceTest {
 
-    @Mock
-    MenuGroupStockRepository menuGroupStockRepository;
-
-    @Mock
-    MenuGroupDayCapacityRepository menuGroupDayCapacityRepository;
+    private static final DayOfWeek TODAY = LocalDate.now(ZoneId.of("Asia/Seoul")).getDayOfWeek();
 
-    @InjectMocks
-    MenuGroupStockResetService menuGroupStockResetService;
+    @Autowired MenuGroupStockResetService menuGroupStockResetService;
+    @Autowired MenuGroupStockSlotService menuGroupStockSlotService;
+    @Autowired MenuGroupStockRepository menuGroupStockRepository;
+    @Autowired MenuGroupStockSlotRepository menuGroupStockSlotRepository;
+    @Autowired MenuGroupRepository menuGroupRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired EntityManager entityManager;
+    @Autowired JdbcTemplate jdbcTemplate;
 
     @Test
-    @DisplayName("capacity가 80이고 stock이 0이면 80으로 초기화된다")
-    void resetAllStocksToCapacity_resetsToEighty() throws Exception {
-        MenuGroupStock stock = stock(1L, 80, 0);
-        when(menuGroupStockRepository.findAll()).thenReturn(List.of(stock));
-        when(menuGroupDayCapacityRepository.findByMenuGroupIdAndDayOfWeek(eq(1L), any())).thenReturn(Optional.empty());
+    @DisplayName("기본 capacity 로 초기화하고, 오늘 요일 지정 수량이 있으면 그 값을 쓰며, capacity 0 이면 건너뛴다")
+    void resetAllStocksToCapacity_usesDayCapacityThenDefault() {
+        Store store = seedStore();
+        Long eighty = seedGroup(store, 80, 0);
+        Long forty = seedGroup(store, 40, 13);
+        Long zero = seedGroup(store, 0, 25);
+        Long byDay = seedGroup(store, 40, 3);
+        seedDayCapacity(byDay, TODAY, 55);
+        seedDayCapacity(forty, TODAY.plus(1), 99);
+        menuGroupStockRepository.markThresholdNotified(eighty, 10, LocalDate.now());
 
         MenuGroupStockResetService.StockResetSummary summary = menuGroupStockResetService.resetAllStocksToCapacity();
 
-        assertEquals(80, stock.getStock());
-        assertEquals(1, summary.getTotalCount());
-        assertEquals(1, summary.getResetCount());
-        assertEquals(0, summary.getSkipCount());
+        assertEquals(4, summary.getTotalCount());
+        assertEquals(3, summary.getResetCount());
+        assertEquals(1, summary.getSkipCount());
         assertEquals(0, summary.getExceptionCount());
-        verify(menuGroupStockRepository).findAll();
+        assertTrue(summary.getExceptionSummaries().isEmpty());
+
+        assertEquals(80, stock(eighty).getStock());
+        assertNull(stock(eighty).getLastNotifiedThreshold());
+        assertEquals(40, stock(forty).getStock());
+        assertEquals(25, stock(zero).getStock());
+        assertEquals(55, stock(byDay).getStock());
     }
 
     @Test
-    @DisplayName("capacity가 40이고 stock이 13이면 40으로 초기화된다")
-    void resetAllStocksToCapacity_resetsToForty() throws Exception {
-        MenuGroupStock stock = stock(2L, 40, 13);
-        when(menuGroupStockRepository.findAll()).thenReturn(List.of(stock));
-        when(menuGroupDayCapacityRepository.findByMenuGroupIdAndDayOfWeek(eq(2L), any())).thenReturn(Optional.empty());
+    @DisplayName("분산 모드 그룹은 슬롯을 모아 capacity 로 리셋한 뒤 다시 분배한다")
+    void resetAllStocksToCapacity_respreadsStripedGroups() {
+        Store store = seedStore();
+        Long groupId = seedGroup(store, 20, 9);
+        MenuGroupStock striped = menuGroupStockRepository.findByMenuGroupIdForUpdate(groupId).orElseThrow();
+        menuGroupStockSlotService.changeSlotCount(striped, 4);
+        entityManager.flush();
 
         MenuGroupStockResetService.StockResetSummary summary = menuGroupStockResetService.resetAllStocksToCapacity();
 
-        assertEquals(40, stock.getStock());
         assertEquals(1, summary.getResetCount());
-        assertEquals(0, summary.getSkipCount());
-        assertEquals(0, summary.getExceptionCount());
+        assertEquals(20, stock(groupId).getStock());
+        assertEquals(15, menuGroupStockSlotRepository.findAll().stream().mapToInt(MenuGroupStockSlot::getStock).sum());
     }
 
     @Test
-    @DisplayName("capacity가 0이면 skip 처리된다")
-    void resetAllStocksToCapacity_skipsInvalidCapacity() throws Exception {
-        MenuGroupStock stock = stock(3L, 0, 25);
-        when(menuGroupStockRepository.findAll()).thenReturn(List.of(stock));
-        when(menuGroupDayCapacityRepository.findByMenuGroupIdAndDayOfWeek(eq(3L), any())).thenReturn(Optional.empty());
+    @DisplayName("그룹 1만 개를 리셋해도 실행되는 SQL 문장 수는 몇 개로 고정된다")
+    void resetAllStocksToCapacity_tenThousandGroupsInHandfulOfStatements() {
+        int groups = 10_000;
+        Store store = seedStore();
+        long firstGroupId = 1_000_000L;
+        List<Object[]> groupRows = new ArrayList<>();
+        List<Object[]> stockRows = new ArrayList<>();
+        List<Object[]> dayRows = new ArrayList<>();
+        for (int i = 0; i < groups; i++) {
+            long groupId = firstGroupId + i;
+            groupRows.add(new Object[]{groupId, store.getId(), "group-" + i});
+            stockRows.add(new Object[]{groupId, i % 7});
+            if (i % 10 == 0) {
+                dayRows.add(new Object[]{groupId, TODAY.name()});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO menu_group (id, store_id, name, sort_order, is_default) VALUES (?, ?, ?, 0, false)",
+                groupRows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO menu_group_stock (menu_group_id, stock, capacity, slot_count) VALUES (?, ?, 50, 0)",
+                stockRows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO menu_group_capacity_by_day (menu_group_id, day_of_week, capacity) VALUES (?, ?, 70)",
+                dayRows);
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
 
         MenuGroupStockResetService.StockResetSummary summary = menuGroupStockResetService.resetAllStocksToCapacity();
 
-        assertEquals(25, stock.getStock());
-        assertEquals(1, summary.getTotalCount());
-        assertEquals(0, summary.getResetCount());
-        assertEquals(1, summary.getSkipCount());
-        assertEquals(0, summary.getExceptionCount());
-        assertTrue(summary.getExceptionSummaries().isEmpty());
+        assertEquals(groups, summary.getTotalCount());
+        assertEquals(groups, summary.getResetCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "statements=" + statistics.getPrepareStatementCount());
+        assertEquals(groups / 10, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM menu_group_stock WHERE menu_group_id >= ? AND stock = 70",
+                Integer.class, firstGroupId));
+        assertEquals(groups - groups / 10, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM menu_group_stock WHERE menu_group_id >= ? AND stock = 50",
+                Integer.class, firstGroupId));
     }
 
-    @Test
-    @DisplayName("그룹이 2개면 각각 개별 초기화된다")
-    void resetAllStocksToCapacity_resetsEachGroupIndependently() throws Exception {
-        MenuGroupStock stock1 = stock(4L, 40, 13);
-        MenuGroupStock stock2 = stock(5L, 40, 0);
-        when(menuGroupStockRepository.findAll()).thenReturn(List.of(stock1, stock2));
-        when(menuGroupDayCapacityRepository.findByMenuGroupIdAndDayOfWeek(eq(4L), any())).thenReturn(Optional.empty());
-        when(menuGroupDayCapacityRepository.findByMenuGroupIdAndDayOfWeek(eq(5L), any())).thenReturn(Optional.empty());
-
-        MenuGroupStockResetService.StockResetSummary summary = menuGroupStockResetService.resetAllStocksToCapacity();
-
-        assertEquals(40, stock1.getStock());
-        assertEquals(40, stock2.getStock());
-        assertEquals(2, summary.getTotalCount());
-        assertEquals(2, summary.getResetCount());
-        assertEquals(0, summary.getSkipCount());
-        assertEquals(0, summary.getExceptionCount());
+    private MenuGroupStock stock(Long groupId) {
+        entityManager.flush();
+        entityManager.clear();
+        return menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow();
     }
 
-    @Test
-    @DisplayName("기존 수동 수정 후에도 일일 초기화는 capacity 기준으로 동작한다")
-    void resetAllStocksToCapacity_afterManualUpdateUsesCapacity() throws Exception {
-        MenuGroupStock stock = stock(6L, 80, 20);
-        stock.updateStock(7);
-        when(menuGroupStockRepository.findAll()).thenReturn(List.of(stock));
-        when(menuGroupDayCapacityRepository.findByMenuGroupIdAndDayOfWeek(eq(6L), any())).thenReturn(Optional.empty());
-
-        MenuGroupStockResetService.StockResetSummary summary = menuGroupStockResetService.resetAllStocksToCapacity();
-
-        assertEquals(80, stock.getStock());
-        assertEquals(1, summary.getResetCount());
-        assertEquals(0, summary.getSkipCount());
+    private Store seedStore() {
+        return storeRepository.save(Store.builder()
+                .name("store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build());
     }
 
-    private MenuGroupStock stock(Long groupId, int capacity, int currentStock) throws Exception {
-        MenuGroup group = new MenuGroup(null, null, "group-" + groupId, 0, false);
-        setField(group, "id", groupId);
-
-        MenuGroupStock stock = MenuGroupStock.of(group, capacity);
-        setField(stock, "stock", currentStock);
-        return stock;
+    private Long seedGroup(Store store, int capacity, int currentStock) {
+        MenuGroup group = MenuGroup.builder()
+                .store(store)
+                .name("group")
+                .sortOrder(1)
+                .isDefault(true)
+                .build();
+        group.initializeStock(capacity);
+        menuGroupRepository.save(group);
+        entityManager.flush();
+        menuGroupStockRepository.applyStockDelta(group.getId(), capacity - currentStock);
+        return group.getId();
     }
 
-    private void setField(Object target, String fieldName, Object value) throws Exception {
-        Field field = target.getClass().getDeclaredField(fieldName);
-        field.setAccessible(true);
-        field.set(target, value);
+    private void seedDayCapacity(Long groupId, DayOfWeek dayOfWeek, int capacity) {
+        jdbcTemplate.update(
+                "INSERT INTO menu_group_capacity_by_day (menu_group_id, day_of_week, capacity) VALUES (?, ?, ?)",
+                groupId, dayOfWeek.name(), capacity);
     }
 }
@@ -0,0 +1,136 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.domain.MenuGroupStock;
+import com._1000meal.menu.domain.MenuGroupStockSlot;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSlotRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(MenuGroupStockSlotService.class)
+class MenuGroupStockSlotServiceTest {
+
+    @Autowired MenuGroupStockSlotService menuGroupStockSlotService;
+    @Autowired MenuGroupStockRepository menuGroupStockRepository;
+    @Autowired MenuGroupStockSlotRepository menuGroupStockSlotRepository;
+    @Autowired MenuGroupRepository menuGroupRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired EntityManager entityManager;
+
+    @Test
+    @DisplayName("슬롯 4개로 나누면 재고가 균등 분배되고 조회 시 합계가 반환된다")
+    void changeSlotCount_spreadsAndSums() {
+        Long groupId = seedGroup(10);
+
+        enableSlots(groupId, 4);
+
+        List<Integer> slotStocks = menuGroupStockSlotRepository.findAll().stream()
+                .map(MenuGroupStockSlot::getStock)
+                .toList();
+        assertEquals(3, slotStocks.size());
+        assertEquals(10, reload(groupId).getStock());
+        assertEquals(3, reload(groupId).getStock() - slotStocks.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    @DisplayName("분산 모드 차감은 빈 슬롯을 건너뛰며 총량만큼만 성공한다")
+    void decrement_fallsBackAcrossSlotsUntilSoldOut() {
+        Long groupId = seedGroup(7);
+        enableSlots(groupId, 4);
+
+        int succeeded = 0;
+        for (int i = 0; i < 10; i++) {
+            succeeded += menuGroupStockSlotService.decrementStockIfAvailable(groupId);
+        }
+
+        assertEquals(7, succeeded);
+        assertEquals(0, reload(groupId).getStock());
+    }
+
+    @Test
+    @DisplayName("슬롯을 모아 리셋하면 총량이 capacity 로 맞춰지고 다시 분배된다")
+    void gatherAndSpread_resetsTotal() {
+        Long groupId = seedGroup(8);
+        enableSlots(groupId, 3);
+        menuGroupStockSlotService.decrementStockIfAvailable(groupId);
+        menuGroupStockSlotService.decrementStockIfAvailable(groupId);
+
+        MenuGroupStock stock = menuGroupStockRepository.findByMenuGroupIdForUpdate(groupId).orElseThrow();
+        List<MenuGroupStockSlot> slots = menuGroupStockSlotService.gather(stock);
+        assertEquals(6, stock.getStock());
+        stock.resetTo(20);
+        menuGroupStockSlotService.spread(stock, slots);
+
+        assertEquals(20, reload(groupId).getStock());
+    }
+
+    @Test
+    @DisplayName("슬롯 수를 1로 바꾸면 슬롯 재고가 그룹 행으로 돌아온다")
+    void changeSlotCount_backToSingleRow() {
+        Long groupId = seedGroup(9);
+        enableSlots(groupId, 4);
+
+        enableSlots(groupId, 1);
+
+        assertEquals(0, menuGroupStockSlotRepository.count());
+        MenuGroupStock stock = reload(groupId);
+        assertEquals(9, stock.getStock());
+        assertEquals(false, stock.isStriped());
+    }
+
+    private void enableSlots(Long groupId, int slotCount) {
+        MenuGroupStock stock = menuGroupStockRepository.findByMenuGroupIdForUpdate(groupId).orElseThrow();
+        menuGroupStockSlotService.changeSlotCount(stock, slotCount);
+        entityManager.flush();
+        // 커밋 전이라 afterCommit 등록이 일어나지 않으므로 직접 다시 읽는다
+        menuGroupStockSlotService.reload();
+    }
+
+    private MenuGroupStock reload(Long groupId) {
+        entityManager.flush();
+        entityManager.clear();
+        return menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow();
+    }
+
+    private Long seedGroup(int capacity) {
+        Store store = storeRepository.save(Store.builder()
+                .name("store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build());
+        MenuGroup group = MenuGroup.builder()
+                .store(store)
+                .name("group")
+                .sortOrder(1)
+                .isDefault(true)
+                .build();
+        group.initializeStock(capacity);
+        menuGroupRepository.save(group);
+        entityManager.flush();
+        return group.getId();
+    }
+}
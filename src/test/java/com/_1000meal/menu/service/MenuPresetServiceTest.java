@@ -19,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
@@ -43,6 +44,9 @@ class MenuPresetServiceTest {
     @Mock
     CurrentAccountProvider currentAccountProvider;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     MenuPresetService menuPresetService;
 
@@ -24,12 +24,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,6 +47,7 @@ class MenuServiceTest {
     @Mock MenuGroupRepository menuGroupRepository;
     @Mock MenuRepository menuRepository;
     @Mock MenuGroupService menuGroupService;
+    @Mock ApplicationEventPublisher eventPublisher;
 
     @InjectMocks MenuService service;
 
@@ -122,9 +126,8 @@ class MenuServiceTest {
         when(store.getId()).thenReturn(storeId);
 
         when(storeRepository.findById(storeId)).thenReturn(Optional.of(store));
-        when(menuGroupService.getMenuGroups(eq(storeId), any(LocalDate.class)))
-                .thenAnswer(inv -> {
-                    LocalDate d = inv.getArgument(1);
+        when(menuGroupService.getMenuGroupsForRange(eq(storeId), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(inv -> perDay(inv, d -> {
                     return DailyMenuWithGroupsDto.builder()
                             .id(null)
                             .date(d)
@@ -134,7 +137,7 @@ class MenuServiceTest {
                             .totalStock(0)
                             .groups(List.of())
                             .build();
-                });
+                }));
 
         WeeklyMenuWithGroupsResponse res = service.getWeeklyMenuWithGroups(storeId, wed);
 
@@ -171,11 +174,10 @@ class MenuServiceTest {
                 .menuItems(List.of(new MenuItemDto("떡볶이", true)))
                 .build();
 
-        when(menuGroupService.getMenuGroups(eq(storeId), any(LocalDate.class)))
-                .thenAnswer(inv -> {
-                    LocalDate d = inv.getArgument(1);
+        when(menuGroupService.getMenuGroupsForRange(eq(storeId), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(inv -> perDay(inv, d -> {
                     return DailyMenuWithGroupsDto.builder()
-                            .id(null)
+                            .id(d.equals(wed) ? 10L : null)
                             .date(d)
                             .dayOfWeek(d.getDayOfWeek())
                             .isOpen(true)
@@ -183,7 +185,7 @@ class MenuServiceTest {
                             .totalStock(90)
                             .groups(List.of(groupDto))
                             .build();
-                });
+                }));
 
         WeeklyMenuWithGroupsResponse res = service.getWeeklyMenuWithGroups(storeId, wed);
 
@@ -205,15 +207,14 @@ class MenuServiceTest {
     }
 
     @Test
-    @DisplayName("getWeeklyMenuWithGroups: 주간은 일간 조회 로직을 재사용")
+    @DisplayName("getWeeklyMenuWithGroups: 월~금을 기간 로더로 한 번에 조회 (날짜별 조회 없음)")
     void getWeeklyMenuWithGroups_reusesDailyLogic() {
         Long storeId = 1L;
         Store store = mock(Store.class);
         when(storeRepository.findById(storeId)).thenReturn(Optional.of(store));
 
-        when(menuGroupService.getMenuGroups(eq(storeId), any(LocalDate.class)))
-                .thenAnswer(inv -> {
-                    LocalDate d = inv.getArgument(1);
+        when(menuGroupService.getMenuGroupsForRange(eq(storeId), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(inv -> perDay(inv, d -> {
                     return DailyMenuWithGroupsDto.builder()
                             .id(null)
                             .date(d)
@@ -223,10 +224,11 @@ class MenuServiceTest {
                             .totalStock(0)
                             .groups(List.of())
                             .build();
-                });
+                }));
 
         WeeklyMenuWithGroupsResponse res = service.getWeeklyMenuWithGroups(storeId, wed);
-        verify(menuGroupService, times(5)).getMenuGroups(eq(storeId), any(LocalDate.class));
+        verify(menuGroupService).getMenuGroupsForRange(storeId, weekStart, weekStart.plusDays(4));
+        verify(menuGroupService, never()).getMenuGroups(any(), any());
         assertEquals(5, res.getDailyMenus().size());
     }
 
@@ -240,9 +242,8 @@ class MenuServiceTest {
         LocalDate today = wed;
         LocalDate tomorrow = wed.plusDays(1);
 
-        when(menuGroupService.getMenuGroups(eq(storeId), any(LocalDate.class)))
-                .thenAnswer(inv -> {
-                    LocalDate d = inv.getArgument(1);
+        when(menuGroupService.getMenuGroupsForRange(eq(storeId), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(inv -> perDay(inv, d -> {
                     boolean pinned = d.equals(tomorrow);
                     MenuGroupDto groupDto = MenuGroupDto.builder()
                             .id(1L)
@@ -262,7 +263,7 @@ class MenuServiceTest {
                             .totalStock(10)
                             .groups(List.of(groupDto))
                             .build();
-                });
+                }));
 
         WeeklyMenuWithGroupsResponse res = service.getWeeklyMenuWithGroups(storeId, today);
 
@@ -287,9 +288,8 @@ class MenuServiceTest {
         when(store.getId()).thenReturn(storeId);
         when(storeRepository.findById(storeId)).thenReturn(Optional.of(store));
 
-        when(menuGroupService.getMenuGroups(eq(storeId), any(LocalDate.class)))
-                .thenAnswer(inv -> {
-                    LocalDate d = inv.getArgument(1);
+        when(menuGroupService.getMenuGroupsForRange(eq(storeId), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(inv -> perDay(inv, d -> {
                     return DailyMenuWithGroupsDto.builder()
                             .id(null)
                             .date(d)
@@ -299,7 +299,7 @@ class MenuServiceTest {
                             .totalStock(0)
                             .groups(List.of())
                             .build();
-                });
+                }));
 
         // 토요일 일때
         LocalDate saturday = LocalDate.of(2026, 1, 10);
@@ -325,10 +325,15 @@ class MenuServiceTest {
         Store store = mock(Store.class);
         when(storeRepository.findById(storeId)).thenReturn(Optional.of(store));
 
-        when(weeklyMenuRepository.findByStoreIdAndRangeWithDailyMenus(storeId, wed))
-                .thenReturn(Optional.empty());
-        when(menuGroupRepository.findByStoreIdWithStock(storeId))
-                .thenReturn(List.of());
+        when(menuGroupService.getMenuGroupsForRange(eq(storeId), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(inv -> perDay(inv, d -> DailyMenuWithGroupsDto.builder()
+                        .date(d)
+                        .dayOfWeek(d.getDayOfWeek())
+                        .isOpen(true)
+                        .isHoliday(false)
+                        .totalStock(0)
+                        .groups(List.of())
+                        .build()));
 
         WeeklyMenuWithGroupsResponse res = service.getWeeklyMenuWithGroups(storeId, wed);
 
@@ -348,4 +353,11 @@ class MenuServiceTest {
         assertFalse(resultDays.contains(DayOfWeek.SATURDAY));
         assertFalse(resultDays.contains(DayOfWeek.SUNDAY));
     }
+
+    // 기간 로더 응답을 날짜별 응답으로 만든다
+    private static List<DailyMenuWithGroupsDto> perDay(InvocationOnMock inv, Function<LocalDate, DailyMenuWithGroupsDto> day) {
+        LocalDate start = inv.getArgument(1);
+        LocalDate end = inv.getArgument(2);
+        return start.datesUntil(end.plusDays(1)).map(day).toList();
+    }
 }
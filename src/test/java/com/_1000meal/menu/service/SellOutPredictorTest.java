@@ -0,0 +1,84 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.event.SellOutImminentEvent;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SellOutPredictorTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long NOON_KST = Instant.parse("2026-02-11T03:00:00Z").toEpochMilli();
+
+    @Mock MenuGroupStockRepository menuGroupStockRepository;
+    @Mock HotStockLedger hotStockLedger;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("일정한 속도로 차감되면 분당 속도에 수렴하고, 차감이 끊기면 예측을 멈춘다")
+    void minutesToSellOut_tracksSteadyRateAndDecays() {
+        SellOutPredictor predictor = predictor();
+        long now = NOON_KST;
+        // 분당 6개씩 30분
+        for (int i = 0; i < 180; i++) {
+            now += 10_000L;
+            predictor.record(1L, 10L, 1, now);
+        }
+
+        double minutes = predictor.minutesToSellOut(10L, 60, now).orElseThrow();
+        assertEquals(10.0, minutes, 0.5);
+
+        assertTrue(predictor.minutesToSellOut(10L, 0, now).isEmpty());
+        assertTrue(predictor.minutesToSellOut(99L, 60, now).isEmpty());
+        OptionalDouble idle = predictor.minutesToSellOut(10L, 60, now + 60 * MINUTE);
+        assertTrue(idle.isEmpty());
+    }
+
+    @Test
+    @DisplayName("소진까지 임계치 이하로 남은 그룹만 하루 한 번 이벤트를 발행하고, 그 사이 차감이 없던 그룹은 다시 읽지 않는다")
+    void evaluate_publishesImminentOncePerGroup() {
+        SellOutPredictor predictor = predictor();
+        long now = NOON_KST;
+        for (int i = 0; i < 120; i++) {
+            now += 10_000L;
+            predictor.record(1L, 10L, 1, now);
+            predictor.record(1L, 20L, 1, now);
+        }
+        List<StockDelta> stocks = List.of(new StockDelta(1L, 10L, 30), new StockDelta(1L, 20L, 300));
+        when(menuGroupStockRepository.findStockDeltasByGroupIds(anyList())).thenReturn(stocks);
+        when(hotStockLedger.overlay(stocks)).thenReturn(stocks);
+
+        predictor.evaluate(now);
+        predictor.evaluate(now + 1_000L);
+
+        ArgumentCaptor<SellOutImminentEvent> captor = ArgumentCaptor.forClass(SellOutImminentEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(10L, captor.getValue().groupId());
+        assertEquals(30, captor.getValue().remainingStock());
+        assertTrue(captor.getValue().minutesToSellOut() <= 15);
+        verify(menuGroupStockRepository, times(1)).findStockDeltasByGroupIds(anyList());
+    }
+
+    private SellOutPredictor predictor() {
+        return new SellOutPredictor(menuGroupStockRepository, hotStockLedger, eventPublisher, 5, 0.2, 15);
+    }
+}
@@ -0,0 +1,71 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.domain.MenuGroupStockSeries;
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.dto.StockSample;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSeriesRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockTimeSeriesServiceTest {
+
+    private static final long NINE_KST = Instant.parse("2026-02-11T00:00:00Z").toEpochMilli();
+    private static final LocalDate DATE = LocalDate.of(2026, 2, 11);
+
+    @Mock MenuGroupStockRepository menuGroupStockRepository;
+    @Mock MenuGroupStockSeriesRepository menuGroupStockSeriesRepository;
+    @Mock MenuGroupRepository menuGroupRepository;
+    @Mock HotStockLedger hotStockLedger;
+    @Mock PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("바뀐 그룹만 샘플링하고, 링이 가득 차면 오래된 점부터 버리며, 종료 시 0 점을 붙여 하루 한 행으로 저장한다")
+    void sampleThenCloseAndFlush_keepsLatestPointsAndPersistsOneRow() {
+        StockTimeSeriesService service = new StockTimeSeriesService(menuGroupStockRepository,
+                menuGroupStockSeriesRepository, menuGroupRepository, hotStockLedger, transactionManager, 3);
+        when(hotStockLedger.overlay(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int[] stocks = {50, 50, 40, 30, 20};
+        for (int i = 0; i < stocks.length; i++) {
+            List<StockDelta> deltas = List.of(new StockDelta(1L, 10L, stocks[i]));
+            when(menuGroupStockRepository.findStockDeltasByGroupIds(anyCollection())).thenReturn(deltas);
+            service.onStockChanged(StockChangedEvent.ofDeduction(1L, 10L, 1));
+            service.sample(NINE_KST + i * 60_000L);
+        }
+        service.sample(NINE_KST + 10 * 60_000L);
+
+        service.closeAndFlush(List.of(1L), DATE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MenuGroupStockSeries>> captor = ArgumentCaptor.forClass(List.class);
+        verify(menuGroupStockSeriesRepository).saveAll(captor.capture());
+        MenuGroupStockSeries series = captor.getValue().get(0);
+        assertEquals(10L, series.getMenuGroupId());
+        assertEquals(DATE, series.getSeriesDate());
+        assertEquals(3, series.getSampleCount());
+
+        List<StockSample> samples = StockTimeSeriesService.decode(series.getSamples());
+        assertEquals(List.of(30, 20, 0), samples.stream().map(StockSample::stock).toList());
+        assertEquals(LocalTime.of(9, 3), samples.get(0).time());
+    }
+}
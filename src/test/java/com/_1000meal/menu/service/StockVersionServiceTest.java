@@ -0,0 +1,66 @@
+package com._1000meal.menu.service;
+
+import com._1000meal.menu.dto.StockDelta;
+import com._1000meal.menu.dto.StockVersionResponse;
+import com._1000meal.menu.event.StockChangedEvent;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockVersionServiceTest {
+
+    @Test
+    @DisplayName("버전이 같으면 대기하고, 해당 매장 재고가 바뀌면 한 번 조회한 결과로 모든 대기 요청을 깨운다")
+    void await_parksUntilStoreVersionChanges() {
+        MenuGroupStockRepository repository = mock(MenuGroupStockRepository.class);
+        HotStockLedger ledger = mock(HotStockLedger.class);
+        when(ledger.overlay(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findStockDeltasByStoreIds(any())).thenReturn(List.of(new StockDelta(1L, 10L, 41)));
+        StockVersionService service = new StockVersionService(repository, ledger, new SimpleMeterRegistry(), 60_000, 100);
+
+        long version = service.currentVersion(1L);
+        DeferredResult<StockVersionResponse> first = service.await(1L, version, Function.identity());
+        DeferredResult<StockVersionResponse> second = service.await(1L, version, Function.identity());
+        service.onStockChanged(StockChangedEvent.ofGroup(2L, 20L));
+
+        assertFalse(first.hasResult());
+        verify(repository, never()).findStockDeltasByStoreIds(any());
+
+        service.onStockChanged(StockChangedEvent.ofGroup(1L, 10L));
+
+        verify(repository, timeout(1_000).times(1)).findStockDeltasByStoreIds(List.of(1L));
+        StockVersionResponse response = awaitResult(first);
+        assertTrue(response.changed());
+        assertTrue(response.version() > version);
+        assertEquals(41, response.stocks().get(0).stock());
+        assertEquals(response, awaitResult(second));
+        verify(repository, times(1)).findStockDeltasByStoreIds(any());
+        service.stop();
+    }
+
+    private static StockVersionResponse awaitResult(DeferredResult<StockVersionResponse> result) {
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(result.hasResult());
+        return (StockVersionResponse) result.getResult();
+    }
+}
@@ -0,0 +1,185 @@
+package com._1000meal.qr.journal;
+
+import com._1000meal.auth.model.Account;
+import com._1000meal.auth.model.AccountStatus;
+import com._1000meal.auth.repository.AccountRepository;
+import com._1000meal.global.constant.Role;
+import com._1000meal.qr.repository.MealUsageRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(MealUsageBatchWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MealUsageJournalTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final AtomicInteger ACCOUNT_NO = new AtomicInteger();
+
+    @Autowired MealUsageBatchWriter batchWriter;
+    @Autowired MealUsageRepository mealUsageRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StoreRepository storeRepository;
+
+    @TempDir Path dir;
+
+    @Test
+    @DisplayName("append 는 fsync 후 반환되고, flush 되면 meal_usage 에 반영된다")
+    void append_durableThenFlushed() throws IOException {
+        Long storeId = seedStore();
+        Long accountId = seedAccount();
+        long before = mealUsageRepository.count();
+        MealUsageJournal journal = journal(5);
+        journal.start();
+
+        journal.append(record(accountId, storeId));
+
+        assertTrue(journalLines().stream().anyMatch(line -> line.contains("\"accountId\":" + accountId)));
+
+        journal.flushPending();
+        assertEquals(before + 1, mealUsageRepository.count());
+        assertFalse(journal.findPending(accountId, LocalDate.now(KST)).isPresent());
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("재시작 시 반영되지 않은 레코드를 재생하고, 끊긴 줄과 이미 들어간 레코드는 건너뛴다")
+    void start_replaysUnflushedRecordsWithoutDuplicates() throws IOException {
+        Long storeId = seedStore();
+        Long first = seedAccount();
+        Long second = seedAccount();
+        long before = mealUsageRepository.count();
+        // flusher 가 돌지 않도록 주기를 길게 잡고 반영 전에 "크래시"
+        MealUsageJournal crashed = journal(60_000);
+        crashed.start();
+        crashed.append(record(first, storeId));
+        crashed.append(record(second, storeId));
+        batchWriter.insertAll(List.of(record(first, storeId).withSeq(1)));
+        Files.writeString(currentSegment(), "{\"seq\":3,\"accountId\":", StandardOpenOption.APPEND);
+
+        MealUsageJournal restarted = journal(5);
+        restarted.start();
+
+        assertEquals(before + 2, mealUsageRepository.count());
+        assertTrue(restarted.isAvailable());
+        crashed.stop();
+        restarted.stop();
+        assertEquals(before + 2, mealUsageRepository.count());
+    }
+
+    @Test
+    @DisplayName("넣을 수 없는 레코드는 dead-letter 로 옮기고 나머지는 반영되며 저널이 막히지 않는다")
+    void flush_movesPoisonRecordToDeadLetter() throws IOException {
+        Long storeId = seedStore();
+        Long first = seedAccount();
+        Long second = seedAccount();
+        long before = mealUsageRepository.count();
+        MealUsageJournal journal = journal(60_000);
+        journal.start();
+
+        journal.append(record(first, storeId));
+        journal.append(record(Long.MAX_VALUE, storeId));   // 없는 계정 (FK 위반)
+        journal.append(record(second, storeId));
+        journal.flushPending();
+
+        assertEquals(before + 2, mealUsageRepository.count());
+        List<String> deadLetters = Files.readAllLines(dir.resolve("dead-letter.jsonl"), StandardCharsets.UTF_8);
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains("\"accountId\":" + Long.MAX_VALUE));
+
+        Long third = seedAccount();
+        journal.append(record(third, storeId));
+        journal.flushPending();
+        assertEquals(before + 3, mealUsageRepository.count());
+        journal.stop();
+    }
+
+    private MealUsageJournal journal(long flushIntervalMillis) {
+        return new MealUsageJournal(
+                batchWriter,
+                new SimpleMeterRegistry(),
+                true,
+                dir.toString(),
+                1000,
+                flushIntervalMillis,
+                500,
+                1024 * 1024,
+                1000
+        );
+    }
+
+    private MealUsageJournalRecord record(Long accountId, Long storeId) {
+        LocalDateTime now = LocalDateTime.now(KST);
+        return new MealUsageJournalRecord(0L, accountId, storeId, null, now, now.toLocalDate(),
+                "CS", "2024" + accountId, "student", now);
+    }
+
+    private List<String> journalLines() throws IOException {
+        return Files.readAllLines(currentSegment(), StandardCharsets.UTF_8);
+    }
+
+    private Path currentSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".journal"))
+                    .sorted()
+                    .reduce((a, b) -> b)
+                    .orElseThrow();
+        }
+    }
+
+    private Long seedStore() {
+        return storeRepository.save(Store.builder()
+                .name("store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build()).getId();
+    }
+
+    private Long seedAccount() {
+        int no = ACCOUNT_NO.incrementAndGet();
+        return accountRepository.save(new Account(
+                null,
+                "2024" + String.format("%04d", no),
+                "journal" + no + "@sch.ac.kr",
+                "hash",
+                Role.STUDENT,
+                AccountStatus.ACTIVE
+        )).getId();
+    }
+}
@@ -0,0 +1,259 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.auth.model.Account;
+import com._1000meal.auth.model.AccountStatus;
+import com._1000meal.auth.model.UserProfile;
+import com._1000meal.auth.repository.AccountRepository;
+import com._1000meal.auth.repository.UserProfileRepository;
+import com._1000meal.global.constant.Role;
+import com._1000meal.menu.domain.GroupDailyMenu;
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.repository.GroupDailyMenuRepository;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSlotRepository;
+import com._1000meal.menu.service.HotStockLedger;
+import com._1000meal.menu.service.MenuGroupStockSlotService;
+import com._1000meal.qr.api.dto.OfflineScanBatchResponse;
+import com._1000meal.qr.api.dto.OfflineScanRecord;
+import com._1000meal.qr.api.dto.OfflineScanResult;
+import com._1000meal.qr.domain.MealUsage;
+import com._1000meal.qr.domain.StoreQr;
+import com._1000meal.qr.enums.OfflineScanStatus;
+import com._1000meal.qr.journal.MealUsageBatchWriter;
+import com._1000meal.qr.journal.MealUsageInsertResult;
+import com._1000meal.qr.journal.MealUsageJournalRecord;
+import com._1000meal.qr.repository.MealUsageRepository;
+import com._1000meal.qr.repository.StoreQrRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class OfflineScanIngestServiceTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String QR_TOKEN = "offline-qr-token";
+
+    @Autowired StoreQrRepository storeQrRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired UserProfileRepository userProfileRepository;
+    @Autowired MenuGroupRepository menuGroupRepository;
+    @Autowired MenuGroupStockRepository menuGroupStockRepository;
+    @Autowired MenuGroupStockSlotRepository menuGroupStockSlotRepository;
+    @Autowired GroupDailyMenuRepository groupDailyMenuRepository;
+    @Autowired MealUsageRepository mealUsageRepository;
+    @Autowired DataSource dataSource;
+    @Autowired EntityManager entityManager;
+
+    @Test
+    @DisplayName("일괄 업로드는 배치 내 중복/기존 이용/품절/잘못된 토큰을 건별로 판정하고 오늘 스캔만 재고를 차감한다")
+    void ingest_returnsOutcomePerRecord() {
+        OffsetDateTime now = OffsetDateTime.now(KST);
+        Store store = seedStore();
+        Long groupId = seedGroup(store, 2);
+        Long a = seedStudent(1);
+        Long b = seedStudent(2);
+        Long c = seedStudent(3);
+        Long d = seedStudent(4);
+        Long e = seedStudent(5);
+        mealUsageRepository.save(MealUsage.create(accountRepository.getReferenceById(d), store, groupId,
+                now.toLocalDateTime(), now.toLocalDate(), "CS", "20259004", "student4"));
+        long usagesBefore = mealUsageRepository.count();
+
+        OfflineScanBatchResponse response = service().ingest(store.getId(), List.of(
+                new OfflineScanRecord(QR_TOKEN, a, now.minusSeconds(30)),
+                new OfflineScanRecord(QR_TOKEN, a, now.minusSeconds(5)),
+                new OfflineScanRecord(QR_TOKEN, b, now.minusSeconds(20)),
+                new OfflineScanRecord(QR_TOKEN, c, now.minusSeconds(10)),
+                new OfflineScanRecord("bogus", c, now.minusSeconds(10)),
+                new OfflineScanRecord(QR_TOKEN, d, now.minusSeconds(10)),
+                new OfflineScanRecord(QR_TOKEN, 999_999L, now.minusSeconds(10)),
+                new OfflineScanRecord(QR_TOKEN, e, now.minusDays(1))
+        ));
+
+        assertEquals(List.of(
+                OfflineScanStatus.ACCEPTED,
+                OfflineScanStatus.DUPLICATE,
+                OfflineScanStatus.ACCEPTED,
+                OfflineScanStatus.SOLD_OUT,
+                OfflineScanStatus.INVALID_QR,
+                OfflineScanStatus.DUPLICATE,
+                OfflineScanStatus.UNKNOWN_ACCOUNT,
+                OfflineScanStatus.ACCEPTED
+        ), response.results().stream().map(OfflineScanResult::status).toList());
+        assertEquals(3, response.accepted());
+        assertEquals(usagesBefore + 3, mealUsageRepository.count());
+        assertEquals(0, menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("INSERT 단계에서 건너뛴 오늘 스캔은 ACCEPTED 로 보고하지 않고 배정한 재고를 돌려놓는다")
+    void ingest_refundsStockForRowsSkippedOnInsert() {
+        OffsetDateTime now = OffsetDateTime.now(KST);
+        Store store = seedStore();
+        Long groupId = seedGroup(store, 5);
+        Long a = seedStudent(11);
+        Long b = seedStudent(12);
+        Long c = seedStudent(13);
+        MealUsageBatchWriter writer = mock(MealUsageBatchWriter.class);
+        when(writer.insertAll(anyList())).thenAnswer(inv -> {
+            // 조회 이후 실시간 스캔이 b 를 먼저 기록했고, c 는 제약 위반으로 들어가지 못한 상황
+            List<MealUsageJournalRecord> records = inv.getArgument(0);
+            return new MealUsageInsertResult(
+                    records.stream().filter(r -> r.accountId().equals(a)).toList(),
+                    records.stream().filter(r -> r.accountId().equals(b)).toList(),
+                    records.stream().filter(r -> r.accountId().equals(c)).toList()
+            );
+        });
+
+        OfflineScanBatchResponse response = service(writer).ingest(store.getId(), List.of(
+                new OfflineScanRecord(QR_TOKEN, a, now.minusSeconds(30)),
+                new OfflineScanRecord(QR_TOKEN, b, now.minusSeconds(20)),
+                new OfflineScanRecord(QR_TOKEN, c, now.minusSeconds(10))
+        ));
+
+        assertEquals(List.of(
+                OfflineScanStatus.ACCEPTED,
+                OfflineScanStatus.DUPLICATE,
+                OfflineScanStatus.REJECTED
+        ), response.results().stream().map(OfflineScanResult::status).toList());
+        assertEquals(1, response.accepted());
+        assertEquals(4, menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("배치 중간 한 건만 중복이면 그 건만 DUPLICATE 로 돌려놓고, 함께 들어간 나머지 건은 ACCEPTED 와 차감을 유지한다")
+    void ingest_batchWithOneCollision_keepsOtherRowsAccepted() {
+        OffsetDateTime now = OffsetDateTime.now(KST);
+        Store store = seedStore();
+        Long groupId = seedGroup(store, 5);
+        Long a = seedStudent(21);
+        Long b = seedStudent(22);
+        Long c = seedStudent(23);
+        MealUsageBatchWriter writer = spy(new MealUsageBatchWriter(new JdbcTemplate(dataSource)));
+        doAnswer(inv -> {
+            // 기존 이용 조회 이후 실시간 스캔이 b 를 먼저 기록
+            mealUsageRepository.saveAndFlush(MealUsage.create(accountRepository.getReferenceById(b), store, groupId,
+                    now.toLocalDateTime(), now.toLocalDate(), "CS", "20259022", "student22"));
+            return inv.callRealMethod();
+        }).when(writer).insertAll(anyList());
+        long usagesBefore = mealUsageRepository.count();
+
+        OfflineScanBatchResponse response = service(writer).ingest(store.getId(), List.of(
+                new OfflineScanRecord(QR_TOKEN, a, now.minusSeconds(30)),
+                new OfflineScanRecord(QR_TOKEN, b, now.minusSeconds(20)),
+                new OfflineScanRecord(QR_TOKEN, c, now.minusSeconds(10))
+        ));
+
+        assertEquals(List.of(
+                OfflineScanStatus.ACCEPTED,
+                OfflineScanStatus.DUPLICATE,
+                OfflineScanStatus.ACCEPTED
+        ), response.results().stream().map(OfflineScanResult::status).toList());
+        assertEquals(usagesBefore + 3, mealUsageRepository.count());
+        assertEquals(3, menuGroupStockRepository.findByMenuGroupId(groupId).orElseThrow().getStock());
+    }
+
+    private OfflineScanIngestService service() {
+        return service(new MealUsageBatchWriter(new JdbcTemplate(dataSource)));
+    }
+
+    private OfflineScanIngestService service(MealUsageBatchWriter mealUsageBatchWriter) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QrTokenDirectory qrTokenDirectory = new QrTokenDirectory(storeQrRepository, menuGroupRepository, registry);
+        qrTokenDirectory.reload();
+        return new OfflineScanIngestService(
+                qrTokenDirectory,
+                new SignedQrCodec("", 30, 1, registry),
+                new QrTargetMenuGroupResolver(groupDailyMenuRepository),
+                userProfileRepository,
+                mealUsageRepository,
+                menuGroupStockRepository,
+                new MenuGroupStockSlotService(menuGroupStockRepository, menuGroupStockSlotRepository, entityManager),
+                mock(HotStockLedger.class),
+                new TodayRedemptionBitmap(mealUsageRepository),
+                mealUsageBatchWriter,
+                mock(ApplicationEventPublisher.class),
+                5000,
+                3
+        );
+    }
+
+    private Store seedStore() {
+        Store store = storeRepository.save(Store.builder()
+                .name("offline-store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build());
+        storeQrRepository.save(StoreQr.create(store, QR_TOKEN));
+        return store;
+    }
+
+    private Long seedGroup(Store store, int capacity) {
+        MenuGroup group = MenuGroup.builder()
+                .store(store)
+                .name("group")
+                .sortOrder(1)
+                .isDefault(true)
+                .build();
+        group.initializeStock(capacity);
+        menuGroupRepository.save(group);
+
+        LocalDate today = LocalDate.now(KST);
+        for (LocalDate date : List.of(today, today.minusDays(1))) {
+            GroupDailyMenu menu = GroupDailyMenu.builder()
+                    .menuGroup(group)
+                    .date(date)
+                    .build();
+            menu.replaceMenus(List.of("menu"));
+            groupDailyMenuRepository.save(menu);
+        }
+        return group.getId();
+    }
+
+    private Long seedStudent(int no) {
+        Account account = accountRepository.save(new Account(
+                null,
+                "2025" + String.format("%04d", 9000 + no),
+                "offline" + no + "@sch.ac.kr",
+                "hash",
+                Role.STUDENT,
+                AccountStatus.ACTIVE
+        ));
+        userProfileRepository.save(UserProfile.create(account, "CS", "student" + no, null));
+        return account.getId();
+    }
+}
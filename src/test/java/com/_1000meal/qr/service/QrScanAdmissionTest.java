@@ -0,0 +1,74 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.qr.dto.QrTokenEntry;
+import com._1000meal.qr.exception.QrAdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QrScanAdmissionTest {
+
+    private static final String TOKEN = "qr-token";
+
+    @Mock
+    QrTokenDirectory qrTokenDirectory;
+
+    @Test
+    @DisplayName("동시 처리 한도와 대기열이 모두 찼으면 즉시 429 로 거절한다")
+    void admit_rejectsWhenQueueIsFull() throws Exception {
+        when(qrTokenDirectory.findActive(TOKEN))
+                .thenReturn(Optional.of(new QrTokenEntry(TOKEN, 1L, "store", null, null, true)));
+        QrScanAdmission admission = new QrScanAdmission(
+                qrTokenDirectory, new SignedQrCodec("", 30, 1, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry(), true, 1, 1, 0, 500, 2);
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> admission.admit(TOKEN, () -> {
+            entered.countDown();
+            await(release);
+            return "ok";
+        }));
+        entered.await(1, TimeUnit.SECONDS);
+
+        QrAdmissionRejectedException ex = assertThrows(QrAdmissionRejectedException.class,
+                () -> admission.admit(TOKEN, () -> "second"));
+        assertEquals(2L, ex.getRetryAfterSeconds());
+
+        release.countDown();
+        assertEquals("ok", holder.get(1, TimeUnit.SECONDS));
+        assertEquals("third", admission.admit(TOKEN, () -> "third"));
+    }
+
+    @Test
+    @DisplayName("알 수 없는 토큰은 게이트 없이 그대로 실행한다")
+    void admit_passesThroughUnknownToken() {
+        when(qrTokenDirectory.findActive("unknown")).thenReturn(Optional.empty());
+        QrScanAdmission admission = new QrScanAdmission(
+                qrTokenDirectory, new SignedQrCodec("", 30, 1, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry(), true, 1, 1, 0, 500, 1);
+
+        assertEquals("ok", admission.admit("unknown", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
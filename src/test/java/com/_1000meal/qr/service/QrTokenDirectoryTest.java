@@ -0,0 +1,73 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.qr.domain.StoreQr;
+import com._1000meal.qr.repository.StoreQrRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.event.StoreViewChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QrTokenDirectoryTest {
+
+    private final StoreQrRepository storeQrRepository = mock(StoreQrRepository.class);
+    private final MenuGroupRepository menuGroupRepository = mock(MenuGroupRepository.class);
+    private final QrTokenDirectory directory =
+            new QrTokenDirectory(storeQrRepository, menuGroupRepository, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("재적재 도중 비워진 토큰은 재적재가 읽은 옛 값으로 되살아나지 않는다")
+    void reload_doesNotResurrectTokenEvictedDuringReload() {
+        StoreQr stale = StoreQr.create(store(1L, "학생식당"), "token-1");
+        when(storeQrRepository.findAllWithStore()).thenAnswer(inv -> {
+            // DB 를 읽은 뒤 커밋된 변경 알림
+            directory.onStoreQrChanged("token-1");
+            return List.of(stale);
+        });
+        when(storeQrRepository.findByQrTokenWithStore("token-1")).thenReturn(Optional.empty());
+
+        directory.reload();
+
+        assertTrue(directory.find("token-1").isEmpty());
+        verify(storeQrRepository).findByQrTokenWithStore("token-1");
+    }
+
+    @Test
+    @DisplayName("매장 화면 변경 이벤트는 해당 매장 토큰만 비워 바뀐 매장 이름을 다시 읽는다")
+    void onStoreViewChanged_evictsTokensOfChangedStore() {
+        Store student = store(1L, "학생식당");
+        Store staff = store(2L, "교직원식당");
+        when(storeQrRepository.findAllWithStore()).thenReturn(List.of(
+                StoreQr.create(student, "token-1"),
+                StoreQr.create(staff, "token-2")
+        ));
+        directory.reload();
+
+        Store renamed = store(1L, "향설관");
+        when(storeQrRepository.findByQrTokenWithStore("token-1"))
+                .thenReturn(Optional.of(StoreQr.create(renamed, "token-1")));
+        directory.onStoreViewChanged(StoreViewChangedEvent.ofStore(1L));
+
+        assertEquals("향설관", directory.find("token-1").orElseThrow().storeName());
+        assertEquals("교직원식당", directory.find("token-2").orElseThrow().storeName());
+        verify(storeQrRepository, times(1)).findByQrTokenWithStore("token-1");
+    }
+
+    private static Store store(Long id, String name) {
+        Store store = mock(Store.class);
+        when(store.getId()).thenReturn(id);
+        when(store.getName()).thenReturn(name);
+        return store;
+    }
+}
@@ -0,0 +1,221 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.auth.model.Account;
+import com._1000meal.auth.model.AccountStatus;
+import com._1000meal.auth.model.UserProfile;
+import com._1000meal.auth.repository.AccountRepository;
+import com._1000meal.auth.repository.UserProfileRepository;
+import com._1000meal.global.constant.Role;
+import com._1000meal.menu.domain.GroupDailyMenu;
+import com._1000meal.menu.domain.MenuGroup;
+import com._1000meal.menu.repository.DailyMenuRepository;
+import com._1000meal.menu.repository.GroupDailyMenuRepository;
+import com._1000meal.menu.repository.MenuGroupRepository;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.repository.MenuGroupStockSlotRepository;
+import com._1000meal.menu.service.HotStockLedger;
+import com._1000meal.menu.service.MenuGroupStockSlotService;
+import com._1000meal.qr.domain.MealUsage;
+import com._1000meal.qr.domain.StoreQr;
+import com._1000meal.qr.journal.MealUsageJournal;
+import com._1000meal.qr.repository.MealUsageRepository;
+import com._1000meal.qr.repository.StoreQrRepository;
+import com._1000meal.store.domain.Store;
+import com._1000meal.store.repository.StoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * QR 이용 처리 벤치마크 (H2 인메모리)
+ * - before: 기존 createUsage 조회 순서 (StoreQr → Store → Account → UserProfile → GroupDailyMenu → 차감 → INSERT)
+ * - after : projection 2회 + 차감 + INSERT
+ * 실행: ./gradlew benchmark --tests '*QrUsageRedemptionBenchmark'
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QrUsageRedemptionBenchmark {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int SCANS = 500;
+    private static final String QR_TOKEN = "bench-qr-token";
+
+    @Autowired StoreQrRepository storeQrRepository;
+    @Autowired MealUsageRepository mealUsageRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired UserProfileRepository userProfileRepository;
+    @Autowired MenuGroupRepository menuGroupRepository;
+    @Autowired MenuGroupStockRepository menuGroupStockRepository;
+    @Autowired MenuGroupStockSlotRepository menuGroupStockSlotRepository;
+    @Autowired GroupDailyMenuRepository groupDailyMenuRepository;
+    @Autowired DailyMenuRepository dailyMenuRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManager entityManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("QR 이용 처리: 스캔당 SQL 수와 p99 지연 (before/after)")
+    void redemptionStatementsAndLatency() {
+        List<Long> accountIds = seed(SCANS * 2);
+        QrTargetMenuGroupResolver resolver = new QrTargetMenuGroupResolver(groupDailyMenuRepository);
+        QrTokenDirectory qrTokenDirectory =
+                new QrTokenDirectory(storeQrRepository, menuGroupRepository, new SimpleMeterRegistry());
+        qrTokenDirectory.reload();
+        QrUsageService qrUsageService = new QrUsageService(
+                storeQrRepository,
+                mealUsageRepository,
+                storeRepository,
+                accountRepository,
+                new StudentSnapshotCache(userProfileRepository, new SimpleMeterRegistry(), 50_000, 60),
+                new MenuGroupStockSlotService(menuGroupStockRepository, menuGroupStockSlotRepository, entityManager),
+                mock(HotStockLedger.class),
+                resolver,
+                qrTokenDirectory,
+                new SignedQrCodec("", 30, 1, new SimpleMeterRegistry()),
+                new TodayRedemptionBitmap(mealUsageRepository),
+                mock(MealUsageJournal.class),
+                dailyMenuRepository,
+                menuGroupStockRepository,
+                mock(ApplicationEventPublisher.class),
+                transactionManager
+        );
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Result before = run("before", accountIds.subList(0, SCANS),
+                accountId -> tx.executeWithoutResult(status -> legacyCreateUsage(resolver, accountId)));
+        Result after = run("after", accountIds.subList(SCANS, SCANS * 2),
+                accountId -> tx.executeWithoutResult(status -> qrUsageService.createUsage(accountId, QR_TOKEN)));
+
+        System.out.printf("[BENCH][QR_USAGE] before: statements/scan=%.2f, p50=%.3fms, p99=%.3fms%n",
+                before.statementsPerScan(), before.p50Millis(), before.p99Millis());
+        System.out.printf("[BENCH][QR_USAGE] after : statements/scan=%.2f, p50=%.3fms, p99=%.3fms%n",
+                after.statementsPerScan(), after.p50Millis(), after.p99Millis());
+
+        assertTrue(after.statementsPerScan() <= 4.0, "fast path must stay within 2 reads + decrement + insert");
+        assertTrue(after.statementsPerScan() < before.statementsPerScan());
+    }
+
+    private Result run(String label, List<Long> accountIds, LongConsumer scan) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long[] nanos = new long[accountIds.size()];
+        for (int i = 0; i < accountIds.size(); i++) {
+            long startedAt = System.nanoTime();
+            scan.accept(accountIds.get(i));
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+
+        double statementsPerScan = (double) statistics.getPrepareStatementCount() / accountIds.size();
+        Arrays.sort(nanos);
+        return new Result(label, statementsPerScan, percentile(nanos, 0.50), percentile(nanos, 0.99));
+    }
+
+    /**
+     * 기존 createUsage 의 조회/쓰기 순서를 그대로 재현 (비교 기준)
+     */
+    private void legacyCreateUsage(QrTargetMenuGroupResolver resolver, Long accountId) {
+        LocalDate usedDate = LocalDate.now(KST);
+        StoreQr storeQr = storeQrRepository.findByQrTokenAndIsActiveTrue(QR_TOKEN).orElseThrow();
+        Store store = storeRepository.findById(storeQr.getStore().getId()).orElseThrow();
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        UserProfile profile = userProfileRepository.findByAccountId(accountId).orElseThrow();
+        Long menuGroupId = storeQr.getMenuGroupId() != null
+                ? storeQr.getMenuGroupId()
+                : resolver.resolveMenuGroupId(store.getId(), usedDate);
+
+        MealUsage mealUsage = MealUsage.create(account, store, menuGroupId, LocalDateTime.now(KST), usedDate,
+                profile.getDepartment(), account.getUserId(), profile.getName());
+        menuGroupStockRepository.decrementStockIfAvailable(menuGroupId);
+        mealUsageRepository.save(mealUsage);
+    }
+
+    private List<Long> seed(int studentCount) {
+        Store store = storeRepository.save(Store.builder()
+                .name("bench-store")
+                .address("addr")
+                .phone("010-0000-0000")
+                .description("desc")
+                .isOpen(true)
+                .remain(0)
+                .hours("08:00 ~ 소진 시")
+                .lat(0.0)
+                .lng(0.0)
+                .imageUrl("img")
+                .build());
+
+        MenuGroup group = MenuGroup.builder()
+                .store(store)
+                .name("bench-group")
+                .sortOrder(1)
+                .isDefault(true)
+                .build();
+        group.initializeStock(studentCount);
+        menuGroupRepository.save(group);
+
+        GroupDailyMenu todayMenu = GroupDailyMenu.builder()
+                .menuGroup(group)
+                .date(LocalDate.now(KST))
+                .build();
+        todayMenu.replaceMenus(List.of("menu"));
+        groupDailyMenuRepository.save(todayMenu);
+
+        storeQrRepository.save(StoreQr.create(store, QR_TOKEN));
+
+        List<Long> accountIds = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Account account = accountRepository.save(new Account(
+                    null,
+                    "2024" + String.format("%04d", i),
+                    "bench" + i + "@sch.ac.kr",
+                    "hash",
+                    Role.STUDENT,
+                    AccountStatus.ACTIVE
+            ));
+            userProfileRepository.save(UserProfile.create(account, "CS", "student" + i, null));
+            accountIds.add(account.getId());
+        }
+        return accountIds;
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+    }
+
+    private record Result(String label, double statementsPerScan, double p50Millis, double p99Millis) {
+    }
+}
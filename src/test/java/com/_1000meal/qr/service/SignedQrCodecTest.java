@@ -0,0 +1,55 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.qr.dto.SignedQrClaims;
+import com._1000meal.qr.dto.SignedQrCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignedQrCodecTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T00:00:10Z");
+
+    private final SignedQrCodec codec = new SignedQrCodec("test-secret", 30, 1, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("발급한 payload 는 같은 슬롯과 다음 슬롯까지 검증되고 매장/그룹이 복원된다")
+    void issueAndVerify() {
+        SignedQrCode code = codec.issue(3L, 7L, NOW);
+
+        SignedQrClaims claims = codec.verify(code.payload(), NOW).orElseThrow();
+        assertEquals(3L, claims.storeId());
+        assertEquals(7L, claims.menuGroupId());
+        assertEquals(code.slot(), claims.slot());
+        assertTrue(codec.verify(code.payload(), NOW.plusSeconds(30)).isPresent());
+        assertEquals(Instant.parse("2026-03-02T00:00:30Z"), code.expiresAt());
+    }
+
+    @Test
+    @DisplayName("grace 슬롯이 지난 캡처 화면은 거절된다")
+    void verify_rejectsExpiredSlot() {
+        SignedQrCode code = codec.issue(3L, 7L, NOW);
+
+        assertFalse(codec.verify(code.payload(), NOW.plusSeconds(60)).isPresent());
+    }
+
+    @Test
+    @DisplayName("매장/그룹을 바꾸거나 다른 키로 서명한 payload 는 거절된다")
+    void verify_rejectsTampered() {
+        String payload = codec.issue(3L, 7L, NOW).payload();
+        String otherKey = new SignedQrCodec("other-secret", 30, 1, new SimpleMeterRegistry())
+                .issue(3L, 7L, NOW).payload();
+
+        assertFalse(codec.verify(payload.replace("s1.3.7.", "s1.4.7."), NOW).isPresent());
+        assertFalse(codec.verify(otherKey, NOW).isPresent());
+        assertFalse(codec.verify("s1.3.7", NOW).isPresent());
+        assertFalse(codec.verify("s1.x.7.1.abc", NOW).isPresent());
+        assertFalse(codec.isSigned("static-qr-token"));
+    }
+}
@@ -0,0 +1,56 @@
+package com._1000meal.qr.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 서명 QR 검증 비용 벤치마크 (CPU only)
+ * - 워밍업 후 배치 단위로 verify 를 반복해 ns/op 분포를 출력한다.
+ * 실행: ./gradlew benchmark --tests '*SignedQrVerifyBenchmark'
+ */
+@Tag("benchmark")
+class SignedQrVerifyBenchmark {
+
+    private static final int WARMUP_OPS = 200_000;
+    private static final int BATCHES = 50;
+    private static final int OPS_PER_BATCH = 20_000;
+
+    @Test
+    @DisplayName("서명 QR 검증: op 당 ns (p50/p99 배치)")
+    void verifyCost() {
+        SignedQrCodec codec = new SignedQrCodec("bench-secret-0123456789", 30, 1, new SimpleMeterRegistry());
+        Instant now = Instant.now();
+        String payload = codec.issue(12L, 345L, now).payload();
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_OPS; i++) {
+            sink += codec.verify(payload, now).map(c -> c.storeId()).orElse(0L);
+        }
+
+        double[] nanosPerOp = new double[BATCHES];
+        for (int b = 0; b < BATCHES; b++) {
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < OPS_PER_BATCH; i++) {
+                sink += codec.verify(payload, now).map(c -> c.storeId()).orElse(0L);
+            }
+            nanosPerOp[b] = (System.nanoTime() - startedAt) / (double) OPS_PER_BATCH;
+        }
+        Arrays.sort(nanosPerOp);
+
+        double p50 = nanosPerOp[BATCHES / 2];
+        double p99 = nanosPerOp[(int) Math.ceil(BATCHES * 0.99) - 1];
+        System.out.printf("[BENCH][QR_SIGNED] verify: p50=%.0fns/op, p99=%.0fns/op, payloadLength=%d%n",
+                p50, p99, payload.length());
+
+        assertEquals(12L * (WARMUP_OPS + (long) BATCHES * OPS_PER_BATCH), sink);
+        assertTrue(p50 < 50_000, "signed QR verification must stay CPU-cheap");
+    }
+}
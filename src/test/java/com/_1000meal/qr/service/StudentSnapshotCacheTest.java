@@ -0,0 +1,55 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.auth.model.Account;
+import com._1000meal.auth.model.AccountStatus;
+import com._1000meal.auth.model.UserProfile;
+import com._1000meal.auth.repository.AccountRepository;
+import com._1000meal.auth.repository.UserProfileRepository;
+import com._1000meal.global.constant.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({StudentSnapshotCache.class, SimpleMeterRegistry.class})
+class StudentSnapshotCacheTest {
+
+    @Autowired StudentSnapshotCache studentSnapshotCache;
+    @Autowired AccountRepository accountRepository;
+    @Autowired UserProfileRepository userProfileRepository;
+    @Autowired EntityManager entityManager;
+
+    @Test
+    @DisplayName("스냅샷은 캐시되고, 프로필이 엔티티로 수정되면 무효화된다")
+    void find_cachesUntilProfileChanges() {
+        Account account = accountRepository.save(new Account(
+                null, "20257001", "snapshot@sch.ac.kr", "hash", Role.STUDENT, AccountStatus.ACTIVE));
+        userProfileRepository.save(UserProfile.create(account, "CS", "student", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("student", studentSnapshotCache.find(account.getId()).orElseThrow().name());
+
+        // 리스너를 거치지 않는 변경은 캐시에 반영되지 않는다
+        entityManager.createNativeQuery("UPDATE user_profiles SET name = 'bypassed' WHERE account_id = :id")
+                .setParameter("id", account.getId())
+                .executeUpdate();
+        assertEquals("student", studentSnapshotCache.find(account.getId()).orElseThrow().name());
+
+        UserProfile profile = userProfileRepository.findByAccountId(account.getId()).orElseThrow();
+        profile.changeName("renamed");
+        entityManager.flush();
+
+        assertEquals("renamed", studentSnapshotCache.find(account.getId()).orElseThrow().name());
+    }
+}
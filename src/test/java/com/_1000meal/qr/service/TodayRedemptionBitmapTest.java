@@ -0,0 +1,82 @@
+package com._1000meal.qr.service;
+
+import com._1000meal.qr.repository.MealUsageRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodayRedemptionBitmapTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("Asia/Seoul"));
+
+    @Mock
+    MealUsageRepository mealUsageRepository;
+
+    @InjectMocks
+    TodayRedemptionBitmap bitmap;
+
+    @Test
+    @DisplayName("기동 시 오늘 이용한 계정으로 채워지고 이후 미이용 여부를 메모리에서 답한다")
+    void seed_marksTodayAccounts() {
+        when(mealUsageRepository.findDistinctAccountIdsByUsedDate(TODAY)).thenReturn(List.of(3L, 7L));
+
+        bitmap.seed();
+
+        assertTrue(bitmap.isAuthoritative(TODAY));
+        assertTrue(bitmap.contains(3L, TODAY));
+        assertTrue(bitmap.contains(7L, TODAY));
+        assertFalse(bitmap.contains(4L, TODAY));
+        assertEquals(2, bitmap.count());
+    }
+
+    @Test
+    @DisplayName("시딩 조회 중에 들어온 표시는 시딩 결과와 합쳐져 지워지지 않는다")
+    void seed_keepsMarksMadeWhileLoading() {
+        when(mealUsageRepository.findDistinctAccountIdsByUsedDate(TODAY)).thenAnswer(inv -> {
+            // 조회가 끝나기 전에 다른 스캔이 커밋되어 표시
+            bitmap.markRedeemed(11L, TODAY);
+            return List.of(3L);
+        });
+
+        bitmap.seed();
+
+        assertTrue(bitmap.contains(3L, TODAY));
+        assertTrue(bitmap.contains(11L, TODAY));
+        assertEquals(2, bitmap.count());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 표시하면 즉시 반영되고, 다른 날짜는 중복으로 보지 않는다")
+    void markRedeemed_outsideTransaction() {
+        bitmap.markRedeemed(10L, TODAY);
+        bitmap.markRedeemed(Long.MAX_VALUE, TODAY);
+
+        assertTrue(bitmap.contains(10L, TODAY));
+        assertTrue(bitmap.contains(Long.MAX_VALUE, TODAY));
+        assertFalse(bitmap.contains(10L, TODAY.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("날짜가 바뀌면 비트맵이 비워진다")
+    void rollover_clears() {
+        bitmap.markRedeemed(10L, TODAY);
+
+        bitmap.rollover();
+
+        assertFalse(bitmap.contains(10L, TODAY));
+        assertEquals(0, bitmap.count());
+    }
+}
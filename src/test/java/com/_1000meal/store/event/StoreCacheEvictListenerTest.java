@@ -0,0 +1,72 @@
+package com._1000meal.store.event;
+
+import com._1000meal.global.config.CacheConfig;
+import com._1000meal.menu.event.WeeklyMenuChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StoreCacheEvictListenerTest {
+
+    private final CacheManager cacheManager = cacheManager();
+    private final StoreCacheEvictListener listener = new StoreCacheEvictListener(cacheManager);
+
+    @Test
+    @DisplayName("매장 이벤트가 오면 목록 캐시는 비우고 상세 캐시는 해당 매장만 지운다")
+    void storeEvent_clearsListAndEvictsOnlyThatStoreDetail() {
+        Cache list = cacheManager.getCache(CacheConfig.STORES_LIST);
+        Cache detail = cacheManager.getCache(CacheConfig.STORES_DETAIL);
+        list.put("v1", List.of());
+        detail.put(1L, "store-1");
+        detail.put(2L, "store-2");
+
+        listener.onWeeklyMenuChanged(new WeeklyMenuChangedEvent(1L, List.of(10L), "2026-02-09", LocalDate.of(2026, 2, 9)));
+
+        assertNull(list.get("v1"));
+        assertNull(detail.get(1L));
+        assertNotNull(detail.get(2L));
+    }
+
+    @Test
+    @DisplayName("전체 매장 변경이면 상세 캐시도 모두 비운다")
+    void allStoresEvent_clearsDetail() {
+        Cache detail = cacheManager.getCache(CacheConfig.STORES_DETAIL);
+        detail.put(1L, "store-1");
+        detail.put(2L, "store-2");
+
+        listener.onStoreViewChanged(StoreViewChangedEvent.ofAll());
+
+        assertNull(detail.get(1L));
+        assertNull(detail.get(2L));
+    }
+
+    @Test
+    @DisplayName("캐시마다 별도 인스턴스이고 spec 에 없어도 통계를 기록한다")
+    void caches_areSeparateAndRecordStats() {
+        CaffeineCache list = (CaffeineCache) cacheManager.getCache(CacheConfig.STORES_LIST);
+        CaffeineCache detail = (CaffeineCache) cacheManager.getCache(CacheConfig.STORES_DETAIL);
+        assertNotSame(list.getNativeCache(), detail.getNativeCache());
+
+        list.get("v1");
+        assertEquals(1, list.getNativeCache().stats().missCount());
+        assertEquals(0, detail.getNativeCache().stats().missCount());
+    }
+
+    private static CacheManager cacheManager() {
+        SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig()
+                .cacheManager("maximumSize=10,expireAfterWrite=10m", "maximumSize=100,expireAfterWrite=10m,recordStats", null);
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+}
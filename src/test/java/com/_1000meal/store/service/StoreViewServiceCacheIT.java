@@ -1,42 +1,59 @@
 package com._1000meal.store.service;
 
-import com._1000meal.menu.service.MenuGroupService;
+import com._1000meal.global.config.CacheConfig;
 import com._1000meal.store.dto.StoreResponse;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = StoreViewServiceCacheIT.TestConfig.class)
 class StoreViewServiceCacheIT {
 
     @Configuration
-    @EnableCaching
+    @Import(CacheConfig.class)
     static class TestConfig {
-        @Bean CacheManager cacheManager() {
-            return new ConcurrentMapCacheManager("stores:list");
+        @Bean StoresListCacheLoader storesListCacheLoader(StoreService storeService) {
+            return new StoresListCacheLoader(storeService);
         }
-        @Bean StoreViewService storeViewService(StoreService storeService, MenuGroupService menuGroupService) {
-            return new StoreViewService(storeService, menuGroupService);
+        @Bean StoreViewService storeViewService(TodayStoreSnapshot todayStoreSnapshot, CacheManager cacheManager) {
+            return new StoreViewService(todayStoreSnapshot, cacheManager);
         }
     }
 
     @MockBean private StoreService storeService;
-    @MockBean private MenuGroupService menuGroupService;
+    @MockBean private TodayStoreSnapshot todayStoreSnapshot;
 
     @Autowired
     private StoreViewService storeViewService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.STORES_LIST).clear();
+        when(todayStoreSnapshot.overlayStock(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     @DisplayName("getAllStoresCached: 같은 key면 캐시로 인해 StoreService.getAllStores는 1번만 호출된다")
     void getAllStoresCached_cacheWorks() {
@@ -49,4 +66,58 @@ class StoreViewServiceCacheIT {
 
         verify(storeService, times(1)).getAllStores();
     }
+
+    @Test
+    @DisplayName("getAllStoresCached: 목록은 캐시에서 읽어도 재고는 요청마다 현재 값으로 덮어쓴다")
+    void getAllStoresCached_overlaysCurrentStockOnEveryCall() {
+        List<StoreResponse> stores = List.of(StoreResponse.builder().id(1L).build());
+        List<StoreResponse> overlaid = List.of(StoreResponse.builder().id(1L).name("overlaid").build());
+        when(storeService.getAllStores()).thenReturn(stores);
+        when(todayStoreSnapshot.overlayStock(stores)).thenReturn(overlaid);
+
+        storeViewService.getAllStoresCached();
+        List<StoreResponse> result = storeViewService.getAllStoresCached();
+
+        assertEquals(overlaid, result);
+        verify(storeService, times(1)).getAllStores();
+        verify(todayStoreSnapshot, times(2)).overlayStock(stores);
+    }
+
+    @Test
+    @DisplayName("getAllStoresCached: 캐시 미스에 N개 요청이 동시에 몰려도 DB 로드는 한 번만 하고 모두 같은 결과를 받는다")
+    void getAllStoresCached_concurrentMisses_loadOnce() throws Exception {
+        int callers = 16;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<StoreResponse> stores = List.of(StoreResponse.builder().id(1L).build());
+        when(storeService.getAllStores()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return stores;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<StoreResponse>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return storeViewService.getAllStoresCached();
+                }));
+            }
+            start.countDown();
+            loading.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);  // 나머지 요청이 미스로 들어와 대기하도록
+            release.countDown();
+
+            for (Future<List<StoreResponse>> result : results) {
+                assertEquals(stores, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(storeService, times(1)).getAllStores();
+    }
 }
@@ -0,0 +1,103 @@
+package com._1000meal.store.service;
+
+import com._1000meal.menu.dto.GroupStock;
+import com._1000meal.menu.repository.MenuGroupStockRepository;
+import com._1000meal.menu.service.HotStockLedger;
+import com._1000meal.menu.service.SellOutPredictor;
+import com._1000meal.store.dto.StoreResponse;
+import com._1000meal.store.dto.StoreTodayMenuDto;
+import com._1000meal.store.dto.StoreTodayMenuGroupDto;
+import com._1000meal.store.event.StoreViewChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodayStoreSnapshotTest {
+
+    @Mock private StoreService storeService;
+    @Mock private MenuGroupStockRepository menuGroupStockRepository;
+    @Mock private HotStockLedger hotStockLedger;
+    @Mock private SellOutPredictor sellOutPredictor;
+
+    @InjectMocks private TodayStoreSnapshot todayStoreSnapshot;
+
+    @Test
+    @DisplayName("한 번 만든 뒤에는 조회마다 재고 조회 한 번만 하고, 장부 값이 있으면 장부 값을 쓴다")
+    void getStores_afterBuild_onlyOverlaysStock() {
+        when(storeService.getAllStores()).thenReturn(List.of(store(1L, "A", 10L, 50), store(2L, "B", 20L, 50)));
+        when(menuGroupStockRepository.findGroupStocks(List.of(10L, 20L)))
+                .thenReturn(List.of(new GroupStock(10L, 40), new GroupStock(20L, 30)));
+        when(hotStockLedger.peek(10L)).thenReturn(Optional.empty());
+        when(hotStockLedger.peek(20L)).thenReturn(Optional.of(25));
+
+        todayStoreSnapshot.getStores();
+        List<StoreResponse> result = todayStoreSnapshot.getStores();
+
+        assertEquals(40, stockOf(result.get(0)));
+        assertEquals(25, stockOf(result.get(1)));
+        verify(storeService, times(1)).getAllStores();
+        verify(menuGroupStockRepository, times(2)).findGroupStocks(List.of(10L, 20L));
+        verifyNoMoreInteractions(storeService);
+    }
+
+    @Test
+    @DisplayName("바뀐 매장 이벤트가 오면 그 매장만 다시 읽어 순서를 유지한 채 바꿔 끼운다")
+    void getStores_dirtyStore_rebuildsOnlyThatStore() {
+        when(storeService.getAllStores()).thenReturn(List.of(store(1L, "A", 10L, 50), store(2L, "B", 20L, 50)));
+        when(storeService.getStores(List.of(2L))).thenReturn(List.of(store(2L, "B2", 21L, 50)));
+        when(menuGroupStockRepository.findGroupStocks(List.of(10L, 20L))).thenReturn(List.of());
+        when(menuGroupStockRepository.findGroupStocks(List.of(10L, 21L))).thenReturn(List.of());
+
+        todayStoreSnapshot.getStores();
+        todayStoreSnapshot.onStoreViewChanged(StoreViewChangedEvent.ofStore(2L));
+        List<StoreResponse> result = todayStoreSnapshot.getStores();
+
+        assertEquals(List.of("A", "B2"), result.stream().map(StoreResponse::getName).toList());
+        assertEquals(50, stockOf(result.get(1)));
+        verify(storeService, times(1)).getAllStores();
+        verify(storeService).getStores(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("다른 경로에서 읽은 목록에도 스냅샷과 같은 방식으로 현재 재고를 덮어쓴다")
+    void overlayStock_replacesStaleStock() {
+        when(menuGroupStockRepository.findGroupStocks(List.of(10L))).thenReturn(List.of(new GroupStock(10L, 7)));
+        when(hotStockLedger.peek(10L)).thenReturn(Optional.empty());
+
+        List<StoreResponse> result = todayStoreSnapshot.overlayStock(List.of(store(1L, "A", 10L, 50)));
+
+        assertEquals(7, stockOf(result.get(0)));
+        verifyNoMoreInteractions(storeService);
+    }
+
+    private static StoreResponse store(Long storeId, String name, Long groupId, int stock) {
+        StoreTodayMenuGroupDto group = StoreTodayMenuGroupDto.builder()
+                .id(groupId)
+                .name("기본")
+                .stock(stock)
+                .menus(List.of())
+                .build();
+        return StoreResponse.builder()
+                .id(storeId)
+                .name(name)
+                .todayMenu(StoreTodayMenuDto.builder().menuGroups(List.of(group)).build())
+                .build();
+    }
+
+    private static int stockOf(StoreResponse store) {
+        return store.getTodayMenu().getMenuGroups().get(0).getStock();
+    }
+}